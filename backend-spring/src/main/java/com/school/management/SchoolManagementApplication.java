@@ -2,29 +2,18 @@ package com.school.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.context.annotation.Bean;
-import org.springframework.beans.factory.annotation.Autowired;
-import com.school.management.repository.RoleRepository;
-import com.school.management.entity.Role;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class SchoolManagementApplication {
 
-	public static void main(String[] args) {
-		SpringApplication.run(SchoolManagementApplication.class, args);
-	}
+	// Enough for every bean and phase of a normal start; later steps are dropped, not the early ones
+	private static final int STARTUP_STEP_CAPACITY = 10_000;
 
-	@Bean
-	public ApplicationRunner initRoles(@Autowired RoleRepository roleRepository) {
-		return args -> {
-			String[] roles = {"ADMIN", "MANAGER", "EMPLOYEE"};
-			for (String r : roles) {
-				if (roleRepository.findByName(r).isEmpty()) {
-					roleRepository.save(new Role(null, r)); // Set other fields if needed
-					System.out.println("[BOOTSTRAP] Created missing role: " + r);
-				}
-			}
-		};
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(SchoolManagementApplication.class);
+		// Keeps the startup steps for the [STARTUP] report (StartupReport) and /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 }
@@ -0,0 +1,56 @@
+package com.school.management.config;
+
+import com.school.management.observability.SlowQueryLog;
+import com.school.management.service.WorkingDayService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters that Spring Boot does not publish on its own. HTTP latency per endpoint
+ * (http.server.requests), repository calls (spring.data.repository.invocations) and the
+ * Hikari pool (hikaricp.*) are auto-configured; the JWT, BCrypt and mail meters live next to
+ * the code they time. What is left are our in-memory caches, which are not Spring caches and
+ * so get no cache.* meters unless we bind them here, under the same names Micrometer uses,
+ * and the slow-query log.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder workingDayCalendarCacheMetrics(WorkingDayService workingDayService) {
+        String cache = "workingDayCalendars";
+        return registry -> {
+            FunctionCounter.builder("cache.gets", workingDayService, WorkingDayService::cacheHits)
+                    .tags("cache", cache, "result", "hit")
+                    .description("Calendar years served from the cache")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", workingDayService, WorkingDayService::cacheMisses)
+                    .tags("cache", cache, "result", "miss")
+                    .description("Calendar years built from the holiday and term tables")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", workingDayService, WorkingDayService::cacheEvictions)
+                    .tags("cache", cache)
+                    .description("Cached years dropped after a holiday or term change")
+                    .register(registry);
+            Gauge.builder("cache.size", workingDayService, WorkingDayService::cacheSize)
+                    .tags("cache", cache)
+                    .description("Calendar years currently cached")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slowQueryMetrics(SlowQueryLog slowQueryLog) {
+        return registry -> {
+            FunctionCounter.builder("db.slow.queries", slowQueryLog, SlowQueryLog::capturedCount)
+                    .description("Statements that ran longer than slow-query.threshold-ms")
+                    .register(registry);
+            Gauge.builder("db.slow.queries.buffered", slowQueryLog, SlowQueryLog::bufferedCount)
+                    .description("Slow statements currently held for /api/admin/slow-queries")
+                    .register(registry);
+        };
+    }
+}
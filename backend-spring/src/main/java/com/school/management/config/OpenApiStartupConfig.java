@@ -0,0 +1,36 @@
+package com.school.management.config;
+
+import org.springdoc.core.customizers.OpenApiBuilderCustomizer;
+import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Records springdoc's scan of the controllers as a "school.springdoc.scan" startup step. The
+ * scan runs when the OpenAPI document is first built, which is the first /v3/api-docs request
+ * unless springdoc.pre-loading-enabled is set; the step then shows up in /actuator/startup
+ * after the application is ready. The builder customizer runs first, the API customizer last.
+ */
+@Configuration
+public class OpenApiStartupConfig {
+
+    private static final ThreadLocal<StartupStep> SCAN = new ThreadLocal<>();
+
+    @Bean
+    public OpenApiBuilderCustomizer springdocScanStart(ApplicationStartup applicationStartup) {
+        return openApiService -> SCAN.set(applicationStartup.start("school.springdoc.scan"));
+    }
+
+    @Bean
+    public OpenApiCustomizer springdocScanEnd() {
+        return openApi -> {
+            StartupStep step = SCAN.get();
+            if (step == null) return;
+            SCAN.remove();
+            step.tag("paths", String.valueOf(openApi.getPaths() == null ? 0 : openApi.getPaths().size()));
+            step.end();
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.school.management.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs where startup time went once the application is ready: the phases we care about for
+ * rolling restarts (Flyway, JPA bootstrap, repositories, our runners) and the slowest beans.
+ * Needs the BufferingApplicationStartup set up in SchoolManagementApplication.main; the full
+ * timeline, with every bean, is served by /actuator/startup on the management port (admin only).
+ *
+ * Bean times include the beans created while creating them, so the slowest beans overlap.
+ */
+@Component
+public class StartupReport {
+
+    static final String INSTANTIATE = "spring.beans.instantiate";
+    private static final int SLOWEST_BEANS = 5;
+
+    // Step (and bean name, for bean creation) -> label in the report
+    private static final Map<String, String> PHASES = new LinkedHashMap<>();
+
+    static {
+        PHASES.put(INSTANTIATE + ":flywayInitializer", "Flyway migrations");
+        PHASES.put(INSTANTIATE + ":entityManagerFactory", "JPA bootstrap (EntityManagerFactory)");
+        PHASES.put("spring.data.repository.scanning", "Repository scanning");
+        PHASES.put("school.roles.load", "Role registry runner");
+        PHASES.put("school.springdoc.scan", "Springdoc scanning");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) return;
+        Duration ready = event.getTimeTaken();
+        System.out.println("[STARTUP] Ready in " + (ready == null ? "?" : ready.toMillis()) + " ms");
+        summarize(buffering.getBufferedTimeline()).forEach(line -> System.out.println("[STARTUP]   " + line));
+    }
+
+    static List<String> summarize(StartupTimeline timeline) {
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            String beanName = tag(step, "beanName");
+            if (INSTANTIATE.equals(step.getName())) beans.add(event);
+            // "&entityManagerFactory" is the factory bean itself, created on its own with deferred JPA bootstrap
+            String key = beanName != null ? step.getName() + ":" + beanName.replaceFirst("^&", "") : step.getName();
+            if (PHASES.containsKey(key)) phases.merge(key, event.getDuration(), Duration::plus);
+        }
+
+        List<String> lines = new ArrayList<>();
+        PHASES.forEach((key, label) -> {
+            Duration duration = phases.get(key);
+            lines.add(label + ": " + (duration == null ? "not during startup" : duration.toMillis() + " ms"));
+        });
+        beans.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed());
+        lines.add("Slowest beans: " + beans.stream().limit(SLOWEST_BEANS)
+                .map(event -> tag(event.getStartupStep(), "beanName") + " " + event.getDuration().toMillis() + " ms")
+                .toList());
+        return lines;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) return tag.getValue();
+        }
+        return null;
+    }
+}
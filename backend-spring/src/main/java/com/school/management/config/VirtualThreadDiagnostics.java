@@ -0,0 +1,95 @@
+package com.school.management.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Startup report and pinning monitor for the virtual-thread mode (spring.threads.virtual.enabled).
+ *
+ * A virtual thread that blocks inside a synchronized block keeps its carrier thread busy
+ * ("pinned"), which quietly turns virtual threads back into a small platform pool. When the
+ * mode is active this streams the JDK's jdk.VirtualThreadPinned JFR events and logs each pin
+ * longer than {@code threads.virtual.pinning-threshold-ms}, with the first frames of our code.
+ */
+@Component
+public class VirtualThreadDiagnostics {
+
+    private static final String OUR_PACKAGE = "com.school.management.";
+
+    private final boolean virtualThreadsEnabled;
+    private final boolean monitorEnabled;
+    private final long thresholdMs;
+    private final int hikariMaxPoolSize;
+    private RecordingStream stream;
+
+    public VirtualThreadDiagnostics(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                                    @Value("${threads.virtual.pinning-monitor.enabled:true}") boolean monitorEnabled,
+                                    @Value("${threads.virtual.pinning-threshold-ms:20}") long thresholdMs,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int hikariMaxPoolSize) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.monitorEnabled = monitorEnabled;
+        this.thresholdMs = thresholdMs;
+        this.hikariMaxPoolSize = hikariMaxPoolSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsEnabled) {
+            System.out.println("[THREADS] Request handling on platform threads (Java " + javaVersion + ")");
+            return;
+        }
+        if (javaVersion < 21) {
+            // Spring Boot ignores the property below Java 21
+            System.out.println("[THREADS] spring.threads.virtual.enabled is set, but Java " + javaVersion
+                    + " has no virtual threads; build with -Pjava21 and run on Java 21+");
+            return;
+        }
+        System.out.println("[THREADS] Requests, @Async and @Scheduled work run on virtual threads; "
+                + "database concurrency is capped by the Hikari pool (" + hikariMaxPoolSize + " connections)");
+        if (monitorEnabled) {
+            startPinningMonitor();
+        }
+    }
+
+    private void startPinningMonitor() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> System.out.println("[THREADS] Virtual thread pinned for "
+                + event.getDuration().toMillis() + " ms at " + describe(event.getStackTrace())));
+        stream.startAsync();
+        System.out.println("[THREADS] Pinning monitor started (threshold " + thresholdMs + " ms)");
+    }
+
+    // Our frames are the ones worth fixing; fall back to the top frame for pins inside libraries
+    static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return "<no stack trace>";
+        StringBuilder ours = new StringBuilder();
+        int found = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(OUR_PACKAGE) && found < 3) {
+                if (found++ > 0) ours.append(" <- ");
+                ours.append(type).append('.').append(frame.getMethod().getName()).append(':').append(frame.getLineNumber());
+            }
+        }
+        if (found > 0) return ours.toString();
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.school.management.controller;
+
+import com.school.management.entity.User;
+import com.school.management.service.ChangeFeedService;
+import com.school.management.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+    private final UserService userService;
+
+    // Employee, Manager, Admin: inserted/updated/deleted employees and leave requests after a cursor.
+    // Start with since=0 and keep passing back the returned cursor while hasMore is true.
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "500") int limit) {
+        if (since < 0 || limit < 1) {
+            return ResponseEntity.badRequest().body("since must be >= 0 and limit >= 1");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean seesAll = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_MANAGER"));
+        Long employeeId = null;
+        if (!seesAll) {
+            User user = userService.getUserByUsername(authentication.getName());
+            if (user == null || user.getEmployee() == null) {
+                return ResponseEntity.status(403).body("No employee linked to this account");
+            }
+            employeeId = user.getEmployee().getId();
+        }
+        return ResponseEntity.ok(changeFeedService.changesSince(since, limit, employeeId));
+    }
+}
@@ -0,0 +1,36 @@
+package com.school.management.controller;
+
+import com.school.management.entity.User;
+import com.school.management.service.ChangeStreamService;
+import com.school.management.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ChangeStreamController {
+
+    private final ChangeStreamService changeStreamService;
+    private final UserService userService;
+
+    // Employee, Manager, Admin: live leave request / employee changes. Employees only see their own leave requests.
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean seesAll = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_MANAGER"));
+        Long employeeId = null;
+        if (!seesAll) {
+            User user = userService.getUserByUsername(authentication.getName());
+            employeeId = user != null && user.getEmployee() != null ? user.getEmployee().getId() : null;
+        }
+        return changeStreamService.subscribe(seesAll, employeeId);
+    }
+}
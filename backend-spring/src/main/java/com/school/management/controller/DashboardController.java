@@ -0,0 +1,30 @@
+package com.school.management.controller;
+
+import com.school.management.payload.DashboardSummary;
+import com.school.management.payload.EmployeeLeaveSummary;
+import com.school.management.service.DashboardSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardSummaryService dashboardSummaryService;
+
+    // Manager, Admin: school-wide employee and leave counts
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @GetMapping("/summary")
+    public DashboardSummary getSummary() {
+        return dashboardSummaryService.getSummary();
+    }
+
+    // Employee, Manager, Admin: leave counts for a single employee
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
+    @GetMapping("/summary/employee/{employeeId}")
+    public EmployeeLeaveSummary getEmployeeSummary(@PathVariable Long employeeId) {
+        return dashboardSummaryService.getEmployeeSummary(employeeId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.school.management.controller;
 
 import com.school.management.entity.Employee;
+import com.school.management.payload.EmployeeView;
 import com.school.management.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +20,8 @@ public class EmployeeController {
 
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER','EMPLOYEE')")
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.findAll();
+    public List<EmployeeView> getAllEmployees() {
+        return employeeService.findAllViews();
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER','EMPLOYEE')")
@@ -0,0 +1,72 @@
+package com.school.management.controller;
+
+import com.school.management.payload.FlightRecordingStatus;
+import com.school.management.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+// Admin: on-demand Java Flight Recorder recording of the running server
+@RestController
+@RequestMapping("/api/admin/flight-recording")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @GetMapping
+    public FlightRecordingStatus getStatus() {
+        return flightRecordingService.status();
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(required = false) Long durationSeconds) throws IOException, ParseException {
+        FlightRecordingStatus status = flightRecordingService.start(durationSeconds);
+        if (status == null) {
+            return ResponseEntity.status(409).body("A recording is already running");
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        FlightRecordingStatus status = flightRecordingService.stop();
+        if (status == null) {
+            return ResponseEntity.status(409).body("No recording is running");
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/download")
+    public ResponseEntity<StreamingResponseBody> download() throws IOException {
+        Path recording = flightRecordingService.download();
+        if (recording == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Recordings run to max-size-mb, so the file is copied to the client rather than loaded
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(recording, out);
+            } finally {
+                Files.deleteIfExists(recording);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(recording))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("school-management.jfr").build().toString())
+                .body(body);
+    }
+}
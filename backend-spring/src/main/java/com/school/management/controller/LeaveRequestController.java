@@ -3,14 +3,21 @@ package com.school.management.controller;
 import com.school.management.entity.Employee;
 import com.school.management.entity.LeaveRequest;
 import com.school.management.entity.LeaveStatus;
+import com.school.management.payload.BulkStatusUpdateRequest;
+import com.school.management.payload.BulkStatusUpdateResult;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.payload.LeaveStatusUpdate;
 import com.school.management.service.EmployeeService;
 import com.school.management.service.LeaveRequestService;
+import com.school.management.service.StaffingLimitExceededException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,11 +32,20 @@ public class LeaveRequestController {
     // Employee, Manager, Admin: submit a leave request
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
     @PostMapping
-    public ResponseEntity<LeaveRequest> createLeaveRequest(@Valid @RequestBody LeaveRequest leaveRequest) {
+    public ResponseEntity<?> createLeaveRequest(@Valid @RequestBody LeaveRequest leaveRequest) {
         // Link the leave request to the employee submitting (can improve by getting employee from JWT)
         if (leaveRequest.getEmployee() == null || leaveRequest.getEmployee().getId() == null) {
             return ResponseEntity.badRequest().build();
         }
+        if (leaveRequest.getEndDate().isBefore(leaveRequest.getStartDate())) {
+            return ResponseEntity.badRequest().body("endDate must not be before startDate");
+        }
+        if (!leaveRequestService.isWithinCalendarWindow(leaveRequest)) {
+            return ResponseEntity.badRequest().body("Leave dates are too far from the current year");
+        }
+        if (leaveRequestService.countWorkingDays(leaveRequest) == 0) {
+            return ResponseEntity.badRequest().body("Leave request does not cover any working day");
+        }
         Optional<Employee> empOpt = employeeService.findById(leaveRequest.getEmployee().getId());
         if (empOpt.isEmpty()) return ResponseEntity.badRequest().build();
 
@@ -39,30 +55,68 @@ public class LeaveRequestController {
         return ResponseEntity.ok(saved);
     }
 
-    // Manager, Admin: view all leave requests
+    // Manager, Admin: view all leave requests, optionally only those with the given status
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
     @GetMapping
-    public List<LeaveRequest> getAllLeaveRequests() {
-        return leaveRequestService.findAll();
+    public List<LeaveRequestView> getAllLeaveRequests(@RequestParam(required = false) LeaveStatus status) {
+        return status == null ? leaveRequestService.findAllViews() : leaveRequestService.findViewsByStatus(status);
     }
 
     // Employee, Manager, Admin: view leave requests for an employee
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequest>> getLeaveRequestsForEmployee(@PathVariable Long employeeId) {
-        Optional<Employee> employee = employeeService.findById(employeeId);
-        return employee.map(e -> ResponseEntity.ok(leaveRequestService.findByEmployee(e)))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<List<LeaveRequestView>> getLeaveRequestsForEmployee(@PathVariable Long employeeId) {
+        List<LeaveRequestView> requests = leaveRequestService.findViewsByEmployeeId(employeeId);
+        // An empty result is the only case where we need to tell "no requests" from "no such employee"
+        if (requests.isEmpty() && employeeService.findById(employeeId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(requests);
+    }
+
+    // Employee, Manager, Admin: leave requests for an employee in a date range, including archived years
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER','ADMIN')")
+    @GetMapping("/employee/{employeeId}/history")
+    public ResponseEntity<?> getLeaveHistoryForEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body("'to' must not be before 'from'");
+        }
+        return ResponseEntity.ok(leaveRequestService.findHistory(employeeId, from, to));
     }
 
     // Admin, Manager: approve or reject a leave request
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
     @PutMapping("/{id}/status")
-    public ResponseEntity<LeaveRequest> updateLeaveRequestStatus(@PathVariable Long id, @RequestParam LeaveStatus status) {
-        return leaveRequestService.findById(id).map(req -> {
-            req.setStatus(status);
-            return ResponseEntity.ok(leaveRequestService.save(req));
-        }).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateLeaveRequestStatus(@PathVariable Long id, @RequestParam LeaveStatus status) {
+        Optional<LeaveStatusUpdate> update;
+        try {
+            update = leaveRequestService.transitionStatus(id, status);
+        } catch (StaffingLimitExceededException e) {
+            // Body lists each day on which the department would drop below its minimum
+            return ResponseEntity.status(409).body(e.getCheck());
+        }
+        if (update.isPresent()) {
+            return ResponseEntity.ok(update.get());
+        }
+        // Only the failure path needs to read the row, to explain why nothing changed
+        Optional<LeaveStatus> current = leaveRequestService.findStatusById(id);
+        if (current.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(409).body("Leave request is " + current.get() + " and cannot be changed to " + status);
+    }
+
+    // Admin, Manager: approve or reject many pending leave requests at once
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @PutMapping("/status")
+    public ResponseEntity<List<BulkStatusUpdateResult>> updateLeaveRequestStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        if (!LeaveStatus.PENDING.canTransitionTo(request.getStatus())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaveRequestService.updatePendingStatuses(request.getIds(), request.getStatus()));
     }
 
     // Employee, Manager, Admin: delete own pending leave request
@@ -71,7 +125,7 @@ public class LeaveRequestController {
     public ResponseEntity<Void> deleteOwnPendingLeaveRequest(@PathVariable Long id) {
         Optional<LeaveRequest> request = leaveRequestService.findById(id);
         if (request.isPresent() && request.get().getStatus() == LeaveStatus.PENDING) {
-            leaveRequestService.deleteById(id);
+            leaveRequestService.delete(request.get());
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.badRequest().build();
@@ -0,0 +1,93 @@
+package com.school.management.controller;
+
+import com.school.management.entity.AcademicTerm;
+import com.school.management.entity.SchoolHoliday;
+import com.school.management.payload.WorkingDayCount;
+import com.school.management.service.SchoolCalendarService;
+import com.school.management.service.WorkingDayService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+public class SchoolCalendarController {
+
+    private final SchoolCalendarService schoolCalendarService;
+    private final WorkingDayService workingDayService;
+
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER','EMPLOYEE')")
+    @GetMapping("/holidays")
+    public List<SchoolHoliday> getHolidays() {
+        return schoolCalendarService.findAllHolidays();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/holidays")
+    public ResponseEntity<?> createHoliday(@Valid @RequestBody SchoolHoliday holiday) {
+        if (holiday.getEndDate().isBefore(holiday.getStartDate())) {
+            return ResponseEntity.badRequest().body("endDate must not be before startDate");
+        }
+        holiday.setId(null);
+        return ResponseEntity.ok(schoolCalendarService.saveHoliday(holiday));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/holidays/{id}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long id) {
+        if (schoolCalendarService.findHolidayById(id).isPresent()) {
+            schoolCalendarService.deleteHoliday(id);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER','EMPLOYEE')")
+    @GetMapping("/terms")
+    public List<AcademicTerm> getTerms() {
+        return schoolCalendarService.findAllTerms();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/terms")
+    public ResponseEntity<?> createTerm(@Valid @RequestBody AcademicTerm term) {
+        if (term.getEndDate().isBefore(term.getStartDate())) {
+            return ResponseEntity.badRequest().body("endDate must not be before startDate");
+        }
+        term.setId(null);
+        return ResponseEntity.ok(schoolCalendarService.saveTerm(term));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/terms/{id}")
+    public ResponseEntity<Void> deleteTerm(@PathVariable Long id) {
+        if (schoolCalendarService.findTermById(id).isPresent()) {
+            schoolCalendarService.deleteTerm(id);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    // Employee, Manager, Admin: working and term days in an inclusive date range
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER','EMPLOYEE')")
+    @GetMapping("/working-days")
+    public ResponseEntity<?> countWorkingDays(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body("'to' must not be before 'from'");
+        }
+        if (!workingDayService.isWithinWindow(from, to)) {
+            return ResponseEntity.badRequest().body("'from' and 'to' must be within "
+                    + workingDayService.windowYears() + " years of the current year");
+        }
+        return ResponseEntity.ok(new WorkingDayCount(from, to,
+                workingDayService.countWorkingDays(from, to), workingDayService.countTermDays(from, to)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.school.management.controller;
+
+import com.school.management.observability.SlowQuery;
+import com.school.management.observability.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Admin: the most recent statements over slow-query.threshold-ms, newest first
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog.recent();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
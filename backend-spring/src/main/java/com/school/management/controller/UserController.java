@@ -1,13 +1,18 @@
 package com.school.management.controller;
 
 import com.school.management.entity.User;
+import com.school.management.payload.BulkRegisterResult;
+import com.school.management.payload.RegisterRequest;
+import com.school.management.service.BulkUserProvisioningService;
 import com.school.management.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,6 +20,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final BulkUserProvisioningService bulkUserProvisioningService;
 
     @GetMapping("/profile")
     public ResponseEntity<?> getCurrentUserProfile() {
@@ -49,4 +55,18 @@ public class UserController {
 
         return ResponseEntity.ok(updatedUser);
     }
+
+    // Admin: create many users (and their employee records) at once; one result per entry
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk")
+    public ResponseEntity<?> registerUsers(@RequestBody List<RegisterRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest().body("No users to register");
+        }
+        if (requests.size() > bulkUserProvisioningService.getMaxSize()) {
+            return ResponseEntity.badRequest().body("At most " + bulkUserProvisioningService.getMaxSize() + " users per request");
+        }
+        List<BulkRegisterResult> results = bulkUserProvisioningService.register(requests);
+        return ResponseEntity.ok(results);
+    }
 }
@@ -0,0 +1,35 @@
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Teaching period; days inside a term (and not a holiday) are term days
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "academic_terms")
+public class AcademicTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String name;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // Inclusive
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate endDate;
+}
@@ -0,0 +1,49 @@
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Leave request from a closed academic year, moved out of leave_requests by LeaveArchiveService.
+// Keeps the original id; employee_id is a plain column so deleting an employee never touches history.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "leave_requests_archive")
+public class ArchivedLeaveRequest {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeaveType leaveType;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeaveStatus status;
+
+    private Long version;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
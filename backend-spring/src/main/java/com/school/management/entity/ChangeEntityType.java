@@ -0,0 +1,7 @@
+package com.school.management.entity;
+
+// Entities whose writes are stamped with the shared change sequence
+public enum ChangeEntityType {
+    LEAVE_REQUEST,
+    EMPLOYEE
+}
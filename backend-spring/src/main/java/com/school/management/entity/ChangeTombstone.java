@@ -0,0 +1,37 @@
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Record of a deleted row so delta-sync clients can drop it from their replica
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "change_tombstones")
+public class ChangeTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Stamped from change_seq after the deleting transaction commits; unique across all tracked entities
+    private Long changeSeq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Owning employee of a deleted leave request, used to filter the feed for employees
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
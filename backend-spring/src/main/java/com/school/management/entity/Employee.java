@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.school.management.repository.ChangeTrackingListener;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -16,6 +17,7 @@ import java.util.List;
 @Builder
 @Entity
 @Table(name = "employees")
+@EntityListeners(ChangeTrackingListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Employee {
 
@@ -49,6 +51,10 @@ public class Employee {
     @Column(nullable = false)
     private LocalDate startDate;
 
+    // Position in the shared change sequence; cleared on every write and stamped after commit, see ChangeSequence
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     // Bidirectional relationship (optional, not required)
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnoreProperties("employee")
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.school.management.repository.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 @Builder
 @Entity
 @Table(name = "leave_requests")
+@EntityListeners(ChangeTrackingListener.class)
 public class LeaveRequest {
 
     @Id
@@ -38,6 +40,14 @@ public class LeaveRequest {
     @Column(nullable = false)
     private LeaveStatus status = LeaveStatus.PENDING;
 
+    // Bumped on every write, including the conditional status updates in LeaveRequestRepositoryCustomImpl
+    @Version
+    private Long version;
+
+    // Position in the shared change sequence; cleared on every write and stamped after commit, see ChangeSequence
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     // Relationship with Employee (many requests per employee)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
@@ -1,7 +1,24 @@
 package com.school.management.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum LeaveStatus {
     PENDING,
     APPROVED,
-    REJECTED
-}
\ No newline at end of file
+    REJECTED;
+
+    // A request is decided exactly once: PENDING -> APPROVED | REJECTED, everything else is final
+    public boolean canTransitionTo(LeaveStatus target) {
+        return this == PENDING && (target == APPROVED || target == REJECTED);
+    }
+
+    // Statuses a request may currently be in for a move to target to be legal
+    public static Set<LeaveStatus> sourcesOf(LeaveStatus target) {
+        Set<LeaveStatus> sources = EnumSet.noneOf(LeaveStatus.class);
+        for (LeaveStatus status : values()) {
+            if (status.canTransitionTo(target)) sources.add(status);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,7 @@
+package com.school.management.entity;
+
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
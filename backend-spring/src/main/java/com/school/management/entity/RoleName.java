@@ -0,0 +1,20 @@
+package com.school.management.entity;
+
+import java.util.Optional;
+
+// The fixed set of roles; Role.name holds one of these
+public enum RoleName {
+    ADMIN,
+    MANAGER,
+    EMPLOYEE;
+
+    // Case-insensitive lookup of a client-supplied role name
+    public static Optional<RoleName> parse(String name) {
+        if (name == null) return Optional.empty();
+        try {
+            return Optional.of(valueOf(name.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Day(s) nobody is expected to work, e.g. bank holidays or a school closure
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "school_holidays")
+public class SchoolHoliday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String name;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // Inclusive
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate endDate;
+}
@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
-import java.time.Instant;
 import java.util.Set;
 
 @Getter
@@ -45,8 +44,4 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "role_id")
     )
     private Set<Role> roles;
-
-    // --- Password reset ---
-    private String resetToken;
-    private Instant resetTokenExpiry;
 }
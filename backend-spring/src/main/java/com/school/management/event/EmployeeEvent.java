@@ -0,0 +1,19 @@
+package com.school.management.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by EmployeeService after every write to employees
+@Getter
+@AllArgsConstructor
+public class EmployeeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long employeeId;
+}
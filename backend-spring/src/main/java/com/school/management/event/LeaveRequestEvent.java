@@ -0,0 +1,27 @@
+package com.school.management.event;
+
+import com.school.management.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by LeaveRequestService after every write to leave_requests
+@Getter
+@AllArgsConstructor
+public class LeaveRequestEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long leaveRequestId;
+    private final Long employeeId;
+
+    // Status before the write (null for CREATED)
+    private final LeaveStatus previousStatus;
+
+    // Status after the write (null for DELETED)
+    private final LeaveStatus status;
+}
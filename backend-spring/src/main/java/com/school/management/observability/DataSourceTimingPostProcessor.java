@@ -0,0 +1,162 @@
+package com.school.management.observability;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Wraps the DataSource so every SQL statement executed on a request thread adds its time to
+ * that request's db phase. Measured at the JDBC level rather than around repository methods,
+ * so lazy loading from services and serialization is counted too. The PostgreSQL driver reads
+ * the whole result during execute unless a fetch size is set, so row transfer is included.
+ *
+ * Statements over the slow-query threshold, on any thread, also go to the SlowQueryLog. For
+ * that, prepared statements remember their SQL and bind parameters, and the result set of a
+ * slow query counts the rows it is read for.
+ *
+ * unwrap() still reaches the pool, so Hikari metrics and health checks are unaffected.
+ */
+@Component
+public class DataSourceTimingPostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    // Looked up on first use: depending on a bean here would create it before post-processing is set up
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private SlowQueryLog slowQueryLog;
+
+    public DataSourceTimingPostProcessor(ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? connection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(connection, method, args);
+            // prepareStatement, prepareCall and createStatement all declare the interface they return
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, slowQueryLog()));
+            }
+            return result;
+        });
+    }
+
+    private SlowQueryLog slowQueryLog() {
+        if (slowQueryLog == null) {
+            slowQueryLog = slowQueryLogProvider.getIfAvailable();
+        }
+        return slowQueryLog;
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final SlowQueryLog slowQueryLog;
+        private final TreeMap<Integer, Object> parameters;
+
+        StatementHandler(Statement statement, String preparedSql, SlowQueryLog slowQueryLog) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.slowQueryLog = slowQueryLog;
+            boolean capture = slowQueryLog != null && slowQueryLog.isEnabled() && statement instanceof PreparedStatement;
+            this.parameters = capture ? new TreeMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!EXECUTE.contains(name)) {
+                if (parameters != null) {
+                    rememberParameter(name, args);
+                }
+                return DataSourceTimingPostProcessor.invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            long elapsed;
+            Object result;
+            try {
+                result = DataSourceTimingPostProcessor.invoke(statement, method, args);
+            } finally {
+                elapsed = System.nanoTime() - start;
+                RequestTimings.recordStatement(elapsed);
+            }
+            if (slowQueryLog != null && slowQueryLog.isSlow(elapsed)) {
+                String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? String.valueOf(args[0]) : null;
+                return withRowCount(slowQueryLog.record(sql, parameters, elapsed), result);
+            }
+            return result;
+        }
+
+        // setString(1, ...), setLong(2, ...), setNull(3, type): the first argument is the parameter index
+        private void rememberParameter(String name, Object[] args) {
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+        }
+
+        private static Object withRowCount(SlowQuery query, Object result) {
+            if (result instanceof ResultSet resultSet) {
+                query.setRowCount(0);
+                return proxy(ResultSet.class, (p, method, args) -> {
+                    Object value = DataSourceTimingPostProcessor.invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(value)) {
+                        query.addRow();
+                    }
+                    return value;
+                });
+            }
+            if (result instanceof Number updated) {
+                query.setRowCount(updated.longValue());
+            } else if (result instanceof int[] batch) {
+                long sum = 0;
+                for (int count : batch) sum += Math.max(count, 0);
+                query.setRowCount(sum);
+            } else if (result instanceof long[] batch) {
+                long sum = 0;
+                for (long count : batch) sum += Math.max(count, 0);
+                query.setRowCount(sum);
+            }
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.school.management.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Where the time of one API request went, reported by ServerTimingFilter as a Server-Timing
+ * header. Bound to the request thread, so code anywhere below the filter (authentication,
+ * services, repositories, JDBC, JSON serialization) can add to it through the static methods
+ * without passing it around; work on other threads (SSE senders, @Async, scheduled jobs) is
+ * not attributed to any request.
+ *
+ * The phases may overlap: auth includes the user lookup it performs, which is also counted
+ * in db, and ser includes any lazy loading triggered while writing the response.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        AUTH("auth", "JWT check and user lookup"),
+        DB("db", "SQL"),
+        SER("ser", "JSON serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final boolean debug;
+    private final long[] nanos = new long[Phase.values().length];
+    private int statements;
+    private boolean bodyStarted;
+    private boolean serStreamed;
+
+    RequestTimings(boolean debug) {
+        this.debug = debug;
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // Null outside a request thread, or when Server-Timing is disabled
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    public static void recordStatement(long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanos[Phase.DB.ordinal()] += elapsedNanos;
+            timings.statements++;
+        }
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    // Once the response body is open the headers are gone, so later writes are not buffered or timed
+    boolean isBodyStarted() {
+        return bodyStarted;
+    }
+
+    void markBodyStarted() {
+        bodyStarted = true;
+    }
+
+    // The body outgrew the serialization buffer, so the header is sent before ser is known
+    void markSerStreamed() {
+        serStreamed = true;
+    }
+
+    // e.g. auth;dur=1.2;desc="JWT check and user lookup", db;dur=4.0;desc="SQL (3 statements)", ..., app;dur=9.8
+    String toHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (phase == Phase.SER && serStreamed) {
+                header.append(phase.metric).append(";desc=\"").append(phase.description).append(" (streamed)\", ");
+                continue;
+            }
+            String description = phase == Phase.DB ? phase.description + " (" + statements + " statements)" : phase.description;
+            header.append(phase.metric).append(";dur=").append(millis(nanos[phase.ordinal()]))
+                    .append(";desc=\"").append(description).append("\", ");
+        }
+        return header.append("app;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+    }
+
+    Map<String, Object> toDebugMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            map.put(phase.metric + "Ms", Double.parseDouble(millis(nanos[phase.ordinal()])));
+        }
+        map.put("dbStatements", statements);
+        map.put("appMs", Double.parseDouble(millis(System.nanoTime() - startNanos)));
+        return map;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.school.management.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds a Server-Timing header (auth, db, ser and total app time) to every API response, so
+ * browser devtools show whether a slow request was spent in authentication, SQL or writing
+ * JSON. Runs just outside the Spring Security filter chain so authentication is included.
+ *
+ * The header is set the moment the response body is opened; JSON bodies up to a size cap are
+ * serialized into a buffer first (see TimedJsonHttpMessageConverter) so their serialization
+ * time makes it in.
+ * With {@code server-timing.debug.enabled} a request carrying {@code X-Debug-Timing: true}
+ * also gets the numbers in the JSON body, wrapped as {"data": ..., "timing": {...}}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+    static final String DEBUG_HEADER = "X-Debug-Timing";
+
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final boolean enabled;
+    private final boolean debugEnabled;
+
+    public ServerTimingFilter(CorsConfigurationSource corsConfigurationSource,
+                              @Value("${server-timing.enabled:true}") boolean enabled,
+                              @Value("${server-timing.debug.enabled:false}") boolean debugEnabled) {
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.enabled = enabled;
+        this.debugEnabled = debugEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = new RequestTimings(debugEnabled && "true".equalsIgnoreCase(request.getHeader(DEBUG_HEADER)));
+        allowTimingOrigin(request, response);
+        TimingResponse timingResponse = new TimingResponse(response, timings);
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            RequestTimings.unbind();
+            // Responses without a body (204, redirects, most errors) never opened the stream
+            timingResponse.writeHeader();
+        }
+    }
+
+    // Cross-origin pages (the frontend dev server) only see Server-Timing with this header
+    private void allowTimingOrigin(HttpServletRequest request, HttpServletResponse response) {
+        String origin = request.getHeader("Origin");
+        if (origin == null) return;
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && cors.checkOrigin(origin) != null) {
+            response.setHeader("Timing-Allow-Origin", origin);
+        }
+    }
+
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+
+        TimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void writeHeader() {
+            if (!timings.isBodyStarted() && !isCommitted()) {
+                setHeader(HEADER, timings.toHeader());
+            }
+            timings.markBodyStarted();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+}
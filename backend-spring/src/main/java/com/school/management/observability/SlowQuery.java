@@ -0,0 +1,44 @@
+package com.school.management.observability;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement that took longer than the slow-query threshold. The row count is filled in
+ * while the caller reads the result, so an entry for a query still being read may show fewer
+ * rows than it will end up with.
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant capturedAt;
+    private final double durationMs;
+    private final String sql;
+    private final List<String> parameters;
+    private final String endpoint;
+    private final String callSite;
+    private final String thread;
+    private volatile Long rowCount;
+
+    SlowQuery(Instant capturedAt, double durationMs, String sql, List<String> parameters,
+              String endpoint, String callSite, String thread) {
+        this.capturedAt = capturedAt;
+        this.durationMs = durationMs;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.endpoint = endpoint;
+        this.callSite = callSite;
+        this.thread = thread;
+    }
+
+    void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    // Only the thread reading the result set calls this
+    void addRow() {
+        rowCount = rowCount == null ? 1 : rowCount + 1;
+    }
+}
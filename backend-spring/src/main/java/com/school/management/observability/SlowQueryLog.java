@@ -0,0 +1,176 @@
+package com.school.management.observability;
+
+import com.school.management.observability.jfr.RequestEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The last {@code slow-query.capacity} statements that ran longer than
+ * {@code slow-query.threshold-ms}, with their bind parameters, the endpoint and the controller
+ * and service methods that issued them. Filled by DataSourceTimingPostProcessor; read through
+ * /api/admin/slow-queries and the db.slow.queries meters (see MetricsConfig).
+ *
+ * Parameters bound to credential-like columns (passwords, token hashes, mail bodies carrying
+ * reset links) are replaced by "***", as is anything that looks like a BCrypt hash.
+ */
+@Component
+public class SlowQueryLog {
+
+    static final String REDACTED = "***";
+
+    private static final String OUR_PACKAGE = "com.school.management.";
+    private static final Set<String> CALL_SITE_PACKAGES = Set.of(OUR_PACKAGE + "controller.", OUR_PACKAGE + "service.");
+    private static final Set<String> SENSITIVE_COLUMNS = Set.of("password", "token", "secret", "hash", "body");
+    private static final Pattern INSERT = Pattern.compile(
+            "insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\((.*)\\)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    // The column a ? is compared with or assigned to: "u.password = ?", "token_hash in (?, ?"
+    private static final Pattern COLUMN_BEFORE_PARAMETER = Pattern.compile(
+            "([A-Za-z_][\\w]*)\\s*(?:=|<>|!=|<=|>=|<|>|\\s+like|\\s+in\\s*\\((?:\\s*\\?\\s*,)*)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[abxy]?\\$\\d\\d\\$.{53}$");
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final ArrayDeque<SlowQuery> queries;
+    private final LongAdder captured = new LongAdder();
+
+    public SlowQueryLog(@Value("${slow-query.enabled:true}") boolean enabled,
+                        @Value("${slow-query.threshold-ms:200}") long thresholdMs,
+                        @Value("${slow-query.capacity:100}") int capacity) {
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.capacity = capacity;
+        this.queries = new ArrayDeque<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return enabled && elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Captures a slow statement; call on the thread that ran it so the endpoint and call site
+     * are the right ones. Parameters are keyed by their 1-based JDBC index.
+     */
+    SlowQuery record(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+        SlowQuery query = new SlowQuery(Instant.now(), elapsedNanos / 1_000_000.0, sql,
+                redactedParameters(sql, parameters), RequestEvent.currentEndpoint(), callSite(),
+                Thread.currentThread().getName());
+        captured.increment();
+        synchronized (queries) {
+            if (queries.size() == capacity) {
+                queries.removeFirst();
+            }
+            queries.addLast(query);
+        }
+        System.out.println("[SLOW-SQL] " + String.format(Locale.ROOT, "%.1f", query.getDurationMs()) + " ms at "
+                + (query.getCallSite() != null ? query.getCallSite() : query.getThread()) + ": "
+                + (sql == null ? "" : sql.replaceAll("\\s+", " ").trim()));
+        return query;
+    }
+
+    // Newest first
+    public List<SlowQuery> recent() {
+        synchronized (queries) {
+            List<SlowQuery> recent = new ArrayList<>(queries);
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+    }
+
+    public long capturedCount() {
+        return captured.sum();
+    }
+
+    public int bufferedCount() {
+        synchronized (queries) {
+            return queries.size();
+        }
+    }
+
+    static List<String> redactedParameters(String sql, Map<Integer, Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) return List.of();
+        Set<Integer> sensitive = sensitiveParameters(sql);
+        int last = Collections.max(parameters.keySet());
+        List<String> values = new ArrayList<>(last);
+        for (int index = 1; index <= last; index++) {
+            Object value = parameters.get(index);
+            if (sensitive.contains(index) || (value instanceof String s && BCRYPT.matcher(s).matches())) {
+                values.add(REDACTED);
+            } else if (value instanceof byte[] bytes) {
+                values.add("<" + bytes.length + " bytes>");
+            } else {
+                values.add(value == null ? null : String.valueOf(value));
+            }
+        }
+        return values;
+    }
+
+    // 1-based indexes of the ? placeholders that are bound to credential-like columns
+    static Set<Integer> sensitiveParameters(String sql) {
+        if (sql == null) return Set.of();
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] columns = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            Set<Integer> sensitive = new HashSet<>();
+            int index = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (!values[i].trim().equals("?")) continue;
+                index++;
+                if (i < columns.length && isSensitive(columns[i].trim())) sensitive.add(index);
+            }
+            return sensitive;
+        }
+        Set<Integer> sensitive = new HashSet<>();
+        int index = 0;
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            index++;
+            Matcher column = COLUMN_BEFORE_PARAMETER.matcher(sql.substring(Math.max(0, i - 200), i));
+            if (column.find() && isSensitive(column.group(1))) sensitive.add(index);
+        }
+        return sensitive;
+    }
+
+    private static boolean isSensitive(String column) {
+        String name = column.toLowerCase(Locale.ROOT);
+        return SENSITIVE_COLUMNS.stream().anyMatch(name::contains);
+    }
+
+    // The innermost controller and service methods on the stack, e.g. "EmployeeController.getAll:40 -> EmployeeService.findAll:31"
+    static String callSite() {
+        List<String> frames = StackWalker.getInstance().walk(stack -> stack
+                .filter(frame -> CALL_SITE_PACKAGES.stream().anyMatch(frame.getClassName()::startsWith))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .collect(Collectors.toList()));
+        if (frames.isEmpty()) return null;
+        Collections.reverse(frames);
+        return String.join(" -> ", frames);
+    }
+}
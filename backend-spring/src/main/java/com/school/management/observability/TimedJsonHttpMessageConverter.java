@@ -0,0 +1,161 @@
+package com.school.management.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.observability.jfr.JsonSerializationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Boot's JSON converter (it replaces the auto-configured one and uses the same ObjectMapper),
+ * except that during a timed request the body is serialized into a buffer first. That is what
+ * lets the ser phase be measured and still reach the Server-Timing header, which has to be
+ * sent before the first byte of the body. It also means JSON responses get a Content-Length.
+ *
+ * The buffer is capped at {@code server-timing.buffer-limit-bytes}. A body that outgrows it is
+ * streamed from then on: the header goes out with ser marked as streamed and no duration (the
+ * JFR event and the debug timing block, which comes after the data, still have it) and the
+ * response is chunked.
+ */
+@Component
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int bufferLimit;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                         @Value("${server-timing.buffer-limit-bytes:262144}") int bufferLimit) {
+        super(objectMapper);
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        JsonSerializationEvent event = new JsonSerializationEvent();
+        event.begin();
+        try {
+            write(object, type, outputMessage, event);
+        } finally {
+            event.type = object.getClass().getSimpleName();
+            event.rowCount = object instanceof Collection<?> collection ? collection.size() : 1;
+            event.finish();
+        }
+    }
+
+    private void write(Object object, Type type, HttpOutputMessage outputMessage, JsonSerializationEvent event)
+            throws IOException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null || timings.isBodyStarted()) {
+            // Not timed, or a later write such as an SSE event: stream straight through
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        byte[] prefix = "{\"data\":".getBytes(StandardCharsets.UTF_8);
+        SpillingOutputStream buffer = new SpillingOutputStream(bufferLimit, timings::markSerStreamed, () -> {
+            OutputStream body = outputMessage.getBody();
+            if (timings.isDebug()) body.write(prefix);
+            return body;
+        });
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        RequestTimings.record(RequestTimings.Phase.SER, System.nanoTime() - start);
+        event.bytes = buffer.size();
+
+        byte[] suffix = timings.isDebug()
+                ? (",\"timing\":" + getObjectMapper().writeValueAsString(timings.toDebugMap()) + "}").getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        if (buffer.isSpilled()) {
+            buffer.target().write(suffix);
+            return;
+        }
+        int prefixLength = timings.isDebug() ? prefix.length : 0;
+        outputMessage.getHeaders().setContentLength(prefixLength + buffer.size() + suffix.length);
+        OutputStream body = buffer.spill();
+        body.write(suffix);
+    }
+
+    // Collects up to limit bytes in memory, then opens the real body, replays them and passes the rest through
+    private static final class SpillingOutputStream extends OutputStream {
+
+        interface BodyOpener {
+            OutputStream open() throws IOException;
+        }
+
+        private final int limit;
+        private final Runnable onOverflow;
+        private final BodyOpener opener;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        private OutputStream target;
+        private long size;
+
+        SpillingOutputStream(int limit, Runnable onOverflow, BodyOpener opener) {
+            this.limit = limit;
+            this.onOverflow = onOverflow;
+            this.opener = opener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            size += len;
+            if (target == null && size > limit) {
+                onOverflow.run();
+                spill();
+            }
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) target.flush();
+        }
+
+        OutputStream spill() throws IOException {
+            if (target == null) {
+                target = opener.open();
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            return target;
+        }
+
+        boolean isSpilled() {
+            return buffer == null;
+        }
+
+        OutputStream target() {
+            return target;
+        }
+
+        long size() {
+            return size;
+        }
+    }
+}
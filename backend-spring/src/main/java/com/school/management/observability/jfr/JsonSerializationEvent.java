@@ -0,0 +1,25 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.school.management.JsonSerialization")
+@Label("JSON Serialization")
+@Category({"School Management", "Web"})
+@Description("Writing a response body as JSON, including any lazy loading it triggers")
+public class JsonSerializationEvent extends RequestEvent {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Row Count")
+    @Description("Elements of a collection body, 1 for a single object")
+    public long rowCount;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,16 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.school.management.JwtVerification")
+@Label("JWT Verification")
+@Category({"School Management", "Security"})
+@Description("Parsing a bearer token and checking its signature and expiry")
+public class JwtVerificationEvent extends RequestEvent {
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,19 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.school.management.PasswordHash")
+@Label("BCrypt Password Hash")
+@Category({"School Management", "Security"})
+@Description("A BCrypt password check (matches) or hash (encode)")
+public class PasswordHashEvent extends RequestEvent {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
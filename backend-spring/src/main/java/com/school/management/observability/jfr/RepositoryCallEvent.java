@@ -0,0 +1,26 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.school.management.RepositoryCall")
+@Label("Repository Call")
+@Category({"School Management", "Persistence"})
+@Description("A Spring Data repository method, including the SQL it ran")
+public class RepositoryCallEvent extends RequestEvent {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Row Count")
+    @Description("Entities returned, rows changed by a modifying query, or -1 for a stream")
+    public long rowCount;
+
+    @Label("Failed")
+    public boolean failed;
+}
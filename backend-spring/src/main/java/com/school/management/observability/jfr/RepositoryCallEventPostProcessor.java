@@ -0,0 +1,75 @@
+package com.school.management.observability.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Adds a RepositoryCallEvent around every repository method, the same way Spring Boot hooks in
+ * its spring.data.repository.invocations timer, but with the number of rows involved so a slow
+ * call can be told apart from a call that simply returned a lot.
+ */
+@Component
+public class RepositoryCallEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new Interceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    static final class Interceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        Interceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            try {
+                Object result = invocation.proceed();
+                event.rowCount = rows(result, invocation.getMethod().isAnnotationPresent(Modifying.class));
+                return result;
+            } catch (Throwable e) {
+                event.failed = true;
+                throw e;
+            } finally {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.finish();
+            }
+        }
+    }
+
+    static long rows(Object result, boolean modifying) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Slice<?> slice) return slice.getNumberOfElements();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof BaseStream<?, ?>) return -1;
+        if (modifying && result instanceof Number updated) return updated.longValue();
+        if (result instanceof Iterable<?> iterable) {
+            long count = 0;
+            for (Object ignored : iterable) count++;
+            return count;
+        }
+        // A single entity, or a scalar such as count() or existsBy...()
+        return 1;
+    }
+}
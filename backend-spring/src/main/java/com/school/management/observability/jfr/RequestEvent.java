@@ -0,0 +1,78 @@
+package com.school.management.observability.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Base for our JFR events: each one records the endpoint and the role of the user it ran for,
+ * so a slow event in JDK Mission Control can be traced back to the request that caused it.
+ *
+ * Creating and timing an event costs next to nothing while no recording is running; the
+ * request lookups only happen in {@link #finish()} once JFR has decided to keep the event.
+ */
+@Category("School Management")
+@StackTrace(false)
+public abstract class RequestEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("User Role")
+    public String userRole;
+
+    /**
+     * Ends the event and commits it if a recording wants it, filling in the endpoint and the
+     * role from the current request unless the caller already set them.
+     */
+    public void finish() {
+        end();
+        if (!shouldCommit()) return;
+        if (endpoint == null) endpoint = currentEndpoint();
+        if (userRole == null) userRole = currentRole();
+        commit();
+    }
+
+    // The mapped pattern once the DispatcherServlet has picked a handler, the raw URI before that
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) return null;
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    static String currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : roles(authentication.getAuthorities());
+    }
+
+    public static String roles(Collection<? extends GrantedAuthority> authorities) {
+        String roles = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring("ROLE_".length()))
+                .sorted()
+                .collect(Collectors.joining(","));
+        return roles.isEmpty() ? null : roles;
+    }
+
+    // Same format for the comma-separated "roles" claim of a token
+    public static String roles(String claim) {
+        if (claim == null || claim.isBlank()) return null;
+        return Arrays.stream(claim.split(",")).map(String::trim).sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,16 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.school.management.UserDetailsLoad")
+@Label("User Details Load")
+@Category({"School Management", "Security"})
+@Description("Loading the user and roles behind an authenticated request")
+public class UserDetailsLoadEvent extends RequestEvent {
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,31 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkRegisterResult {
+
+    public enum Outcome {
+        CREATED,
+        INVALID,
+        UNKNOWN_ROLE,
+        USERNAME_TAKEN,
+        EMPLOYEE_ID_TAKEN,
+        // The row's chunk was rolled back, e.g. a concurrent registration took a username; safe to retry
+        FAILED
+    }
+
+    // Position in the request list
+    private int index;
+    private String username;
+    private Outcome outcome;
+    // Only for CREATED
+    private Long userId;
+    private Long employeeDbId;
+
+    public BulkRegisterResult(int index, String username, Outcome outcome) {
+        this(index, username, outcome, null, null);
+    }
+}
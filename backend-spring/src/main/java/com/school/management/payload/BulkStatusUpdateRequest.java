@@ -0,0 +1,18 @@
+package com.school.management.payload;
+
+import com.school.management.entity.LeaveStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty
+    private List<Long> ids;
+
+    @NotNull
+    private LeaveStatus status;
+}
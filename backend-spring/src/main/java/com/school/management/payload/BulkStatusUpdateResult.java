@@ -0,0 +1,27 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_PENDING,
+        NOT_FOUND,
+        UNDERSTAFFED
+    }
+
+    private Long id;
+    private Outcome outcome;
+    // Only for UNDERSTAFFED: the days on which approving would breach the department minimum
+    private List<StaffingCheck.BreachDay> breaches;
+
+    public BulkStatusUpdateResult(Long id, Outcome outcome) {
+        this(id, outcome, null);
+    }
+}
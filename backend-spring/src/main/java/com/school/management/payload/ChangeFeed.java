@@ -0,0 +1,27 @@
+package com.school.management.payload;
+
+import com.school.management.entity.ChangeEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of the delta-sync feed; pass cursor back as "since" to get the next page
+@Data
+@AllArgsConstructor
+public class ChangeFeed {
+
+    @Data
+    @AllArgsConstructor
+    public static class Deletion {
+        private ChangeEntityType entityType;
+        private Long id;
+        private Long changeSeq;
+    }
+
+    private long cursor;
+    private boolean hasMore;
+    private List<EmployeeView> employees;
+    private List<LeaveRequestView> leaveRequests;
+    private List<Deletion> deleted;
+}
@@ -0,0 +1,17 @@
+package com.school.management.payload;
+
+import com.school.management.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// What a connected client receives on /api/events/stream; enough to patch its local state
+@Data
+@AllArgsConstructor
+public class ChangeNotification {
+    private String entity;      // "leaveRequest" or "employee"
+    private String type;        // CREATED, STATUS_CHANGED, UPDATED, DELETED
+    private Long id;
+    private Long employeeId;
+    private LeaveStatus previousStatus;
+    private LeaveStatus status;
+}
@@ -0,0 +1,14 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DashboardSummary {
+    private long totalEmployees;
+    private long totalLeaveRequests;
+    private long pendingLeaveRequests;
+    private long approvedLeaveRequests;
+    private long rejectedLeaveRequests;
+}
@@ -0,0 +1,14 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EmployeeLeaveSummary {
+    private Long employeeId;
+    private long totalSubmitted;
+    private long pending;
+    private long approved;
+    private long rejected;
+}
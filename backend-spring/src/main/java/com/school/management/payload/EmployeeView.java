@@ -0,0 +1,21 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Read model for employee lists: the employee's own columns only, never the leaveRequests
+// collection, so one query fills it and nothing about other employees' leave leaks out
+@Data
+@AllArgsConstructor
+public class EmployeeView {
+    private Long id;
+    private String name;
+    private String employeeId;
+    private String department;
+    private String position;
+    private String contactInfo;
+    private LocalDate startDate;
+    private Long changeSeq;
+}
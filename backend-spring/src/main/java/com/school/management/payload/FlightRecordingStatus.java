@@ -0,0 +1,16 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class FlightRecordingStatus {
+    private String state;
+    private Instant startedAt;
+    private long maxDurationSeconds;
+    private long maxSizeMb;
+    private String settings;
+}
@@ -0,0 +1,52 @@
+package com.school.management.payload;
+
+import com.school.management.entity.LeaveStatus;
+import com.school.management.entity.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Read model for leave request lists: same JSON shape as LeaveRequest, but the employee is
+// a flat summary filled by the same query instead of a lazily loaded entity graph
+@Data
+public class LeaveRequestView {
+
+    @Data
+    @AllArgsConstructor
+    public static class EmployeeSummary {
+        private Long id;
+        private String name;
+        private String employeeId;
+        private String department;
+        private String position;
+    }
+
+    private Long id;
+    private LeaveType leaveType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String reason;
+    private LeaveStatus status;
+    private Long version;
+    private Long changeSeq;
+    private EmployeeSummary employee;
+    // Filled in by LeaveRequestService from the working-day calendar, not by the query
+    private Integer workingDays;
+
+    // Flat argument list so JPQL constructor expressions can build it directly
+    public LeaveRequestView(Long id, LeaveType leaveType, LocalDate startDate, LocalDate endDate, String reason,
+                            LeaveStatus status, Long version, Long changeSeq,
+                            Long employeeId, String employeeName, String employeeCode,
+                            String department, String position) {
+        this.id = id;
+        this.leaveType = leaveType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reason = reason;
+        this.status = status;
+        this.version = version;
+        this.changeSeq = changeSeq;
+        this.employee = new EmployeeSummary(employeeId, employeeName, employeeCode, department, position);
+    }
+}
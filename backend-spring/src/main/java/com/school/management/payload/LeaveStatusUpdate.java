@@ -0,0 +1,14 @@
+package com.school.management.payload;
+
+import com.school.management.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaveStatusUpdate {
+    private Long id;
+    private LeaveStatus previousStatus;
+    private LeaveStatus status;
+    private Long version;
+}
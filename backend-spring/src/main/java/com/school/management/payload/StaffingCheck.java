@@ -0,0 +1,32 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Outcome of the minimum-staffing check for one leave request; breaches is empty when it passes
+@Data
+@AllArgsConstructor
+public class StaffingCheck {
+
+    @Data
+    @AllArgsConstructor
+    public static class BreachDay {
+        private LocalDate date;
+        // Absences on that day if the request were approved
+        private int absent;
+        private int present;
+    }
+
+    private Long leaveRequestId;
+    private String department;
+    private int headcount;
+    private int minimumPresent;
+    private List<BreachDay> breaches;
+
+    public boolean isSatisfied() {
+        return breaches.isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.school.management.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class WorkingDayCount {
+    private LocalDate from;
+    private LocalDate to;
+    private int workingDays;
+    private int termDays;
+}
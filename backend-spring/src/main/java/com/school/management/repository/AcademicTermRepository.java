@@ -0,0 +1,19 @@
+package com.school.management.repository;
+
+import com.school.management.entity.AcademicTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AcademicTermRepository extends JpaRepository<AcademicTerm, Long> {
+
+    List<AcademicTerm> findAllByOrderByStartDateAsc();
+
+    @Query("select x from AcademicTerm x where x.endDate >= :from and x.startDate <= :to")
+    List<AcademicTerm> findOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
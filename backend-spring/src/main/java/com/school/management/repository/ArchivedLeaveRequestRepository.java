@@ -0,0 +1,26 @@
+package com.school.management.repository;
+
+import com.school.management.entity.ArchivedLeaveRequest;
+import com.school.management.payload.LeaveRequestView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedLeaveRequestRepository extends JpaRepository<ArchivedLeaveRequest, Long> {
+
+    // Left join: the employee may have been deleted since the request was archived
+    @Query("select new com.school.management.payload.LeaveRequestView(" +
+            "a.id, a.leaveType, a.startDate, a.endDate, a.reason, a.status, a.version, a.changeSeq, " +
+            "a.employeeId, e.name, e.employeeId, e.department, e.position) " +
+            "from ArchivedLeaveRequest a left join Employee e on e.id = a.employeeId " +
+            "where a.employeeId = :employeeId and a.endDate >= :from and a.startDate <= :to " +
+            "order by a.startDate")
+    List<LeaveRequestView> findViewsByEmployeeIdInRange(@Param("employeeId") Long employeeId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+}
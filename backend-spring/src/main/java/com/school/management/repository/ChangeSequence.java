@@ -0,0 +1,119 @@
+package com.school.management.repository;
+
+import com.school.management.entity.ChangeEntityType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Shared, monotonically increasing change sequence for leave requests, employees and tombstones.
+ *
+ * Writers do not draw sequence values themselves: they leave change_seq NULL and the rows are
+ * stamped after the writing transaction has committed. Only the stamper is serialised (by an
+ * advisory lock held for its own short transaction), so stamped values become visible in
+ * ascending order and a client reading "everything after X" can never skip a row that shows
+ * up later with a smaller value. Writers never wait for each other.
+ *
+ * Unstamped rows are left out of the feed until they are stamped, normally right after their
+ * commit; the scheduled sweep picks up anything whose after-commit stamp did not run.
+ *
+ * The sequence itself and the backfill of older rows live in the migrations.
+ */
+@Repository
+public class ChangeSequence {
+
+    // Arbitrary application-wide key for pg_advisory_xact_lock
+    static final long STAMPER_LOCK_KEY = 7_310_291_845_001L;
+
+    private static final String[] STAMPED_TABLES = {"leave_requests", "employees", "change_tombstones"};
+
+    // SKIP LOCKED leaves rows an open transaction is still writing; its own after-commit stamp takes them
+    private static final String STAMP =
+            "UPDATE %1$s SET change_seq = nextval('change_seq') WHERE id IN (" +
+            "SELECT id FROM %1$s WHERE change_seq IS NULL ORDER BY id FOR UPDATE SKIP LOCKED)";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Looked up on first use: the entity listener needs this bean while the EntityManagerFactory,
+    // and with it the transaction manager, is still being built
+    private final ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+    private TransactionTemplate stampTransaction;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate, ObjectProvider<PlatformTransactionManager> transactionManagerProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManagerProvider = transactionManagerProvider;
+    }
+
+    // Called by every change_seq writer; stamps once after the current transaction commits
+    public void stampAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    stamp();
+                } catch (RuntimeException e) {
+                    // The write itself has committed; the sweep stamps it instead
+                    System.out.println("[CHANGE-FEED] After-commit stamp failed: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+            }
+        });
+    }
+
+    // Safety net for writes whose after-commit stamp never ran (crash, non-transactional write)
+    @Scheduled(fixedDelayString = "${change-feed.stamp-sweep-interval-ms:5000}")
+    public void stampPending() {
+        int stamped = stamp();
+        if (stamped > 0) {
+            System.out.println("[CHANGE-FEED] Sweep stamped " + stamped + " changed rows");
+        }
+    }
+
+    int stamp() {
+        Integer stamped = stampTransaction().execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> { }, STAMPER_LOCK_KEY);
+            int rows = 0;
+            for (String table : STAMPED_TABLES) {
+                rows += jdbcTemplate.update(STAMP.formatted(table));
+            }
+            return rows;
+        });
+        return stamped != null ? stamped : 0;
+    }
+
+    // afterCommit runs while the committed transaction is still bound, so stamping needs its own
+    private TransactionTemplate stampTransaction() {
+        if (stampTransaction == null) {
+            TransactionTemplate template = new TransactionTemplate(transactionManagerProvider.getObject());
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            stampTransaction = template;
+        }
+        return stampTransaction;
+    }
+
+    // Plain JDBC because JPA lifecycle callbacks must not use the EntityManager
+    public void recordDeletion(ChangeEntityType entityType, Long entityId, Long employeeId) {
+        jdbcTemplate.update(
+                "INSERT INTO change_tombstones (entity_type, entity_id, employee_id, deleted_at) " +
+                "VALUES (?, ?, ?, ?)",
+                entityType.name(), entityId, employeeId, Timestamp.from(Instant.now()));
+        stampAfterCommit();
+    }
+}
@@ -0,0 +1,24 @@
+package com.school.management.repository;
+
+import com.school.management.entity.ChangeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeTombstoneRepository extends JpaRepository<ChangeTombstone, Long> {
+
+    List<ChangeTombstone> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long since, Pageable pageable);
+
+    // Employee deletions plus deletions of the given employee's own leave requests
+    @Query("select t from ChangeTombstone t where t.changeSeq > :since " +
+            "and (t.entityType = com.school.management.entity.ChangeEntityType.EMPLOYEE or t.employeeId = :employeeId) " +
+            "order by t.changeSeq")
+    List<ChangeTombstone> findVisibleToEmployeeSince(@Param("since") long since,
+                                                     @Param("employeeId") Long employeeId,
+                                                     Pageable pageable);
+}
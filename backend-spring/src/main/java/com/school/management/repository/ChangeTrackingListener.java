@@ -0,0 +1,40 @@
+package com.school.management.repository;
+
+import com.school.management.entity.ChangeEntityType;
+import com.school.management.entity.Employee;
+import com.school.management.entity.LeaveRequest;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Clears change_seq on every insert/update so ChangeSequence stamps the row after commit, and leaves
+// a tombstone on delete, whichever code path (service, cascade, registration) performs the write
+@Component
+@RequiredArgsConstructor
+public class ChangeTrackingListener {
+
+    private final ChangeSequence changeSequence;
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Object entity) {
+        if (entity instanceof LeaveRequest leaveRequest) {
+            leaveRequest.setChangeSeq(null);
+        } else if (entity instanceof Employee employee) {
+            employee.setChangeSeq(null);
+        }
+        changeSequence.stampAfterCommit();
+    }
+
+    @PreRemove
+    public void tombstone(Object entity) {
+        if (entity instanceof LeaveRequest leaveRequest) {
+            Long employeeId = leaveRequest.getEmployee() != null ? leaveRequest.getEmployee().getId() : null;
+            changeSequence.recordDeletion(ChangeEntityType.LEAVE_REQUEST, leaveRequest.getId(), employeeId);
+        } else if (entity instanceof Employee employee) {
+            changeSequence.recordDeletion(ChangeEntityType.EMPLOYEE, employee.getId(), employee.getId());
+        }
+    }
+}
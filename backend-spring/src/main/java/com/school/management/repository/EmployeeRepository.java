@@ -1,12 +1,42 @@
 package com.school.management.repository;
 
 import com.school.management.entity.Employee;
+import com.school.management.payload.EmployeeView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
     Optional<Employee> findByEmployeeId(String employeeId);
+
+    @Query("select e.employeeId from Employee e where e.employeeId in :employeeIds")
+    List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+
+    String VIEW_SELECT = "select new com.school.management.payload.EmployeeView(" +
+            "e.id, e.name, e.employeeId, e.department, e.position, e.contactInfo, e.startDate, e.changeSeq) " +
+            "from Employee e ";
+
+    // The employee list: one statement, and no leave requests to load per employee
+    @Query(VIEW_SELECT + "order by e.id")
+    List<EmployeeView> findAllViews();
+
+    // Delta-sync page: rows written after the cursor
+    @Query(VIEW_SELECT + "where e.changeSeq > :since order by e.changeSeq")
+    List<EmployeeView> findChangedSince(@Param("since") long since, Pageable pageable);
+
+    @Query("select e.department as department, count(e) as total from Employee e group by e.department")
+    List<DepartmentCount> countByDepartment();
+
+    interface DepartmentCount {
+        String getDepartment();
+        long getTotal();
+    }
 }
\ No newline at end of file
@@ -3,14 +3,85 @@ package com.school.management.repository;
 import com.school.management.entity.LeaveRequest;
 import com.school.management.entity.Employee;
 import com.school.management.entity.LeaveStatus;
+import com.school.management.payload.LeaveRequestView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestRepositoryCustom {
     List<LeaveRequest> findByEmployee(Employee employee);
 
     List<LeaveRequest> findByStatus(LeaveStatus status);
-}
\ No newline at end of file
+
+    // Read-model queries: one statement each, employee columns pulled in by the join
+    String VIEW_SELECT = "select new com.school.management.payload.LeaveRequestView(" +
+            "lr.id, lr.leaveType, lr.startDate, lr.endDate, lr.reason, lr.status, lr.version, lr.changeSeq, " +
+            "e.id, e.name, e.employeeId, e.department, e.position) " +
+            "from LeaveRequest lr join lr.employee e ";
+
+    @Query(VIEW_SELECT + "order by lr.id")
+    List<LeaveRequestView> findAllViews();
+
+    @Query(VIEW_SELECT + "where lr.status = :status order by lr.id")
+    List<LeaveRequestView> findViewsByStatus(@Param("status") LeaveStatus status);
+
+    // Filters on the leave_requests.employee_id FK; the employee does not have to be loaded first
+    @Query(VIEW_SELECT + "where lr.employee.id = :employeeId order by lr.id")
+    List<LeaveRequestView> findViewsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query("select lr.status from LeaveRequest lr where lr.id = :id")
+    Optional<LeaveStatus> findStatusById(@Param("id") Long id);
+
+    // Explicit historical range; callers add the archived part from ArchivedLeaveRequestRepository
+    @Query(VIEW_SELECT + "where lr.employee.id = :employeeId and lr.endDate >= :from and lr.startDate <= :to " +
+            "order by lr.startDate")
+    List<LeaveRequestView> findViewsByEmployeeIdInRange(@Param("employeeId") Long employeeId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    // Delta-sync page: rows written after the cursor
+    @Query(VIEW_SELECT + "where lr.changeSeq > :since order by lr.changeSeq")
+    List<LeaveRequestView> findChangedSince(@Param("since") long since, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where lr.changeSeq > :since and lr.employee.id = :employeeId order by lr.changeSeq")
+    List<LeaveRequestView> findChangedSinceForEmployee(@Param("since") long since,
+                                                   @Param("employeeId") Long employeeId,
+                                                   Pageable pageable);
+
+    // Department and dates of the given requests, for the minimum-staffing check
+    @Query("select lr.id as id, e.department as department, lr.startDate as startDate, lr.endDate as endDate, " +
+            "lr.status as status from LeaveRequest lr join lr.employee e where lr.id in :ids")
+    List<StaffingInfo> findStaffingInfoByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select lr.id as id, e.department as department, lr.startDate as startDate, lr.endDate as endDate, " +
+            "lr.status as status from LeaveRequest lr join lr.employee e " +
+            "where lr.status = com.school.management.entity.LeaveStatus.APPROVED and lr.endDate >= :from")
+    List<StaffingInfo> findApprovedEndingOnOrAfter(@Param("from") LocalDate from);
+
+    // One row per (employee, status) pair; used to reconcile the dashboard counters
+    @Query("select lr.employee.id as employeeId, lr.status as status, count(lr) as total " +
+            "from LeaveRequest lr group by lr.employee.id, lr.status")
+    List<StatusCount> countByEmployeeAndStatus();
+
+    interface StaffingInfo {
+        Long getId();
+        String getDepartment();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        LeaveStatus getStatus();
+    }
+
+    interface StatusCount {
+        Long getEmployeeId();
+        LeaveStatus getStatus();
+        long getTotal();
+    }
+}
@@ -0,0 +1,32 @@
+package com.school.management.repository;
+
+import com.school.management.entity.LeaveStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Set-based writes that Spring Data derived queries cannot express
+public interface LeaveRequestRepositoryCustom {
+
+    // Move every PENDING request in ids to status; rows in any other status are left untouched
+    List<UpdatedRow> updatePendingStatus(Collection<Long> ids, LeaveStatus status);
+
+    // The subset of ids that exist in leave_requests
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // Move one request to status only if it is currently in one of the given statuses.
+    // Empty when the row does not exist or was in any other status.
+    Optional<TransitionedRow> transitionStatus(Long id, Collection<LeaveStatus> from, LeaveStatus to);
+
+    // Move up to batchSize decided requests that ended before cutoff into leave_requests_archive,
+    // in one transaction; returns how many rows were moved
+    int archiveEndedBefore(LocalDate cutoff, int batchSize);
+
+    record UpdatedRow(Long id, Long employeeId) {
+    }
+
+    record TransitionedRow(Long id, Long employeeId, LeaveStatus previousStatus, Long version) {
+    }
+}
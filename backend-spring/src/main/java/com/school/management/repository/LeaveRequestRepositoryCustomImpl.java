@@ -0,0 +1,109 @@
+package com.school.management.repository;
+
+import com.school.management.entity.LeaveStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class LeaveRequestRepositoryCustomImpl implements LeaveRequestRepositoryCustom {
+
+    // Keeps the IN list well below driver bind-parameter limits
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_PENDING_STATUS =
+            "UPDATE leave_requests SET status = :status, version = COALESCE(version, 0) + 1, " +
+            "change_seq = NULL " +
+            "WHERE status = 'PENDING' AND id IN (:ids) " +
+            "RETURNING id, employee_id";
+
+    private static final String FIND_EXISTING_IDS =
+            "SELECT id FROM leave_requests WHERE id IN (:ids)";
+
+    // The self-join on a locked snapshot lets RETURNING report the status the row had before the update
+    private static final String TRANSITION_STATUS =
+            "UPDATE leave_requests lr SET status = :to, version = COALESCE(lr.version, 0) + 1, " +
+            "change_seq = NULL " +
+            "FROM (SELECT id, status FROM leave_requests WHERE id = :id FOR UPDATE) old " +
+            "WHERE lr.id = old.id AND old.status IN (:from) " +
+            "RETURNING lr.id, lr.employee_id, old.status AS previous_status, lr.version";
+
+    // Delete-and-insert in one statement; SKIP LOCKED leaves rows that are being edited for the next run.
+    // Goes around JPA on purpose: archiving is not a deletion, so no tombstones or events.
+    private static final String ARCHIVE_ENDED_BEFORE =
+            "WITH moved AS (" +
+            "DELETE FROM leave_requests WHERE id IN (" +
+            "SELECT id FROM leave_requests WHERE end_date < :cutoff AND status <> 'PENDING' " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, leave_type, start_date, end_date, reason, status, version, change_seq, employee_id) " +
+            "INSERT INTO leave_requests_archive " +
+            "(id, leave_type, start_date, end_date, reason, status, version, change_seq, employee_id, archived_at) " +
+            "SELECT id, leave_type, start_date, end_date, reason, status, version, change_seq, employee_id, now() " +
+            "FROM moved";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+
+    @Override
+    public List<UpdatedRow> updatePendingStatus(Collection<Long> ids, LeaveStatus status) {
+        List<UpdatedRow> updated = new ArrayList<>();
+        if (ids.isEmpty()) return updated;
+        changeSequence.stampAfterCommit();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<Long> batch = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("status", status.name())
+                    .addValue("ids", batch);
+            updated.addAll(jdbcTemplate.query(UPDATE_PENDING_STATUS, params,
+                    (rs, rowNum) -> new UpdatedRow(rs.getLong("id"), rs.getLong("employee_id"))));
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        List<Long> existing = new ArrayList<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<Long> batch = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            existing.addAll(jdbcTemplate.queryForList(FIND_EXISTING_IDS,
+                    new MapSqlParameterSource("ids", batch), Long.class));
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<TransitionedRow> transitionStatus(Long id, Collection<LeaveStatus> from, LeaveStatus to) {
+        if (from.isEmpty()) return Optional.empty();
+        changeSequence.stampAfterCommit();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("to", to.name())
+                .addValue("from", from.stream().map(Enum::name).toList());
+        return jdbcTemplate.query(TRANSITION_STATUS, params, (rs, rowNum) -> new TransitionedRow(
+                        rs.getLong("id"),
+                        rs.getLong("employee_id"),
+                        LeaveStatus.valueOf(rs.getString("previous_status")),
+                        rs.getLong("version")))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int archiveEndedBefore(LocalDate cutoff, int batchSize) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Date.valueOf(cutoff))
+                .addValue("batchSize", batchSize);
+        return jdbcTemplate.update(ARCHIVE_ENDED_BEFORE, params);
+    }
+}
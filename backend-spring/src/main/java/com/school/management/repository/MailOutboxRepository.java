@@ -0,0 +1,24 @@
+package com.school.management.repository;
+
+import com.school.management.entity.MailOutboxMessage;
+import com.school.management.entity.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED: several app instances can drain the outbox without picking the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<MailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            MailOutboxStatus status, Instant now, Pageable pageable);
+}
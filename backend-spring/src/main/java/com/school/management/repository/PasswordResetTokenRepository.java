@@ -0,0 +1,35 @@
+package com.school.management.repository;
+
+import com.school.management.entity.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    // 1 for the caller that actually removed the row, 0 for anyone racing it
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.id = :id")
+    int deleteAndCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // One batch per transaction so the sweeper never holds many row locks at once
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN (" +
+            "SELECT id FROM password_reset_tokens WHERE expires_at <= :now LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
+}
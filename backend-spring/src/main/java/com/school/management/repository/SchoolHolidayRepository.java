@@ -0,0 +1,19 @@
+package com.school.management.repository;
+
+import com.school.management.entity.SchoolHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SchoolHolidayRepository extends JpaRepository<SchoolHoliday, Long> {
+
+    List<SchoolHoliday> findAllByOrderByStartDateAsc();
+
+    @Query("select x from SchoolHoliday x where x.endDate >= :from and x.startDate <= :to")
+    List<SchoolHoliday> findOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
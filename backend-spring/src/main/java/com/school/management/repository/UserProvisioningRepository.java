@@ -0,0 +1,98 @@
+package com.school.management.repository;
+
+import com.school.management.entity.Employee;
+import com.school.management.entity.Role;
+import com.school.management.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk user provisioning.
+ *
+ * Hibernate cannot batch inserts into IDENTITY tables, because it needs each generated key
+ * before it can write the next row. Here the ids are drawn from the identity sequences up front
+ * in one query, so employees, users and user_roles each go out as a single JDBC batch.
+ * Callers run these inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserProvisioningRepository {
+
+    private static final String ALLOCATE_IDS =
+            "SELECT nextval(pg_get_serial_sequence(:table, 'id')) FROM generate_series(1, :count)";
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (id, name, employee_id, department, position, contact_info, start_date) " +
+            "VALUES (:id, :name, :employeeId, :department, :position, :contactInfo, :startDate)";
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, password, email, employee_id) " +
+            "VALUES (:id, :username, :password, :email, :employeeId)";
+
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+
+    // Assigns ids to the employees and writes them in one batch
+    public void insertEmployees(List<Employee> employees) {
+        if (employees.isEmpty()) return;
+        List<Long> ids = allocateIds("employees", employees.size());
+        SqlParameterSource[] batch = new SqlParameterSource[employees.size()];
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            employee.setId(ids.get(i));
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", employee.getId())
+                    .addValue("name", employee.getName())
+                    .addValue("employeeId", employee.getEmployeeId())
+                    .addValue("department", employee.getDepartment())
+                    .addValue("position", employee.getPosition())
+                    .addValue("contactInfo", employee.getContactInfo())
+                    .addValue("startDate", Date.valueOf(employee.getStartDate()));
+        }
+        // change_seq stays NULL until the batch commits, like every other change_seq writer
+        changeSequence.stampAfterCommit();
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, batch);
+    }
+
+    // Assigns ids to the users and writes them and their roles in one batch each
+    public void insertUsers(List<User> users) {
+        if (users.isEmpty()) return;
+        List<Long> ids = allocateIds("users", users.size());
+        SqlParameterSource[] batch = new SqlParameterSource[users.size()];
+        List<SqlParameterSource> roles = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(ids.get(i));
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", user.getId())
+                    .addValue("username", user.getUsername())
+                    .addValue("password", user.getPassword())
+                    .addValue("email", user.getEmail())
+                    .addValue("employeeId", user.getEmployee() != null ? user.getEmployee().getId() : null);
+            for (Role role : user.getRoles()) {
+                roles.add(new MapSqlParameterSource()
+                        .addValue("userId", user.getId())
+                        .addValue("roleId", role.getId()));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, batch);
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roles.toArray(new SqlParameterSource[0]));
+    }
+
+    private List<Long> allocateIds(String table, int count) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("table", table)
+                .addValue("count", count);
+        return jdbcTemplate.queryForList(ALLOCATE_IDS, params, Long.class);
+    }
+}
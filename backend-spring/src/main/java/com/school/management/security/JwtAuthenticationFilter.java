@@ -1,5 +1,6 @@
 package com.school.management.security;
 
+import com.school.management.observability.RequestTimings;
 import com.school.management.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -38,6 +39,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         final String authHeader = request.getHeader("Authorization");
 
         String username = null;
@@ -58,6 +60,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        RequestTimings.record(RequestTimings.Phase.AUTH, System.nanoTime() - start);
         filterChain.doFilter(request, response);
     }
 }
@@ -1,17 +1,23 @@
 package com.school.management.security;
 
 import com.school.management.entity.User;
+import com.school.management.observability.jfr.JwtVerificationEvent;
+import com.school.management.observability.jfr.RequestEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
@@ -23,29 +29,43 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    private final Timer generateTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
+
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.generateTimer = Timer.builder("jwt.generate")
+                .description("Time to build and sign a token")
+                .register(meterRegistry);
+        this.verifyValidTimer = verifyTimer(meterRegistry, "valid");
+        this.verifyInvalidTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("Time to parse a token and check its signature and expiry")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     public String generateToken(User user) {
         System.out.println("[DEBUG] JwtUtils: Generating token for user: " + user.getUsername());
-        return Jwts.builder()
+        return generateTimer.record(() -> Jwts.builder()
                 .setSubject(user.getUsername())
                 .claim("roles", user.getRoles().stream().map(r -> r.getName()).collect(Collectors.joining(",")))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parse(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token);
+            parse(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             System.out.println("[DEBUG] JwtUtils: Token validation failed: " + e.getMessage());
@@ -53,6 +73,25 @@ public class JwtUtils {
         }
     }
 
+    private Jws<Claims> parse(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token);
+            verifyValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.valid = true;
+            // The filter has not authenticated anyone yet, so the role comes from the token itself
+            event.userRole = RequestEvent.roles(jws.getBody().get("roles", String.class));
+            return jws;
+        } catch (RuntimeException e) {
+            verifyInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
     private Key getSignInKey() {
         byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
         return Keys.hmacShaKeyFor(keyBytes);
@@ -3,22 +3,27 @@ package com.school.management.service;
 import com.school.management.entity.User;
 import com.school.management.entity.Employee;
 import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.observability.jfr.PasswordHashEvent;
 import com.school.management.payload.AuthRequest;
 import com.school.management.payload.RegisterRequest;
 import com.school.management.repository.UserRepository;
 import com.school.management.repository.EmployeeRepository;
-import com.school.management.repository.RoleRepository;
 import com.school.management.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -26,10 +31,13 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final JwtUtils jwtUtils;
     private final PasswordEncoder passwordEncoder;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
+    private final PasswordResetTokenService passwordResetTokenService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Helper result class for authentication result (token + user)
     public static class AuthResult {
@@ -43,7 +51,7 @@ public class AuthService {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isEmpty()) return null;
         User user = userOpt.get();
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordMatches(password, user.getPassword())) {
             return null;
         }
         return jwtUtils.generateToken(user);
@@ -53,7 +61,7 @@ public class AuthService {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isEmpty()) return null;
         User user = userOpt.get();
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordMatches(password, user.getPassword())) {
             return null;
         }
         String token = jwtUtils.generateToken(user);
@@ -61,17 +69,19 @@ public class AuthService {
     }
 
     // Register a new user (with roles!)
+    @Transactional
     public User registerNewUser(RegisterRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) return null;
         // Optionally check for duplicate email, etc.
 
+        // Role references come from the registry, no lookups per role
         Set<Role> userRoles = new HashSet<>();
         if (request.getRoles() == null || request.getRoles().isEmpty()) {
             // Default: EMPLOYEE
-            userRoles.add(roleRepository.findByName("EMPLOYEE").orElseThrow());
+            userRoles.add(roleRegistry.reference(RoleName.EMPLOYEE));
         } else {
             for (String roleName : request.getRoles()) {
-                userRoles.add(roleRepository.findByName(roleName.toUpperCase()).orElseThrow());
+                userRoles.add(roleRegistry.reference(RoleName.parse(roleName).orElseThrow()));
             }
         }
 
@@ -87,11 +97,13 @@ public class AuthService {
                     .startDate(request.getStartDate())
                     .build();
             employee = employeeRepository.save(employee);
+            // Same event EmployeeService publishes, so headcounts, dashboard and streams see the new employee
+            eventPublisher.publishEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, employee.getId()));
         }
 
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodePassword(request.getPassword()))
                 .email(request.getEmail())
                 .roles(userRoles)
                 .employee(employee)
@@ -107,48 +119,34 @@ public class AuthService {
     }
 
     // --- Password Reset ---
+    // The token and its email are committed together; delivery happens in MailOutboxDispatcher
+    @Transactional
     public boolean initiatePasswordReset(String email) {
         if (email == null || !email.contains("@")) return false;
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) return false;
-        String token = java.util.UUID.randomUUID().toString();
-        java.time.Instant expiry = java.time.Instant.now().plusSeconds(60 * 60); // 1h expiry
-        user.setResetToken(token);
-        user.setResetTokenExpiry(expiry);
-        userRepository.save(user);
+        String token = passwordResetTokenService.issue(user.getId());
         // Compose reset email
         String link = "http://localhost:3000/reset-password?token=" + token;
         String subject = "Password Reset Request";
-        String msg = "To reset your password, click the link below (valid for 1 hour):\n" + link;
-        sendMail(user.getEmail(), subject, msg);
+        String msg = "To reset your password, click the link below (valid for "
+                + passwordResetTokenService.getTtl().toMinutes() + " minutes):\n" + link;
+        mailOutboxService.enqueue(user.getEmail(), subject, msg);
         return true;
     }
 
+    @Transactional
     public boolean resetPassword(String token, String newPassword) {
         if (token == null || newPassword == null || newPassword.length() < 6) return false;
-        User user = userRepository.findByResetToken(token).orElse(null);
+        Long userId = passwordResetTokenService.consume(token).orElse(null);
+        if (userId == null) return false;
+        User user = userRepository.findById(userId).orElse(null);
         if (user == null) return false;
-        if (user.getResetTokenExpiry() == null || user.getResetTokenExpiry().isBefore(java.time.Instant.now())) return false;
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
+        user.setPassword(encodePassword(newPassword));
         userRepository.save(user);
         return true;
     }
 
-    private void sendMail(String to, String subject, String body) {
-        try {
-            SimpleMailMessage mailMsg = new SimpleMailMessage();
-            mailMsg.setTo(to);
-            mailMsg.setSubject(subject);
-            mailMsg.setText(body);
-            mailSender.send(mailMsg);
-        } catch (Exception e) {
-            // Log error
-            System.out.println("Email send failed: " + e.getMessage());
-        }
-    }
-
     // Change password for authenticated user
     public boolean changePassword(String username, String currentPassword, String newPassword) {
         if (username == null || currentPassword == null || newPassword == null) {
@@ -167,14 +165,38 @@ public class AuthService {
         User user = userOpt.get();
 
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordMatches(currentPassword, user.getPassword())) {
             return false;
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(encodePassword(newPassword));
         userRepository.save(user);
 
         return true;
     }
+
+    private boolean passwordMatches(String rawPassword, String encodedPassword) {
+        return timedHash("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private String encodePassword(String rawPassword) {
+        return timedHash("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    // BCrypt dominates login and password change latency. One wrapper per call feeds both the
+    // auth.bcrypt timer and the PasswordHash JFR event.
+    private <T> T timedHash(String operation, Supplier<T> hash) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.operation = operation;
+        event.begin();
+        long start = System.nanoTime();
+        T result = hash.get();
+        meterRegistry.timer("auth.bcrypt", "operation", operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (result instanceof Boolean matched) {
+            event.matched = matched;
+        }
+        event.finish();
+        return result;
+    }
 }
@@ -0,0 +1,267 @@
+package com.school.management.service;
+
+import com.school.management.entity.Employee;
+import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
+import com.school.management.entity.User;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.payload.BulkRegisterResult;
+import com.school.management.payload.RegisterRequest;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.UserProvisioningRepository;
+import com.school.management.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Creates many users (and their employee records) in one call, for onboarding a whole school.
+ *
+ * BCrypt is deliberately slow, so the passwords are hashed in parallel on a dedicated fork-join
+ * pool before any transaction is opened. Rows are then written in chunks of
+ * {@code auth.bulk-register.chunk-size}, one transaction and one JDBC batch per table each.
+ * A chunk that fails (e.g. a username taken concurrently) is reported as FAILED without
+ * affecting the chunks around it.
+ */
+@Service
+public class BulkUserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserProvisioningRepository provisioningRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+    private final int maxSize;
+
+    public BulkUserProvisioningService(UserRepository userRepository,
+                                       EmployeeRepository employeeRepository,
+                                       UserProvisioningRepository provisioningRepository,
+                                       RoleRegistry roleRegistry,
+                                       PasswordEncoder passwordEncoder,
+                                       Validator validator,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${auth.bulk-register.hash-parallelism:0}") int hashParallelism,
+                                       @Value("${auth.bulk-register.chunk-size:200}") int chunkSize,
+                                       @Value("${auth.bulk-register.max-size:2000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
+        this.provisioningRepository = provisioningRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        // 0 = one worker per core; hashing is pure CPU, more threads would only contend
+        int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("password-hasher-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // One result per request, in request order
+    public List<BulkRegisterResult> register(List<RegisterRequest> requests) {
+        BulkRegisterResult[] results = new BulkRegisterResult[requests.size()];
+        Map<Set<String>, Set<Role>> resolvedRoles = new HashMap<>();
+        List<Pending> accepted = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> employeeCodes = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            RegisterRequest request = requests.get(i);
+            BulkRegisterResult.Outcome invalid = validate(request);
+            if (invalid != null) {
+                results[i] = new BulkRegisterResult(i, request == null ? null : request.getUsername(), invalid);
+                continue;
+            }
+            // Requests mostly share a handful of role sets: resolve each distinct set once
+            Set<Role> roles = resolvedRoles.computeIfAbsent(roleNames(request), this::resolveRoles);
+            if (roles.isEmpty()) {
+                results[i] = new BulkRegisterResult(i, request.getUsername(), BulkRegisterResult.Outcome.UNKNOWN_ROLE);
+            } else if (!usernames.add(request.getUsername())) {
+                results[i] = new BulkRegisterResult(i, request.getUsername(), BulkRegisterResult.Outcome.USERNAME_TAKEN);
+            } else if (hasEmployee(request) && !employeeCodes.add(request.getEmployeeId().toString())) {
+                results[i] = new BulkRegisterResult(i, request.getUsername(), BulkRegisterResult.Outcome.EMPLOYEE_ID_TAKEN);
+            } else {
+                accepted.add(new Pending(i, request, roles));
+            }
+        }
+
+        // One query each for everything that already exists
+        Set<String> takenUsernames = usernames.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> takenCodes = employeeCodes.isEmpty() ? Set.of() : new HashSet<>(employeeRepository.findExistingEmployeeIds(employeeCodes));
+        List<Pending> toCreate = new ArrayList<>();
+        for (Pending pending : accepted) {
+            if (takenUsernames.contains(pending.request.getUsername())) {
+                results[pending.index] = new BulkRegisterResult(pending.index, pending.request.getUsername(), BulkRegisterResult.Outcome.USERNAME_TAKEN);
+            } else if (hasEmployee(pending.request) && takenCodes.contains(pending.request.getEmployeeId().toString())) {
+                results[pending.index] = new BulkRegisterResult(pending.index, pending.request.getUsername(), BulkRegisterResult.Outcome.EMPLOYEE_ID_TAKEN);
+            } else {
+                toCreate.add(pending);
+            }
+        }
+
+        List<String> hashes = hashPasswords(toCreate.stream().map(p -> p.request.getPassword()).toList());
+        for (int i = 0; i < toCreate.size(); i++) {
+            toCreate.get(i).passwordHash = hashes.get(i);
+        }
+
+        int created = 0;
+        for (int from = 0; from < toCreate.size(); from += chunkSize) {
+            List<Pending> chunk = toCreate.subList(from, Math.min(from + chunkSize, toCreate.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk));
+                created += chunk.size();
+                for (Pending pending : chunk) {
+                    results[pending.index] = new BulkRegisterResult(pending.index, pending.request.getUsername(),
+                            BulkRegisterResult.Outcome.CREATED, pending.user.getId(),
+                            pending.user.getEmployee() != null ? pending.user.getEmployee().getId() : null);
+                }
+            } catch (DataIntegrityViolationException e) {
+                System.out.println("[BULK-REGISTER] Chunk of " + chunk.size() + " rolled back: " + e.getMostSpecificCause().getMessage());
+                for (Pending pending : chunk) {
+                    results[pending.index] = new BulkRegisterResult(pending.index, pending.request.getUsername(), BulkRegisterResult.Outcome.FAILED);
+                }
+            }
+        }
+        System.out.println("[BULK-REGISTER] Created " + created + " of " + requests.size() + " requested users");
+        return List.of(results);
+    }
+
+    // Fans the hashes out over the pool; results keep the input order
+    List<String> hashPasswords(List<String> passwords) {
+        List<ForkJoinTask<String>> tasks = new ArrayList<>(passwords.size());
+        for (String password : passwords) {
+            tasks.add(hashingPool.submit(() -> passwordEncoder.encode(password)));
+        }
+        List<String> hashes = new ArrayList<>(passwords.size());
+        for (ForkJoinTask<String> task : tasks) {
+            hashes.add(task.join());
+        }
+        return hashes;
+    }
+
+    private void insertChunk(List<Pending> chunk) {
+        List<Employee> employees = new ArrayList<>();
+        List<User> users = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            RegisterRequest request = pending.request;
+            Employee employee = null;
+            if (hasEmployee(request)) {
+                employee = employee(request);
+                employees.add(employee);
+            }
+            pending.user = User.builder()
+                    .username(request.getUsername())
+                    .password(pending.passwordHash)
+                    .email(request.getEmail())
+                    .roles(pending.roles)
+                    .employee(employee)
+                    .build();
+            users.add(pending.user);
+        }
+        provisioningRepository.insertEmployees(employees);
+        provisioningRepository.insertUsers(users);
+        // Delivered after commit, like the events from EmployeeService
+        for (Employee employee : employees) {
+            eventPublisher.publishEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, employee.getId()));
+        }
+    }
+
+    // Same constraints as single registration: @Valid on the request, then the entity validation
+    // JPA runs when the employee is persisted, which the JDBC inserts here would skip
+    private BulkRegisterResult.Outcome validate(RegisterRequest request) {
+        if (request == null || !validator.validate(request).isEmpty()
+                || request.getPassword().length() < 6) {
+            return BulkRegisterResult.Outcome.INVALID;
+        }
+        // Name and employee id together create an employee; start_date is NOT NULL as well
+        if (hasEmployee(request) && (request.getStartDate() == null
+                || !validator.validate(employee(request)).isEmpty())) {
+            return BulkRegisterResult.Outcome.INVALID;
+        }
+        return null;
+    }
+
+    private static Employee employee(RegisterRequest request) {
+        return Employee.builder()
+                .employeeId(request.getEmployeeId().toString())
+                .name(request.getName())
+                .department(request.getDepartment())
+                .position(request.getPosition())
+                .contactInfo(request.getContactInfo())
+                .startDate(request.getStartDate())
+                .build();
+    }
+
+    private static boolean hasEmployee(RegisterRequest request) {
+        return request.getName() != null && request.getEmployeeId() != null;
+    }
+
+    private static Set<String> roleNames(RegisterRequest request) {
+        return request.getRoles() == null || request.getRoles().isEmpty()
+                ? Set.of(RoleName.EMPLOYEE.name())
+                : request.getRoles();
+    }
+
+    // Empty when any name is unknown
+    private Set<Role> resolveRoles(Collection<String> names) {
+        Set<Role> roles = new HashSet<>();
+        for (String name : names) {
+            RoleName roleName = RoleName.parse(name).orElse(null);
+            if (roleName == null) return Set.of();
+            roles.add(roleRegistry.reference(roleName));
+        }
+        return roles;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private static final class Pending {
+        private final int index;
+        private final RegisterRequest request;
+        private final Set<Role> roles;
+        private String passwordHash;
+        private User user;
+
+        Pending(int index, RegisterRequest request, Set<Role> roles) {
+            this.index = index;
+            this.request = request;
+            this.roles = roles;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.school.management.service;
+
+import com.school.management.entity.ChangeTombstone;
+import com.school.management.payload.ChangeFeed;
+import com.school.management.payload.EmployeeView;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.repository.ChangeTombstoneRepository;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ChangeTombstoneRepository changeTombstoneRepository;
+
+    /**
+     * Everything written after {@code since}, oldest first, at most {@code limit} rows in total.
+     * All three sources share one sequence, so each is read up to the limit and the merged
+     * result is cut at the limit-th smallest sequence value; that value becomes the next cursor.
+     * A null {@code employeeId} means the caller may see every leave request.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeed changesSince(long since, int limit, Long employeeId) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // One extra row per source tells us whether anything is left after this page
+        Pageable page = PageRequest.of(0, pageSize + 1);
+
+        List<EmployeeView> employees = employeeRepository.findChangedSince(since, page);
+        List<LeaveRequestView> leaveRequests = employeeId == null
+                ? leaveRequestRepository.findChangedSince(since, page)
+                : leaveRequestRepository.findChangedSinceForEmployee(since, employeeId, page);
+        List<ChangeTombstone> tombstones = employeeId == null
+                ? changeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, page)
+                : changeTombstoneRepository.findVisibleToEmployeeSince(since, employeeId, page);
+
+        List<EmployeeView> pageEmployees = new ArrayList<>();
+        List<LeaveRequestView> pageLeaveRequests = new ArrayList<>();
+        List<ChangeFeed.Deletion> deleted = new ArrayList<>();
+        int e = 0, l = 0, t = 0;
+        long cursor = since;
+        for (int taken = 0; taken < pageSize; taken++) {
+            long nextEmployee = e < employees.size() ? employees.get(e).getChangeSeq() : Long.MAX_VALUE;
+            long nextLeave = l < leaveRequests.size() ? leaveRequests.get(l).getChangeSeq() : Long.MAX_VALUE;
+            long nextTombstone = t < tombstones.size() ? tombstones.get(t).getChangeSeq() : Long.MAX_VALUE;
+            long next = Math.min(nextEmployee, Math.min(nextLeave, nextTombstone));
+            if (next == Long.MAX_VALUE) break;
+
+            if (next == nextEmployee) {
+                pageEmployees.add(employees.get(e++));
+            } else if (next == nextLeave) {
+                pageLeaveRequests.add(leaveRequests.get(l++));
+            } else {
+                ChangeTombstone tombstone = tombstones.get(t++);
+                deleted.add(new ChangeFeed.Deletion(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getChangeSeq()));
+            }
+            cursor = next;
+        }
+        boolean hasMore = e < employees.size() || l < leaveRequests.size() || t < tombstones.size();
+        return new ChangeFeed(cursor, hasMore, pageEmployees, pageLeaveRequests, deleted);
+    }
+}
@@ -0,0 +1,177 @@
+package com.school.management.service;
+
+import com.school.management.event.EmployeeEvent;
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.payload.ChangeNotification;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed leave request and employee changes to connected clients over SSE.
+ * Publishing never blocks on a client: every subscriber has a bounded buffer, drained by at
+ * most one sender task of its own, so a client that stops reading only ever holds up its own
+ * task. A subscriber that falls a full buffer behind gets a single "resync" event instead of
+ * the backlog and is expected to refetch. One whose send has been stuck for longer than
+ * {@code events.stream.send-timeout-ms} is disconnected on the next heartbeat.
+ */
+@Service
+public class ChangeStreamService {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+
+    public ChangeStreamService(@Value("${events.stream.buffer-size:256}") int bufferSize,
+                               @Value("${events.stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${events.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        // Unbounded, but each subscriber has at most one task in it (see draining)
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // seesAll: managers and admins; otherwise only leave requests of employeeId are delivered
+    public SseEmitter subscribe(boolean seesAll, Long employeeId) {
+        return register(new SseEmitter(timeoutMs), seesAll, employeeId);
+    }
+
+    SseEmitter register(SseEmitter emitter, boolean seesAll, Long employeeId) {
+        Subscriber subscriber = new Subscriber(emitter, seesAll, employeeId, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestEvent(LeaveRequestEvent event) {
+        ChangeNotification notification = new ChangeNotification("leaveRequest", event.getType().name(),
+                event.getLeaveRequestId(), event.getEmployeeId(), event.getPreviousStatus(), event.getStatus());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.seesAll || (subscriber.employeeId != null && subscriber.employeeId.equals(event.getEmployeeId()))) {
+                offer(subscriber, notification);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeEvent(EmployeeEvent event) {
+        ChangeNotification notification = new ChangeNotification("employee", event.getType().name(),
+                event.getEmployeeId(), event.getEmployeeId(), null, null);
+        // The employee directory is visible to every role
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, notification);
+        }
+    }
+
+    // Keeps proxies from closing idle connections and flushes out clients that went away or stopped reading
+    @Scheduled(fixedDelayString = "${events.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince.get();
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                drop(subscriber);
+            } else {
+                subscriber.heartbeatDue.set(true);
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void offer(Subscriber subscriber, ChangeNotification notification) {
+        if (!subscriber.buffer.offer(notification)) {
+            subscriber.buffer.clear();
+            subscriber.overflowed.set(true);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                if (subscriber.heartbeatDue.getAndSet(false)) {
+                    send(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+                if (subscriber.overflowed.getAndSet(false)) {
+                    send(subscriber, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                }
+                ChangeNotification next;
+                while ((next = subscriber.buffer.poll()) != null) {
+                    send(subscriber, SseEmitter.event().name("change").data(next, MediaType.APPLICATION_JSON));
+                }
+                subscriber.draining.set(false);
+                // An offer may have landed between the last poll and the flag reset
+            } while ((!subscriber.buffer.isEmpty() || subscriber.overflowed.get() || subscriber.heartbeatDue.get())
+                    && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+        }
+    }
+
+    // Marks the send as in progress so heartbeat() can tell a stuck client from an idle one
+    private static void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendingSince.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendingSince.set(0);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.buffer.clear();
+        subscriber.emitter.completeWithError(new IOException("Subscriber disconnected"));
+    }
+
+    private record Subscriber(SseEmitter emitter, boolean seesAll, Long employeeId,
+                              BlockingQueue<ChangeNotification> buffer, AtomicBoolean draining, AtomicBoolean overflowed,
+                              AtomicBoolean heartbeatDue, AtomicLong sendingSince) {
+        Subscriber(SseEmitter emitter, boolean seesAll, Long employeeId, BlockingQueue<ChangeNotification> buffer) {
+            this(emitter, seesAll, employeeId, buffer, new AtomicBoolean(), new AtomicBoolean(),
+                    new AtomicBoolean(), new AtomicLong());
+        }
+    }
+}
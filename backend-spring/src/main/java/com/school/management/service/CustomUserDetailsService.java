@@ -1,6 +1,8 @@
 package com.school.management.service;
 
 import com.school.management.entity.User;
+import com.school.management.observability.jfr.RequestEvent;
+import com.school.management.observability.jfr.UserDetailsLoadEvent;
 import com.school.management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,14 +19,23 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                        .collect(Collectors.toSet())
-        );
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        event.begin();
+        try {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                    user.getUsername(),
+                    user.getPassword(),
+                    user.getRoles().stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
+                            .collect(Collectors.toSet())
+            );
+            event.found = true;
+            event.userRole = RequestEvent.roles(userDetails.getAuthorities());
+            return userDetails;
+        } finally {
+            event.finish();
+        }
     }
 }
\ No newline at end of file
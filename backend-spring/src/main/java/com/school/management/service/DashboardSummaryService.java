@@ -0,0 +1,152 @@
+package com.school.management.service;
+
+import com.school.management.entity.LeaveStatus;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.payload.DashboardSummary;
+import com.school.management.payload.EmployeeLeaveSummary;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the dashboard numbers in memory so reading them never touches the database.
+ * Counters move with every employee / leave request write event and are periodically
+ * reconciled against a COUNT ... GROUP BY query, which also corrects any drift caused
+ * by writes that bypass the services.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardSummaryService {
+
+    private static final int STATUS_COUNT = LeaveStatus.values().length;
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    private final AtomicLong totalEmployees = new AtomicLong();
+    private final AtomicLongArray leaveCounts = new AtomicLongArray(STATUS_COUNT);
+    // Replaced wholesale by reconcile, so an unlocked reader sees either the old or the new map, never a half-filled one
+    private volatile Map<Long, AtomicLongArray> employeeLeaveCounts = new ConcurrentHashMap<>();
+    private volatile boolean initialized = false;
+
+    public DashboardSummary getSummary() {
+        ensureInitialized();
+        return new DashboardSummary(
+                totalEmployees.get(),
+                total(leaveCounts),
+                leaveCounts.get(LeaveStatus.PENDING.ordinal()),
+                leaveCounts.get(LeaveStatus.APPROVED.ordinal()),
+                leaveCounts.get(LeaveStatus.REJECTED.ordinal())
+        );
+    }
+
+    public EmployeeLeaveSummary getEmployeeSummary(Long employeeId) {
+        ensureInitialized();
+        AtomicLongArray counts = employeeLeaveCounts.getOrDefault(employeeId, new AtomicLongArray(STATUS_COUNT));
+        return new EmployeeLeaveSummary(
+                employeeId,
+                total(counts),
+                counts.get(LeaveStatus.PENDING.ordinal()),
+                counts.get(LeaveStatus.APPROVED.ordinal()),
+                counts.get(LeaveStatus.REJECTED.ordinal())
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLeaveRequestEvent(LeaveRequestEvent event) {
+        if (!initialized || event.getEmployeeId() == null) return; // picked up by the first reconcile
+        if (event.getPreviousStatus() != null) {
+            adjust(event.getEmployeeId(), event.getPreviousStatus(), -1);
+        }
+        if (event.getStatus() != null) {
+            adjust(event.getEmployeeId(), event.getStatus(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeeEvent(EmployeeEvent event) {
+        if (!initialized) return;
+        switch (event.getType()) {
+            case CREATED -> totalEmployees.incrementAndGet();
+            case DELETED -> {
+                totalEmployees.decrementAndGet();
+                // Leave requests are removed with the employee (cascade), so drop them from the totals too
+                AtomicLongArray removed = employeeLeaveCounts.remove(event.getEmployeeId());
+                if (removed != null) {
+                    for (int i = 0; i < STATUS_COUNT; i++) {
+                        leaveCounts.addAndGet(i, -removed.get(i));
+                    }
+                }
+            }
+            default -> { }
+        }
+    }
+
+    // Rebuild all counters from the database. Events applied between the queries and the swap
+    // can be counted twice or not at all; the next run corrects that.
+    @Scheduled(initialDelayString = "${dashboard.summary.reconcile-interval-ms:300000}",
+            fixedDelayString = "${dashboard.summary.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long employees = employeeRepository.count();
+        List<LeaveRequestRepository.StatusCount> rows = leaveRequestRepository.countByEmployeeAndStatus();
+
+        Map<Long, AtomicLongArray> perEmployee = new ConcurrentHashMap<>();
+        long[] global = new long[STATUS_COUNT];
+        for (LeaveRequestRepository.StatusCount row : rows) {
+            int slot = row.getStatus().ordinal();
+            perEmployee.computeIfAbsent(row.getEmployeeId(), id -> new AtomicLongArray(STATUS_COUNT))
+                    .addAndGet(slot, row.getTotal());
+            global[slot] += row.getTotal();
+        }
+
+        synchronized (this) {
+            boolean drifted = initialized && (totalEmployees.get() != employees || !matches(leaveCounts, global));
+            totalEmployees.set(employees);
+            for (int i = 0; i < STATUS_COUNT; i++) {
+                leaveCounts.set(i, global[i]);
+            }
+            employeeLeaveCounts = perEmployee;
+            initialized = true;
+            if (drifted) {
+                System.out.println("[DASHBOARD] Counter drift corrected during reconciliation");
+            }
+        }
+    }
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            reconcile();
+        }
+    }
+
+    private void adjust(Long employeeId, LeaveStatus status, long delta) {
+        leaveCounts.addAndGet(status.ordinal(), delta);
+        employeeLeaveCounts.computeIfAbsent(employeeId, id -> new AtomicLongArray(STATUS_COUNT))
+                .addAndGet(status.ordinal(), delta);
+    }
+
+    private static long total(AtomicLongArray counts) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    private static boolean matches(AtomicLongArray counts, long[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (counts.get(i) != expected[i]) return false;
+        }
+        return true;
+    }
+}
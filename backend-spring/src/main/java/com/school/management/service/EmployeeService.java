@@ -1,8 +1,11 @@
 package com.school.management.service;
 
 import com.school.management.entity.Employee;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.payload.EmployeeView;
 import com.school.management.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,11 +16,17 @@ import java.util.Optional;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Employee> findAll() {
         return employeeRepository.findAll();
     }
 
+    // List endpoint read model, without each employee's leave requests
+    public List<EmployeeView> findAllViews() {
+        return employeeRepository.findAllViews();
+    }
+
     public Optional<Employee> findById(Long id) {
         return employeeRepository.findById(id);
     }
@@ -27,10 +36,15 @@ public class EmployeeService {
     }
 
     public Employee save(Employee employee) {
-        return employeeRepository.save(employee);
+        boolean created = employee.getId() == null;
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeEvent(
+                created ? EmployeeEvent.Type.CREATED : EmployeeEvent.Type.UPDATED, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeEvent(EmployeeEvent.Type.DELETED, id));
     }
-}
\ No newline at end of file
+}
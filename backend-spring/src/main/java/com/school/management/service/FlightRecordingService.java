@@ -0,0 +1,105 @@
+package com.school.management.service;
+
+import com.school.management.payload.FlightRecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * One on-demand Java Flight Recorder recording, for looking into a latency spike in production
+ * without attaching a profiler. Besides the JDK's own events it captures ours (JWT checks, user
+ * loading, BCrypt, repository calls, JSON serialization; see observability.jfr).
+ *
+ * A recording is always bounded: it stops by itself after {@code jfr.recording.max-duration-seconds}
+ * and keeps at most {@code jfr.recording.max-size-mb} on disk, dropping the oldest data first.
+ * A stopped recording stays downloadable until the next one is started.
+ */
+@Service
+public class FlightRecordingService {
+
+    private final long maxDurationSeconds;
+    private final long maxSizeMb;
+    private final String settings;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${jfr.recording.max-duration-seconds:600}") long maxDurationSeconds,
+                                  @Value("${jfr.recording.max-size-mb:100}") long maxSizeMb,
+                                  @Value("${jfr.recording.settings:profile}") String settings) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeMb = maxSizeMb;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts a recording for the given number of seconds (capped at the configured maximum, which
+     * is also the default). Returns null if one is already running.
+     */
+    public synchronized FlightRecordingStatus start(Long durationSeconds) throws IOException, ParseException {
+        if (isRunning()) return null;
+        if (recording != null) recording.close();
+
+        long seconds = durationSeconds == null ? maxDurationSeconds : Math.max(1, Math.min(durationSeconds, maxDurationSeconds));
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("school-management-on-demand");
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDuration(Duration.ofSeconds(seconds));
+        recording.start();
+        System.out.println("[JFR] Recording started for " + seconds + " s (settings '" + settings + "', at most " + maxSizeMb + " MB)");
+        return status();
+    }
+
+    // Returns null if nothing was running
+    public synchronized FlightRecordingStatus stop() {
+        if (!isRunning()) return null;
+        recording.stop();
+        System.out.println("[JFR] Recording stopped");
+        return status();
+    }
+
+    public synchronized FlightRecordingStatus status() {
+        String state = recording == null ? "NONE" : recording.getState().name();
+        return new FlightRecordingStatus(state, recording == null ? null : recording.getStartTime(),
+                maxDurationSeconds, maxSizeMb, settings);
+    }
+
+    /**
+     * The data recorded so far, dumped to a temporary .jfr file for JDK Mission Control or the jfr
+     * tool. Works while the recording is running and after it stopped; returns null if there is
+     * nothing to download. The caller streams the file and deletes it.
+     */
+    public synchronized Path download() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            return null;
+        }
+        Path file = Files.createTempFile("school-management-", ".jfr");
+        try {
+            recording.dump(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.school.management.service;
+
+import com.school.management.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+/**
+ * Moves decided leave requests from closed academic years into leave_requests_archive,
+ * so everyday queries against leave_requests only scan recent rows.
+ *
+ * The current academic year and the previous {@code leave.archive.retained-years} closed
+ * years stay in the live table. Each batch is its own transaction, and a run stops after
+ * {@code leave.archive.max-batches-per-run} batches so a large backlog is spread over nights.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveArchiveService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final DashboardSummaryService dashboardSummaryService;
+
+    @Value("${leave.archive.enabled:true}")
+    private boolean enabled;
+
+    // First day of the academic year, as --MM-dd
+    @Value("${leave.archive.academic-year-start:--09-01}")
+    private String academicYearStart;
+
+    @Value("${leave.archive.retained-years:1}")
+    private int retainedYears;
+
+    @Value("${leave.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${leave.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${leave.archive.cron:0 30 2 * * *}")
+    public void archiveClosedYears() {
+        if (!enabled) return;
+        LocalDate cutoff = cutoff(LocalDate.now(), MonthDay.parse(academicYearStart), retainedYears);
+        int total = archiveBefore(cutoff);
+        if (total > 0) {
+            System.out.println("[ARCHIVE] Moved " + total + " leave requests ending before " + cutoff + " to the archive");
+            // Archived rows no longer count towards the live dashboard totals
+            dashboardSummaryService.reconcile();
+        }
+    }
+
+    int archiveBefore(LocalDate cutoff) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int moved = leaveRequestRepository.archiveEndedBefore(cutoff, batchSize);
+            total += moved;
+            if (moved < batchSize) break;
+        }
+        return total;
+    }
+
+    // Start of the oldest academic year that stays live: rows ending before it are archivable
+    static LocalDate cutoff(LocalDate today, MonthDay yearStart, int retainedYears) {
+        LocalDate currentYearStart = yearStart.atYear(today.getYear());
+        if (currentYearStart.isAfter(today)) {
+            currentYearStart = currentYearStart.minusYears(1);
+        }
+        return currentYearStart.minusYears(Math.max(0, retainedYears));
+    }
+}
@@ -1,42 +1,177 @@
 package com.school.management.service;
 
-import com.school.management.entity.Employee;
 import com.school.management.entity.LeaveRequest;
 import com.school.management.entity.LeaveStatus;
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.payload.BulkStatusUpdateResult;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.payload.LeaveStatusUpdate;
+import com.school.management.repository.ArchivedLeaveRequestRepository;
 import com.school.management.repository.LeaveRequestRepository;
+import com.school.management.repository.LeaveRequestRepositoryCustom;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class LeaveRequestService {
 
     private final LeaveRequestRepository leaveRequestRepository;
-
-    public List<LeaveRequest> findAll() {
-        return leaveRequestRepository.findAll();
-    }
+    private final ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkingDayService workingDayService;
+    private final StaffingService staffingService;
 
     public Optional<LeaveRequest> findById(Long id) {
         return leaveRequestRepository.findById(id);
     }
 
-    public List<LeaveRequest> findByEmployee(Employee employee) {
-        return leaveRequestRepository.findByEmployee(employee);
+    public List<LeaveRequestView> findAllViews() {
+        return withWorkingDays(leaveRequestRepository.findAllViews());
+    }
+
+    public List<LeaveRequestView> findViewsByStatus(LeaveStatus status) {
+        return withWorkingDays(leaveRequestRepository.findViewsByStatus(status));
     }
 
-    public List<LeaveRequest> findByStatus(LeaveStatus status) {
-        return leaveRequestRepository.findByStatus(status);
+    public List<LeaveRequestView> findViewsByEmployeeId(Long employeeId) {
+        return withWorkingDays(leaveRequestRepository.findViewsByEmployeeId(employeeId));
+    }
+
+    // The only read that looks at the archive: live and archived requests overlapping [from, to]
+    public List<LeaveRequestView> findHistory(Long employeeId, LocalDate from, LocalDate to) {
+        List<LeaveRequestView> history = new ArrayList<>(leaveRequestRepository.findViewsByEmployeeIdInRange(employeeId, from, to));
+        history.addAll(archivedLeaveRequestRepository.findViewsByEmployeeIdInRange(employeeId, from, to));
+        history.sort(Comparator.comparing(LeaveRequestView::getStartDate));
+        return withWorkingDays(history);
     }
 
     public LeaveRequest save(LeaveRequest leaveRequest) {
-        return leaveRequestRepository.save(leaveRequest);
+        boolean created = leaveRequest.getId() == null;
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        if (created) {
+            publish(LeaveRequestEvent.Type.CREATED, saved, null, saved.getStatus());
+        }
+        return saved;
     }
 
+    // Apply a LeaveStatus transition with a single conditional UPDATE; empty if the request
+    // does not exist or is not in a status from which the transition is allowed.
+    // Approvals first pass the minimum-staffing check (StaffingLimitExceededException if not).
+    @Transactional
+    public Optional<LeaveStatusUpdate> transitionStatus(Long id, LeaveStatus status) {
+        Optional<StaffingService.Reservation> reservation = status == LeaveStatus.APPROVED
+                ? staffingService.reserveApproval(id)
+                : Optional.empty();
+        Optional<LeaveStatusUpdate> update = leaveRequestRepository.transitionStatus(id, LeaveStatus.sourcesOf(status), status)
+                .map(row -> {
+                    eventPublisher.publishEvent(new LeaveRequestEvent(
+                            LeaveRequestEvent.Type.STATUS_CHANGED, row.id(), row.employeeId(), row.previousStatus(), status));
+                    return new LeaveStatusUpdate(row.id(), row.previousStatus(), status, row.version());
+                });
+        if (update.isEmpty()) {
+            // Someone else decided the request between the check and the update
+            reservation.ifPresent(staffingService::release);
+        }
+        return update;
+    }
+
+    public Optional<LeaveStatus> findStatusById(Long id) {
+        return leaveRequestRepository.findStatusById(id);
+    }
+
+    // Loads the request first, so the staffing counts and the DELETED event know what was removed
+    @Transactional
     public void deleteById(Long id) {
-        leaveRequestRepository.deleteById(id);
+        leaveRequestRepository.findById(id).ifPresent(this::delete);
+    }
+
+    // Delete a loaded request
+    public void delete(LeaveRequest leaveRequest) {
+        leaveRequestRepository.deleteById(leaveRequest.getId());
+        if (leaveRequest.getStatus() == LeaveStatus.APPROVED && leaveRequest.getEmployee() != null) {
+            staffingService.releaseApproved(leaveRequest.getEmployee().getDepartment(),
+                    leaveRequest.getStartDate(), leaveRequest.getEndDate());
+        }
+        publish(LeaveRequestEvent.Type.DELETED, leaveRequest, leaveRequest.getStatus(), null);
+    }
+
+    // Approve or reject many PENDING requests in one transaction; returns one outcome per distinct id
+    @Transactional
+    public List<BulkStatusUpdateResult> updatePendingStatuses(List<Long> ids, LeaveStatus status) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        StaffingService.Reservations reservations = status == LeaveStatus.APPROVED
+                ? staffingService.reserveApprovals(distinctIds)
+                : new StaffingService.Reservations(Map.of(), Map.of());
+        Set<Long> toUpdate = new LinkedHashSet<>(distinctIds);
+        toUpdate.removeAll(reservations.breached().keySet());
+
+        Map<Long, Long> updated = new HashMap<>();
+        for (LeaveRequestRepositoryCustom.UpdatedRow row : leaveRequestRepository.updatePendingStatus(toUpdate, status)) {
+            updated.put(row.id(), row.employeeId());
+        }
+        reservations.reserved().forEach((id, reservation) -> {
+            if (!updated.containsKey(id)) staffingService.release(reservation);
+        });
+
+        // Only the misses need a second look, to tell "gone" from "already decided"
+        Set<Long> existing = new HashSet<>();
+        if (updated.size() < distinctIds.size()) {
+            List<Long> missed = distinctIds.stream().filter(id -> !updated.containsKey(id)).toList();
+            existing.addAll(leaveRequestRepository.findExistingIds(missed));
+        }
+
+        List<BulkStatusUpdateResult> results = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            if (reservations.breached().containsKey(id)) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UNDERSTAFFED,
+                        reservations.breached().get(id).getBreaches()));
+            } else if (updated.containsKey(id)) {
+                eventPublisher.publishEvent(new LeaveRequestEvent(
+                        LeaveRequestEvent.Type.STATUS_CHANGED, id, updated.get(id), LeaveStatus.PENDING, status));
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UPDATED));
+            } else if (existing.contains(id)) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.NOT_PENDING));
+            } else {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    // Working days covered by a request, weekends and school holidays excluded
+    public int countWorkingDays(LeaveRequest leaveRequest) {
+        return workingDayService.countWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+    }
+
+    // Dates outside the working-day calendar window are rejected before anything is built for them
+    public boolean isWithinCalendarWindow(LeaveRequest leaveRequest) {
+        return workingDayService.isWithinWindow(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+    }
+
+    private List<LeaveRequestView> withWorkingDays(List<LeaveRequestView> views) {
+        for (LeaveRequestView view : views) {
+            view.setWorkingDays(workingDayService.countWorkingDays(view.getStartDate(), view.getEndDate()));
+        }
+        return views;
+    }
+
+    private void publish(LeaveRequestEvent.Type type, LeaveRequest leaveRequest,
+                         LeaveStatus previousStatus, LeaveStatus status) {
+        Long employeeId = leaveRequest.getEmployee() != null ? leaveRequest.getEmployee().getId() : null;
+        eventPublisher.publishEvent(new LeaveRequestEvent(type, leaveRequest.getId(), employeeId, previousStatus, status));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.school.management.service;
+
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Emails employees when their leave request is approved or rejected (opt-in)
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mail.notifications.leave-status.enabled", havingValue = "true")
+public class LeaveStatusNotifier {
+
+    private final UserRepository userRepository;
+    private final MailOutboxService mailOutboxService;
+
+    // BEFORE_COMMIT keeps the outbox row in the same transaction as the status change
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLeaveRequestEvent(LeaveRequestEvent event) {
+        if (event.getType() != LeaveRequestEvent.Type.STATUS_CHANGED || event.getEmployeeId() == null) return;
+        userRepository.findByEmployeeId(event.getEmployeeId())
+                .filter(user -> user.getEmail() != null)
+                .ifPresent(user -> {
+                    String status = event.getStatus().name().toLowerCase();
+                    String subject = "Leave request " + status;
+                    String msg = "Your leave request #" + event.getLeaveRequestId() + " has been " + status + ".";
+                    mailOutboxService.enqueue(user.getEmail(), subject, msg);
+                });
+    }
+}
@@ -0,0 +1,93 @@
+package com.school.management.service;
+
+import com.school.management.entity.MailOutboxMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Background delivery of the mail outbox; request threads never talk to SMTP
+@Service
+@RequiredArgsConstructor
+public class MailOutboxDispatcher {
+
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.from:}")
+    private String from;
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<MailOutboxMessage> batch;
+        do {
+            batch = mailOutboxService.claimBatch(batchSize);
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Sends the whole batch in one JavaMailSender call, which reuses a single SMTP connection
+    void deliver(List<MailOutboxMessage> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        Map<Object, Long> idsByMessage = new IdentityHashMap<>();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutboxMessage outbox = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            if (!from.isBlank()) message.setFrom(from);
+            message.setTo(outbox.getRecipient());
+            message.setSubject(outbox.getSubject());
+            message.setText(outbox.getBody());
+            messages[i] = message;
+            idsByMessage.put(message, outbox.getId());
+            ids.add(outbox.getId());
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                ids.forEach(id -> failures.put(id, String.valueOf(e.getMessage())));
+            } else {
+                e.getFailedMessages().forEach((message, ex) -> {
+                    Long id = idsByMessage.get(message);
+                    if (id != null) failures.put(id, String.valueOf(ex.getMessage()));
+                });
+            }
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing in this batch went out
+            ids.forEach(id -> failures.put(id, String.valueOf(e.getMessage())));
+        }
+
+        sample.stop(meterRegistry.timer("mail.send.batch"));
+        // Per delivery attempt; messages that run out of retries show up as FAILED in the outbox table
+        meterRegistry.counter("mail.send", "outcome", "sent").increment(ids.size() - failures.size());
+        meterRegistry.counter("mail.send", "outcome", "failed").increment(failures.size());
+
+        mailOutboxService.recordResults(ids, failures);
+        if (!failures.isEmpty()) {
+            System.out.println("[MAIL] " + failures.size() + " of " + batch.size() + " messages failed, will retry: "
+                    + failures.values().iterator().next());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.school.management.service;
+
+import com.school.management.entity.MailOutboxMessage;
+import com.school.management.entity.MailOutboxStatus;
+import com.school.management.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for email. Callers enqueue inside their own transaction, so a message
+ * exists if and only if the business change committed; MailOutboxDispatcher delivers it later.
+ */
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // How long a claimed batch is hidden from other dispatchers while it is being sent
+    @Value("${mail.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Transactional
+    public MailOutboxMessage enqueue(String to, String subject, String body) {
+        Instant now = Instant.now();
+        MailOutboxMessage message = MailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(MailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        return mailOutboxRepository.save(message);
+    }
+
+    // Lock up to batchSize due messages and push their next attempt past the claim timeout,
+    // so a crashed dispatcher's batch is retried rather than lost
+    @Transactional
+    public List<MailOutboxMessage> claimBatch(int batchSize) {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> batch = mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                MailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        Instant claimedUntil = now.plusMillis(claimTimeoutMs);
+        for (MailOutboxMessage message : batch) {
+            message.setNextAttemptAt(claimedUntil);
+        }
+        return batch;
+    }
+
+    // Record the result of one delivery round: ids missing from failures were sent
+    @Transactional
+    public void recordResults(List<Long> ids, Map<Long, String> failures) {
+        Instant now = Instant.now();
+        for (MailOutboxMessage message : mailOutboxRepository.findAllById(ids)) {
+            message.setAttempts(message.getAttempts() + 1);
+            String error = failures.get(message.getId());
+            if (error == null) {
+                message.setStatus(MailOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(MailOutboxStatus.FAILED);
+                message.setLastError(truncate(error));
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                message.setLastError(truncate(error));
+            }
+        }
+    }
+
+    // Exponential backoff: initial, 2x, 4x, ... capped at maxBackoffMs
+    Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,100 @@
+package com.school.management.service;
+
+import com.school.management.entity.PasswordResetToken;
+import com.school.management.repository.PasswordResetTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Password reset tokens. The raw token only ever exists in the email; the table keeps its
+ * SHA-256, so lookups are a unique-index point read and a leaked table cannot be replayed.
+ *
+ * A user has at most one outstanding token, consuming it deletes the row (single use), and
+ * expired rows are swept in batches every {@code password-reset.sweep-interval-ms}.
+ */
+@Service
+public class PasswordResetTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    public PasswordResetTokenService(PasswordResetTokenRepository tokenRepository,
+                                     @Value("${password-reset.token-ttl-minutes:60}") long ttlMinutes,
+                                     @Value("${password-reset.sweep-batch-size:500}") int sweepBatchSize) {
+        this.tokenRepository = tokenRepository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Replaces any earlier token of the user; must run inside the caller's transaction
+    public String issue(Long userId) {
+        tokenRepository.deleteByUserId(userId);
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+        tokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(hash(token))
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return token;
+    }
+
+    // The owning user id if the token is valid; a valid token is deleted, so it works once
+    public Optional<Long> consume(String token) {
+        Optional<PasswordResetToken> stored = tokenRepository.findByTokenHash(hash(token));
+        if (stored.isEmpty() || !stored.get().getExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        // Two concurrent resets with the same token: only the one that deletes the row wins
+        if (tokenRepository.deleteAndCount(stored.get().getId()) != 1) {
+            return Optional.empty();
+        }
+        return Optional.of(stored.get().getUserId());
+    }
+
+    @Scheduled(initialDelayString = "${password-reset.sweep-interval-ms:900000}",
+            fixedDelayString = "${password-reset.sweep-interval-ms:900000}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = tokenRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        if (total > 0) {
+            System.out.println("[RESET] Deleted " + total + " expired password reset tokens");
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.school.management.service;
+
+import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
+import com.school.management.repository.RoleRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Role ids, loaded once. The roles are a fixed set of rows, so assigning a role hands out
+ * a fresh Role carrying the cached id and name instead of querying by name. Hibernate only
+ * needs the id to write user_roles, and callers can read the name without touching the database.
+ *
+ * The rows themselves are seeded by the V4 migration; startup fails fast if any is missing.
+ * Can be refreshed after an admin changes the roles table.
+ */
+@Component
+public class RoleRegistry implements ApplicationRunner, ApplicationStartupAware {
+
+    private final RoleRepository roleRepository;
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    // Replaced wholesale on refresh, never mutated
+    private volatile Map<RoleName, Long> roleIds;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Shown in the startup report; runners are not recorded by Spring itself
+        StartupStep step = applicationStartup.start("school.roles.load");
+        try {
+            refresh();
+            step.tag("roles", String.valueOf(roleIds.size()));
+        } finally {
+            step.end();
+        }
+        for (RoleName name : RoleName.values()) {
+            if (!roleIds.containsKey(name)) {
+                throw new IllegalStateException("Role " + name + " is missing from the roles table; run the migrations");
+            }
+        }
+    }
+
+    public void refresh() {
+        // Not synchronized: holding a monitor across the query would pin a virtual thread
+        refreshLock.lock();
+        try {
+            Map<RoleName, Long> ids = new EnumMap<>(RoleName.class);
+            for (Role role : roleRepository.findAll()) {
+                RoleName.parse(role.getName()).ifPresent(name -> ids.put(name, role.getId()));
+            }
+            roleIds = Collections.unmodifiableMap(ids);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // New detached instance per call, so no caller can modify a shared entity
+    public Role reference(RoleName name) {
+        return new Role(idOf(name), name.name());
+    }
+
+    public Long idOf(RoleName name) {
+        Map<RoleName, Long> ids = roleIds;
+        if (ids == null) {
+            refresh();
+            ids = roleIds;
+        }
+        Long id = ids.get(name);
+        if (id == null) {
+            throw new IllegalStateException("Role " + name + " does not exist");
+        }
+        return id;
+    }
+}
@@ -12,12 +12,15 @@ import java.util.Optional;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     public Optional<Role> findByName(String name) {
         return roleRepository.findByName(name);
     }
 
     public Role save(Role role) {
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        roleRegistry.refresh();
+        return saved;
     }
 }
\ No newline at end of file
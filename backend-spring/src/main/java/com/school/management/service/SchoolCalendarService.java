@@ -0,0 +1,59 @@
+package com.school.management.service;
+
+import com.school.management.entity.AcademicTerm;
+import com.school.management.entity.SchoolHoliday;
+import com.school.management.repository.AcademicTermRepository;
+import com.school.management.repository.SchoolHolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Holiday and term calendars; every write drops the cached WorkingDayCalendar years
+@Service
+@RequiredArgsConstructor
+public class SchoolCalendarService {
+
+    private final SchoolHolidayRepository schoolHolidayRepository;
+    private final AcademicTermRepository academicTermRepository;
+    private final WorkingDayService workingDayService;
+
+    public List<SchoolHoliday> findAllHolidays() {
+        return schoolHolidayRepository.findAllByOrderByStartDateAsc();
+    }
+
+    public Optional<SchoolHoliday> findHolidayById(Long id) {
+        return schoolHolidayRepository.findById(id);
+    }
+
+    public SchoolHoliday saveHoliday(SchoolHoliday holiday) {
+        SchoolHoliday saved = schoolHolidayRepository.save(holiday);
+        workingDayService.invalidate();
+        return saved;
+    }
+
+    public void deleteHoliday(Long id) {
+        schoolHolidayRepository.deleteById(id);
+        workingDayService.invalidate();
+    }
+
+    public List<AcademicTerm> findAllTerms() {
+        return academicTermRepository.findAllByOrderByStartDateAsc();
+    }
+
+    public Optional<AcademicTerm> findTermById(Long id) {
+        return academicTermRepository.findById(id);
+    }
+
+    public AcademicTerm saveTerm(AcademicTerm term) {
+        AcademicTerm saved = academicTermRepository.save(term);
+        workingDayService.invalidate();
+        return saved;
+    }
+
+    public void deleteTerm(Long id) {
+        academicTermRepository.deleteById(id);
+        workingDayService.invalidate();
+    }
+}
@@ -0,0 +1,17 @@
+package com.school.management.service;
+
+import com.school.management.payload.StaffingCheck;
+import lombok.Getter;
+
+// Thrown instead of approving a leave request that would leave its department understaffed
+@Getter
+public class StaffingLimitExceededException extends RuntimeException {
+
+    private final StaffingCheck check;
+
+    public StaffingLimitExceededException(StaffingCheck check) {
+        super("Approving leave request " + check.getLeaveRequestId() + " would leave " + check.getDepartment()
+                + " below " + check.getMinimumPresent() + " present on " + check.getBreaches().size() + " day(s)");
+        this.check = check;
+    }
+}
@@ -0,0 +1,308 @@
+package com.school.management.service;
+
+import com.school.management.entity.LeaveStatus;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.payload.StaffingCheck;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Minimum-staffing check for leave approvals.
+ *
+ * Keeps, per department, the headcount and one int[] per year with the number of approved
+ * absences on each day. Approving reserves the request's working days under the department's
+ * monitor, so concurrent approvals in one department cannot both squeeze past the limit; a
+ * reservation is released again if the status update does not happen or rolls back.
+ * A reservation belongs to the counts it was made in: once reconcile has swapped in a rebuilt
+ * map, which never counted it, releasing it no longer changes anything.
+ *
+ * Nothing blocking runs while a department monitor is held: working days (which may need a
+ * calendar query) are resolved before locking, so virtual threads are never pinned here.
+ *
+ * The counts live in this JVM only. They are rebuilt from the database on first use and on
+ * {@code staffing.reconcile-interval-ms}, which also absorbs writes made by other instances.
+ */
+@Service
+public class StaffingService {
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final WorkingDayService workingDayService;
+    private final int defaultMinimumPresent;
+    private final Map<String, Integer> minimumPresentByDepartment = new HashMap<>();
+
+    private volatile Map<String, DepartmentAbsences> departments = new ConcurrentHashMap<>();
+    private volatile boolean initialized = false;
+    // Set by employee events; headcounts are re-read on the next reservation, so a burst of
+    // events (bulk provisioning) costs one query instead of one per employee
+    private volatile boolean headcountsStale = false;
+    // A lock rather than synchronized: reconcile queries the database, which would pin a virtual thread
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    public StaffingService(EmployeeRepository employeeRepository,
+                           LeaveRequestRepository leaveRequestRepository,
+                           WorkingDayService workingDayService,
+                           @Value("${staffing.minimum-present.default:0}") int defaultMinimumPresent,
+                           @Value("${staffing.minimum-present.departments:}") String departmentMinimums) {
+        this.employeeRepository = employeeRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.workingDayService = workingDayService;
+        this.defaultMinimumPresent = defaultMinimumPresent;
+        // Format: IT:3,Science:5
+        for (String entry : departmentMinimums.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon > 0) {
+                minimumPresentByDepartment.put(entry.substring(0, colon).trim(),
+                        Integer.parseInt(entry.substring(colon + 1).trim()));
+            }
+        }
+    }
+
+    // Approved absences for one department; every access is synchronized on the instance
+    static final class DepartmentAbsences {
+        private int headcount;
+        private final Map<Integer, int[]> absentByYear = new HashMap<>();
+
+        int[] year(int year) {
+            return absentByYear.computeIfAbsent(year, y -> new int[366]);
+        }
+    }
+
+    // Working days held for an approval in progress; released at most once, and only from the
+    // counts that hold it
+    public static final class Reservation {
+        private final Long leaveRequestId;
+        private final String department;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Map<String, DepartmentAbsences> counts;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Reservation(Long leaveRequestId, String department, LocalDate startDate, LocalDate endDate,
+                    Map<String, DepartmentAbsences> counts) {
+            this.leaveRequestId = leaveRequestId;
+            this.department = department;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.counts = counts;
+        }
+
+        public Long getLeaveRequestId() {
+            return leaveRequestId;
+        }
+    }
+
+    // Result of reserving several approvals: each PENDING id lands in exactly one of the maps
+    public record Reservations(Map<Long, Reservation> reserved, Map<Long, StaffingCheck> breached) {
+    }
+
+    public int minimumPresent(String department) {
+        return minimumPresentByDepartment.getOrDefault(department, defaultMinimumPresent);
+    }
+
+    /**
+     * Reserve the working days of a PENDING request that is about to be approved.
+     * Empty when the request does not exist or is not PENDING (the status update will report that),
+     * or when its department has no minimum.
+     *
+     * @throws StaffingLimitExceededException if approving would breach the department minimum
+     */
+    public Optional<Reservation> reserveApproval(Long leaveRequestId) {
+        Reservations reservations = reserveApprovals(Collections.singletonList(leaveRequestId));
+        StaffingCheck breach = reservations.breached().get(leaveRequestId);
+        if (breach != null) {
+            throw new StaffingLimitExceededException(breach);
+        }
+        return Optional.ofNullable(reservations.reserved().get(leaveRequestId));
+    }
+
+    // Bulk variant of reserveApproval; unknown and non-PENDING ids appear in neither map, and so do
+    // ids in a department without a minimum: there is nothing to enforce, so nothing is held
+    public Reservations reserveApprovals(Collection<Long> leaveRequestIds) {
+        ensureInitialized();
+        Map<String, DepartmentAbsences> counts = departments;
+        Map<Long, Reservation> reserved = new LinkedHashMap<>();
+        Map<Long, StaffingCheck> breached = new LinkedHashMap<>();
+        for (LeaveRequestRepository.StaffingInfo info : leaveRequestRepository.findStaffingInfoByIds(leaveRequestIds)) {
+            if (info.getStatus() != LeaveStatus.PENDING) continue;
+            // The cached headcount may trail new hires, so even a minimum of 0 could "fail" against it
+            if (minimumPresent(info.getDepartment()) <= 0) continue;
+            StaffingCheck check = reserve(counts, info.getId(), info.getDepartment(), info.getStartDate(), info.getEndDate());
+            if (check.isSatisfied()) {
+                Reservation reservation = new Reservation(info.getId(), info.getDepartment(),
+                        info.getStartDate(), info.getEndDate(), counts);
+                releaseOnRollback(reservation);
+                reserved.put(info.getId(), reservation);
+            } else {
+                breached.put(info.getId(), check);
+            }
+        }
+        return new Reservations(reserved, breached);
+    }
+
+    // After a reconcile the reservation's counts are no longer shared, so this is a no-op there
+    public void release(Reservation reservation) {
+        if (reservation.released.compareAndSet(false, true)) {
+            apply(reservation.counts, reservation.department, reservation.startDate, reservation.endDate, -1);
+        }
+    }
+
+    // An approved request went away (deleted): give its days back
+    public void releaseApproved(String department, LocalDate startDate, LocalDate endDate) {
+        if (initialized) {
+            apply(departments, department, startDate, endDate, -1);
+        }
+    }
+
+    // Headcounts only change with employees; absences are maintained by reservations
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeEvent(EmployeeEvent event) {
+        if (initialized) {
+            headcountsStale = true;
+        }
+    }
+
+    private void refreshHeadcounts() {
+        Map<String, DepartmentAbsences> current = departments;
+        Map<String, Long> headcounts = new HashMap<>();
+        for (EmployeeRepository.DepartmentCount row : employeeRepository.countByDepartment()) {
+            headcounts.put(row.getDepartment(), row.getTotal());
+        }
+        for (Map.Entry<String, Long> entry : headcounts.entrySet()) {
+            DepartmentAbsences absences = current.computeIfAbsent(entry.getKey(), d -> new DepartmentAbsences());
+            synchronized (absences) {
+                absences.headcount = entry.getValue().intValue();
+            }
+        }
+        current.forEach((department, absences) -> {
+            if (!headcounts.containsKey(department)) {
+                synchronized (absences) {
+                    absences.headcount = 0;
+                }
+            }
+        });
+    }
+
+    // Rebuild from committed data. Approvals reserved but not yet committed at that moment are
+    // not in the database yet and are missed until the next run.
+    @Scheduled(initialDelayString = "${staffing.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${staffing.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            Map<String, DepartmentAbsences> rebuilt = new ConcurrentHashMap<>();
+            for (EmployeeRepository.DepartmentCount row : employeeRepository.countByDepartment()) {
+                rebuilt.computeIfAbsent(row.getDepartment(), d -> new DepartmentAbsences()).headcount = (int) row.getTotal();
+            }
+            LocalDate from = LocalDate.now().withDayOfYear(1);
+            for (LeaveRequestRepository.StaffingInfo info : leaveRequestRepository.findApprovedEndingOnOrAfter(from)) {
+                DepartmentAbsences absences = rebuilt.computeIfAbsent(info.getDepartment(), d -> new DepartmentAbsences());
+                LocalDate start = info.getStartDate().isBefore(from) ? from : info.getStartDate();
+                // rebuilt is not shared yet, so no monitor is needed
+                for (WorkingDay day : workingDays(start, info.getEndDate())) {
+                    absences.year(day.year())[day.index()]++;
+                }
+            }
+            departments = rebuilt;
+            headcountsStale = false;
+            initialized = true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private StaffingCheck reserve(Map<String, DepartmentAbsences> counts, Long leaveRequestId, String department,
+                                  LocalDate startDate, LocalDate endDate) {
+        int minimum = minimumPresent(department);
+        DepartmentAbsences absences = counts.computeIfAbsent(department, d -> new DepartmentAbsences());
+        List<WorkingDay> days = workingDays(startDate, endDate);
+        List<StaffingCheck.BreachDay> breaches = new ArrayList<>();
+        synchronized (absences) {
+            for (WorkingDay day : days) {
+                int absent = absences.year(day.year())[day.index()] + 1;
+                int present = absences.headcount - absent;
+                if (present < minimum) {
+                    breaches.add(new StaffingCheck.BreachDay(day.date(), absent, present));
+                }
+            }
+            if (breaches.isEmpty()) {
+                for (WorkingDay day : days) {
+                    absences.year(day.year())[day.index()]++;
+                }
+            }
+            return new StaffingCheck(leaveRequestId, department, absences.headcount, minimum, breaches);
+        }
+    }
+
+    private void apply(Map<String, DepartmentAbsences> counts, String department, LocalDate startDate, LocalDate endDate,
+                       int delta) {
+        DepartmentAbsences absences = counts.get(department);
+        if (absences == null) return;
+        List<WorkingDay> days = workingDays(startDate, endDate);
+        synchronized (absences) {
+            for (WorkingDay day : days) {
+                int[] absent = absences.year(day.year());
+                absent[day.index()] = Math.max(0, absent[day.index()] + delta);
+            }
+        }
+    }
+
+    private void releaseOnRollback(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(reservation);
+                }
+            }
+        });
+    }
+
+    // Only working days count: nobody needs cover on weekends and school holidays
+    private List<WorkingDay> workingDays(LocalDate from, LocalDate to) {
+        List<WorkingDay> days = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate yearStart = LocalDate.of(year, 1, 1);
+            LocalDate first = from.isAfter(yearStart) ? from : yearStart;
+            BitSet working = workingDayService.calendarFor(year).workingDays(from, to);
+            int offset = first.getDayOfYear() - 1;
+            for (int i = working.nextSetBit(0); i >= 0; i = working.nextSetBit(i + 1)) {
+                days.add(new WorkingDay(year, offset + i, first.plusDays(i)));
+            }
+        }
+        return days;
+    }
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            reconcile();
+        } else if (headcountsStale) {
+            headcountsStale = false;
+            refreshHeadcounts();
+        }
+    }
+
+    private record WorkingDay(int year, int index, LocalDate date) {
+    }
+}
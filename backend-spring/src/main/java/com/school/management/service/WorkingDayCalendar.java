@@ -0,0 +1,69 @@
+package com.school.management.service;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * One calendar year as bitsets indexed by day-of-year minus one. Immutable once built, so
+ * range questions are a BitSet slice plus cardinality rather than a walk over LocalDates.
+ */
+public final class WorkingDayCalendar {
+
+    private final int year;
+    private final BitSet workingDays;
+    private final BitSet termDays;
+
+    WorkingDayCalendar(int year, BitSet workingDays, BitSet termDays) {
+        this.year = year;
+        this.workingDays = workingDays;
+        this.termDays = termDays;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return workingDays.get(index(date));
+    }
+
+    public boolean isTermDay(LocalDate date) {
+        return termDays.get(index(date));
+    }
+
+    // Both bounds inclusive and clamped to this year; 0 when the range misses the year
+    public int countWorkingDays(LocalDate from, LocalDate to) {
+        return count(workingDays, from, to);
+    }
+
+    public int countTermDays(LocalDate from, LocalDate to) {
+        return count(termDays, from, to);
+    }
+
+    // Copy of the working-day bits for [from, to] clamped to this year, bit 0 = first clamped day
+    public BitSet workingDays(LocalDate from, LocalDate to) {
+        int[] range = clamp(from, to, year);
+        return range == null ? new BitSet() : workingDays.get(range[0], range[1] + 1);
+    }
+
+    private int count(BitSet bits, LocalDate from, LocalDate to) {
+        int[] range = clamp(from, to, year);
+        // A year is six longs, so the slice is cheap and cardinality() is a popcount per word
+        return range == null ? 0 : bits.get(range[0], range[1] + 1).cardinality();
+    }
+
+    // [first, last] day-of-year indexes of the inclusive range inside year, or null if it misses the year
+    static int[] clamp(LocalDate from, LocalDate to, int year) {
+        if (to.isBefore(from) || from.getYear() > year || to.getYear() < year) return null;
+        int start = from.getYear() < year ? 0 : from.getDayOfYear() - 1;
+        int end = to.getYear() > year ? LocalDate.of(year, 12, 31).getDayOfYear() - 1 : to.getDayOfYear() - 1;
+        return new int[]{start, end};
+    }
+
+    private int index(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException(date + " is not in " + year);
+        }
+        return date.getDayOfYear() - 1;
+    }
+}
@@ -0,0 +1,178 @@
+package com.school.management.service;
+
+import com.school.management.entity.AcademicTerm;
+import com.school.management.entity.SchoolHoliday;
+import com.school.management.repository.AcademicTermRepository;
+import com.school.management.repository.SchoolHolidayRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers "how many working days" questions for leave requests. A working day is any day
+ * that is not a weekend day and not inside a SchoolHoliday; a term day is a working day inside
+ * an AcademicTerm. Each year is built once into a WorkingDayCalendar and cached until the
+ * holiday or term calendars change.
+ *
+ * Only years within {@code calendar.window-years} of the current year are cached, and callers
+ * taking dates from requests reject anything outside that window, so neither the cache nor a
+ * single request can be made to build calendars for arbitrary years.
+ */
+@Service
+public class WorkingDayService {
+
+    private final SchoolHolidayRepository schoolHolidayRepository;
+    private final AcademicTermRepository academicTermRepository;
+    private final Set<DayOfWeek> weekendDays;
+    private final int windowYears;
+    private final Map<Integer, WorkingDayCalendar> calendars = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WorkingDayService(SchoolHolidayRepository schoolHolidayRepository,
+                             AcademicTermRepository academicTermRepository,
+                             @Value("${calendar.weekend-days:SATURDAY,SUNDAY}") String weekendDays,
+                             @Value("${calendar.window-years:10}") int windowYears) {
+        this.schoolHolidayRepository = schoolHolidayRepository;
+        this.academicTermRepository = academicTermRepository;
+        this.windowYears = windowYears;
+        this.weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        Arrays.stream(weekendDays.split(","))
+                .map(String::trim)
+                .filter(d -> !d.isEmpty())
+                .forEach(d -> this.weekendDays.add(DayOfWeek.valueOf(d.toUpperCase())));
+    }
+
+    // Not computeIfAbsent: that would hold a map bin lock (and pin a virtual thread) during the
+    // queries. Two threads may build the same year at once; the first one stored wins.
+    public WorkingDayCalendar calendarFor(int year) {
+        WorkingDayCalendar calendar = calendars.get(year);
+        if (calendar != null) {
+            hits.increment();
+            return calendar;
+        }
+        misses.increment();
+        WorkingDayCalendar built = build(year);
+        if (!inWindow(year)) {
+            // Old archived requests still get an answer, just not a cache entry
+            return built;
+        }
+        WorkingDayCalendar existing = calendars.putIfAbsent(year, built);
+        // Years that drifted out of the window since they were cached
+        calendars.keySet().removeIf(cached -> {
+            boolean stale = !inWindow(cached);
+            if (stale) evictions.increment();
+            return stale;
+        });
+        return existing != null ? existing : built;
+    }
+
+    // Whether both ends of a requested range fall within calendar.window-years of this year
+    public boolean isWithinWindow(LocalDate from, LocalDate to) {
+        return inWindow(from.getYear()) && inWindow(to.getYear());
+    }
+
+    public int windowYears() {
+        return windowYears;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return calendarFor(date.getYear()).isWorkingDay(date);
+    }
+
+    // Inclusive on both ends; 0 when to is before from
+    public int countWorkingDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) return 0;
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            count += calendarFor(year).countWorkingDays(from, to);
+        }
+        return count;
+    }
+
+    public int countTermDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) return 0;
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            count += calendarFor(year).countTermDays(from, to);
+        }
+        return count;
+    }
+
+    // Working days shared by two inclusive ranges, e.g. two leave requests
+    public int countOverlappingWorkingDays(LocalDate aFrom, LocalDate aTo, LocalDate bFrom, LocalDate bTo) {
+        LocalDate from = aFrom.isAfter(bFrom) ? aFrom : bFrom;
+        LocalDate to = aTo.isBefore(bTo) ? aTo : bTo;
+        return countWorkingDays(from, to);
+    }
+
+    // Drop cached years after a holiday or term change
+    public void invalidate() {
+        evictions.add(calendars.size());
+        calendars.clear();
+    }
+
+    // Cache statistics, published by MetricsConfig
+    public long cacheHits() {
+        return hits.sum();
+    }
+
+    public long cacheMisses() {
+        return misses.sum();
+    }
+
+    public long cacheEvictions() {
+        return evictions.sum();
+    }
+
+    public int cacheSize() {
+        return calendars.size();
+    }
+
+    private boolean inWindow(int year) {
+        return Math.abs(year - LocalDate.now().getYear()) <= windowYears;
+    }
+
+    private WorkingDayCalendar build(int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        LocalDate last = LocalDate.of(year, 12, 31);
+        int days = first.lengthOfYear();
+
+        BitSet working = new BitSet(days);
+        for (int i = 0; i < days; i++) {
+            if (!weekendDays.contains(first.plusDays(i).getDayOfWeek())) {
+                working.set(i);
+            }
+        }
+        for (SchoolHoliday holiday : schoolHolidayRepository.findOverlapping(first, last)) {
+            clearRange(working, holiday.getStartDate(), holiday.getEndDate(), year);
+        }
+
+        BitSet term = new BitSet(days);
+        for (AcademicTerm academicTerm : academicTermRepository.findOverlapping(first, last)) {
+            setRange(term, academicTerm.getStartDate(), academicTerm.getEndDate(), year);
+        }
+        term.and(working);
+        return new WorkingDayCalendar(year, working, term);
+    }
+
+    private static void clearRange(BitSet bits, LocalDate from, LocalDate to, int year) {
+        int[] range = WorkingDayCalendar.clamp(from, to, year);
+        if (range != null) bits.clear(range[0], range[1] + 1);
+    }
+
+    private static void setRange(BitSet bits, LocalDate from, LocalDate to, int year) {
+        int[] range = WorkingDayCalendar.clamp(from, to, year);
+        if (range != null) bits.set(range[0], range[1] + 1);
+    }
+}
@@ -0,0 +1,59 @@
+-- Columns and tables added since the baseline. IF NOT EXISTS because databases that ran
+-- with ddl-auto=update may already have some of them; baselined databases have none.
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+-- Optimistic locking and the delta-sync position
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+-- Closed academic years; employee_id is deliberately not a foreign key
+CREATE TABLE IF NOT EXISTS leave_requests_archive (
+    id          BIGINT PRIMARY KEY,
+    leave_type  VARCHAR(255)                NOT NULL,
+    start_date  DATE                        NOT NULL,
+    end_date    DATE                        NOT NULL,
+    reason      VARCHAR(255),
+    status      VARCHAR(255)                NOT NULL,
+    version     BIGINT,
+    change_seq  BIGINT,
+    employee_id BIGINT                      NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- change_seq is stamped after commit (see ChangeSequence), so rows start without one
+CREATE TABLE IF NOT EXISTS change_tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    change_seq  BIGINT UNIQUE,
+    entity_type VARCHAR(255)                NOT NULL,
+    entity_id   BIGINT                      NOT NULL,
+    employee_id BIGINT,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS mail_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient       VARCHAR(255)                NOT NULL,
+    subject         VARCHAR(255)                NOT NULL,
+    body            TEXT                        NOT NULL,
+    status          VARCHAR(255)                NOT NULL,
+    attempts        INTEGER                     NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE,
+    last_error      VARCHAR(1000)
+);
+
+CREATE TABLE IF NOT EXISTS school_holidays (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    start_date DATE         NOT NULL,
+    end_date   DATE         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS academic_terms (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    start_date DATE         NOT NULL,
+    end_date   DATE         NOT NULL
+);
@@ -0,0 +1,52 @@
+-- Baseline: the schema as Hibernate used to generate it (ddl-auto) before migrations existed,
+-- now owned by Flyway. Databases from that setup are baselined at this version and skip it,
+-- so everything added since goes in later migrations.
+
+CREATE TABLE roles (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE employees (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    employee_id  VARCHAR(255) NOT NULL,
+    department   VARCHAR(255) NOT NULL,
+    position     VARCHAR(255) NOT NULL,
+    contact_info VARCHAR(255) NOT NULL,
+    start_date   DATE         NOT NULL,
+    CONSTRAINT uk_employees_employee_id UNIQUE (employee_id)
+);
+
+CREATE TABLE users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username           VARCHAR(255) NOT NULL,
+    password           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255),
+    employee_id        BIGINT,
+    reset_token        VARCHAR(255),
+    reset_token_expiry TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_employee_id UNIQUE (employee_id),
+    CONSTRAINT fk_users_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE leave_requests (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    leave_type  VARCHAR(255) NOT NULL,
+    start_date  DATE,
+    end_date    DATE,
+    reason      VARCHAR(255),
+    status      VARCHAR(255) NOT NULL,
+    employee_id BIGINT       NOT NULL,
+    CONSTRAINT fk_leave_requests_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+);
@@ -0,0 +1,7 @@
+-- Shared change sequence for the delta-sync feed (see ChangeSequence).
+-- IF NOT EXISTS: baselined databases already have it from the old startup hook.
+CREATE SEQUENCE IF NOT EXISTS change_seq;
+
+-- Rows written before change tracking existed get a value so a sync from 0 sees them
+UPDATE leave_requests SET change_seq = nextval('change_seq') WHERE change_seq IS NULL;
+UPDATE employees SET change_seq = nextval('change_seq') WHERE change_seq IS NULL;
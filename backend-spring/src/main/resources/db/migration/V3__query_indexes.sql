@@ -0,0 +1,33 @@
+-- Secondary indexes for the query paths in the repositories.
+-- IF NOT EXISTS keeps this safe on baselined databases that were tuned by hand.
+
+-- Per-employee lists, history ranges and the FK used by employee deletes
+CREATE INDEX IF NOT EXISTS idx_leave_requests_employee_dates
+    ON leave_requests (employee_id, start_date, end_date);
+
+-- Status filter on the list endpoint, PENDING dashboard counts and the archive sweep
+CREATE INDEX IF NOT EXISTS idx_leave_requests_status_end_date
+    ON leave_requests (status, end_date);
+
+-- Calendar and overlap queries that do not filter by employee
+CREATE INDEX IF NOT EXISTS idx_leave_requests_dates
+    ON leave_requests (start_date, end_date);
+
+-- Delta-sync feed reads "change_seq > ? ORDER BY change_seq"
+CREATE INDEX IF NOT EXISTS idx_leave_requests_change_seq ON leave_requests (change_seq);
+CREATE INDEX IF NOT EXISTS idx_employees_change_seq ON employees (change_seq);
+CREATE INDEX IF NOT EXISTS idx_employees_department ON employees (department);
+
+CREATE INDEX IF NOT EXISTS idx_leave_requests_archive_employee_dates
+    ON leave_requests_archive (employee_id, start_date, end_date);
+
+-- Forgot-password and reset lookups
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_users_reset_token ON users (reset_token) WHERE reset_token IS NOT NULL;
+
+-- Outbox poller: due PENDING messages in id order
+CREATE INDEX IF NOT EXISTS idx_mail_outbox_status_next_attempt
+    ON mail_outbox (status, next_attempt_at);
+
+CREATE INDEX IF NOT EXISTS idx_school_holidays_dates ON school_holidays (start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_academic_terms_dates ON academic_terms (start_date, end_date);
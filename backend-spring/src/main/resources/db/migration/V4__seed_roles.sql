@@ -0,0 +1,4 @@
+-- The fixed role set (RoleName). Idempotent, so it is safe on baselined databases
+-- that were seeded by the old startup code.
+INSERT INTO roles (name) VALUES ('ADMIN'), ('MANAGER'), ('EMPLOYEE')
+ON CONFLICT (name) DO NOTHING;
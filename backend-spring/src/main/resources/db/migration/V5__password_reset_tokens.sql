@@ -0,0 +1,25 @@
+-- Reset tokens move out of users into their own table, keyed by the SHA-256 of the token.
+-- IF [NOT] EXISTS: databases that ran with ddl-auto=update may already have the table.
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64)                 NOT NULL,
+    user_id    BIGINT                      NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_password_reset_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_password_reset_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- One outstanding token per user is looked up on issue; the sweeper scans by expiry
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user ON password_reset_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at ON password_reset_tokens (expires_at);
+
+-- Links already emailed keep working until they expire
+INSERT INTO password_reset_tokens (token_hash, user_id, expires_at, created_at)
+SELECT encode(sha256(convert_to(reset_token, 'UTF8')), 'hex'), id, reset_token_expiry, now()
+FROM users
+WHERE reset_token IS NOT NULL AND reset_token_expiry > now();
+
+-- Also drops idx_users_reset_token
+ALTER TABLE users DROP COLUMN IF EXISTS reset_token;
+ALTER TABLE users DROP COLUMN IF EXISTS reset_token_expiry;
@@ -0,0 +1,5 @@
+-- change_seq is now stamped after commit (see ChangeSequence); the stamper looks for
+-- unstamped rows on every commit
+CREATE INDEX IF NOT EXISTS idx_leave_requests_unstamped ON leave_requests (id) WHERE change_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_employees_unstamped ON employees (id) WHERE change_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_change_tombstones_unstamped ON change_tombstones (id) WHERE change_seq IS NULL;
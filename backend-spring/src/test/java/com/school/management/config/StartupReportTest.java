@@ -0,0 +1,41 @@
+package com.school.management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    @Test
+    void summarize_ReportsPhasesAndSlowestBeans() throws Exception {
+        // Arrange
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        bean(applicationStartup, "flywayInitializer", 5);
+        // The deferred JPA bootstrap records the factory bean under its & name
+        bean(applicationStartup, "&entityManagerFactory", 20);
+        bean(applicationStartup, "employeeService", 1);
+        applicationStartup.start("school.roles.load").end();
+
+        // Act
+        List<String> lines = StartupReport.summarize(applicationStartup.getBufferedTimeline());
+
+        // Assert
+        assertTrue(lines.get(0).startsWith("Flyway migrations: "));
+        assertTrue(lines.get(1).startsWith("JPA bootstrap (EntityManagerFactory): "));
+        assertFalse(lines.get(1).endsWith("not during startup"));
+        assertEquals("Repository scanning: not during startup", lines.get(2));
+        assertTrue(lines.get(3).startsWith("Role registry runner: "));
+        assertEquals("Springdoc scanning: not during startup", lines.get(4));
+        assertTrue(lines.get(5).startsWith("Slowest beans: [&entityManagerFactory "));
+    }
+
+    private static void bean(BufferingApplicationStartup applicationStartup, String beanName, long millis) throws Exception {
+        StartupStep step = applicationStartup.start(StartupReport.INSTANTIATE).tag("beanName", beanName);
+        Thread.sleep(millis);
+        step.end();
+    }
+}
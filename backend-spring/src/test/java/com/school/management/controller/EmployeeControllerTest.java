@@ -2,6 +2,7 @@ package com.school.management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.school.management.entity.Employee;
+import com.school.management.payload.EmployeeView;
 import com.school.management.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,7 @@ class EmployeeControllerTest {
     private Employee testEmployee1;
     private Employee testEmployee2;
     private List<Employee> employeeList;
+    private List<EmployeeView> employeeViews;
 
     @BeforeEach
     void setUp() {
@@ -63,13 +65,17 @@ class EmployeeControllerTest {
                 .build();
 
         employeeList = Arrays.asList(testEmployee1, testEmployee2);
+        employeeViews = employeeList.stream()
+                .map(e -> new EmployeeView(e.getId(), e.getName(), e.getEmployeeId(), e.getDepartment(),
+                        e.getPosition(), e.getContactInfo(), e.getStartDate(), null))
+                .toList();
     }
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void getAllEmployees_WithAdminRole_ReturnsEmployeeList() throws Exception {
         // Arrange
-        when(employeeService.findAll()).thenReturn(employeeList);
+        when(employeeService.findAllViews()).thenReturn(employeeViews);
 
         // Act & Assert
         mockMvc.perform(get("/api/employees"))
@@ -85,7 +91,7 @@ class EmployeeControllerTest {
     @WithMockUser(roles = {"EMPLOYEE"})
     void getAllEmployees_WithEmployeeRole_ReturnsEmployeeList() throws Exception {
         // Arrange
-        when(employeeService.findAll()).thenReturn(employeeList);
+        when(employeeService.findAllViews()).thenReturn(employeeViews);
 
         // Act & Assert
         mockMvc.perform(get("/api/employees"))
@@ -97,7 +103,7 @@ class EmployeeControllerTest {
     @WithMockUser(roles = {"MANAGER"})
     void getAllEmployees_WithManagerRole_ReturnsEmployeeList() throws Exception {
         // Arrange
-        when(employeeService.findAll()).thenReturn(employeeList);
+        when(employeeService.findAllViews()).thenReturn(employeeViews);
 
         // Act & Assert
         mockMvc.perform(get("/api/employees"))
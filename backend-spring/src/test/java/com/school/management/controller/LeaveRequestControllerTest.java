@@ -5,6 +5,8 @@ import com.school.management.entity.Employee;
 import com.school.management.entity.LeaveRequest;
 import com.school.management.entity.LeaveStatus;
 import com.school.management.entity.LeaveType;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.payload.LeaveStatusUpdate;
 import com.school.management.service.EmployeeService;
 import com.school.management.service.LeaveRequestService;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +26,8 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -103,6 +107,8 @@ class LeaveRequestControllerTest {
                 .build();
 
         leaveRequestList = Arrays.asList(testLeaveRequest1, testLeaveRequest2, testLeaveRequest3);
+        when(leaveRequestService.countWorkingDays(any(LeaveRequest.class))).thenReturn(3);
+        when(leaveRequestService.isWithinCalendarWindow(any(LeaveRequest.class))).thenReturn(true);
     }
 
     @Test
@@ -185,6 +191,47 @@ class LeaveRequestControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = {"EMPLOYEE"})
+    void createLeaveRequest_CoveringNoWorkingDays_ReturnsBadRequest() throws Exception {
+        // Arrange
+        LeaveRequest weekendOnly = LeaveRequest.builder()
+                .employee(testEmployee1)
+                .leaveType(LeaveType.ANNUAL)
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(2))
+                .reason("Weekend")
+                .build();
+        when(leaveRequestService.countWorkingDays(any(LeaveRequest.class))).thenReturn(0);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/leaverequests")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(weekendOnly)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"EMPLOYEE"})
+    void createLeaveRequest_OutsideCalendarWindow_ReturnsBadRequest() throws Exception {
+        // Arrange
+        LeaveRequest farAway = LeaveRequest.builder()
+                .employee(testEmployee1)
+                .leaveType(LeaveType.ANNUAL)
+                .startDate(LocalDate.now().plusYears(500))
+                .endDate(LocalDate.now().plusYears(500))
+                .reason("Sabbatical")
+                .build();
+        when(leaveRequestService.isWithinCalendarWindow(any(LeaveRequest.class))).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/leaverequests")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(farAway)))
+                .andExpect(status().isBadRequest());
+        verify(leaveRequestService, never()).save(any(LeaveRequest.class));
+    }
+
     @Test
     @WithMockUser(roles = {"EMPLOYEE"})
     void createLeaveRequest_WithNullEmployee_ReturnsBadRequest() throws Exception {
@@ -260,7 +307,7 @@ class LeaveRequestControllerTest {
     @WithMockUser(roles = {"MANAGER"})
     void getAllLeaveRequests_WithManagerRole_ReturnsLeaveRequestList() throws Exception {
         // Arrange
-        when(leaveRequestService.findAll()).thenReturn(leaveRequestList);
+        when(leaveRequestService.findAllViews()).thenReturn(views(leaveRequestList));
 
         // Act & Assert
         mockMvc.perform(get("/api/leaverequests"))
@@ -276,7 +323,7 @@ class LeaveRequestControllerTest {
     @WithMockUser(roles = {"ADMIN"})
     void getAllLeaveRequests_WithAdminRole_ReturnsLeaveRequestList() throws Exception {
         // Arrange
-        when(leaveRequestService.findAll()).thenReturn(leaveRequestList);
+        when(leaveRequestService.findAllViews()).thenReturn(views(leaveRequestList));
 
         // Act & Assert
         mockMvc.perform(get("/api/leaverequests"))
@@ -284,6 +331,20 @@ class LeaveRequestControllerTest {
                 .andExpect(jsonPath("$.length()").value(3));
     }
 
+    @Test
+    @WithMockUser(roles = {"MANAGER"})
+    void getAllLeaveRequests_WithStatusFilter_ReturnsMatchingRequests() throws Exception {
+        // Arrange
+        when(leaveRequestService.findViewsByStatus(LeaveStatus.PENDING))
+                .thenReturn(views(Arrays.asList(testLeaveRequest1, testLeaveRequest3)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/leaverequests").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].employee.name").value("Jane Smith"));
+    }
+
     @Test
     @WithMockUser(roles = {"EMPLOYEE"})
     void getAllLeaveRequests_WithEmployeeRole_ReturnsForbidden() throws Exception {
@@ -304,8 +365,7 @@ class LeaveRequestControllerTest {
     void getLeaveRequestsForEmployee_WithValidEmployeeId_ReturnsLeaveRequests() throws Exception {
         // Arrange
         List<LeaveRequest> employeeRequests = Arrays.asList(testLeaveRequest1, testLeaveRequest2);
-        when(employeeService.findById(1L)).thenReturn(Optional.of(testEmployee1));
-        when(leaveRequestService.findByEmployee(testEmployee1)).thenReturn(employeeRequests);
+        when(leaveRequestService.findViewsByEmployeeId(1L)).thenReturn(views(employeeRequests));
 
         // Act & Assert
         mockMvc.perform(get("/api/leaverequests/employee/1"))
@@ -320,8 +380,7 @@ class LeaveRequestControllerTest {
     void getLeaveRequestsForEmployee_WithManagerRole_ReturnsLeaveRequests() throws Exception {
         // Arrange
         List<LeaveRequest> employeeRequests = Arrays.asList(testLeaveRequest1);
-        when(employeeService.findById(1L)).thenReturn(Optional.of(testEmployee1));
-        when(leaveRequestService.findByEmployee(testEmployee1)).thenReturn(employeeRequests);
+        when(leaveRequestService.findViewsByEmployeeId(1L)).thenReturn(views(employeeRequests));
 
         // Act & Assert
         mockMvc.perform(get("/api/leaverequests/employee/1"))
@@ -334,8 +393,7 @@ class LeaveRequestControllerTest {
     void getLeaveRequestsForEmployee_WithAdminRole_ReturnsLeaveRequests() throws Exception {
         // Arrange
         List<LeaveRequest> employeeRequests = Arrays.asList(testLeaveRequest1);
-        when(employeeService.findById(1L)).thenReturn(Optional.of(testEmployee1));
-        when(leaveRequestService.findByEmployee(testEmployee1)).thenReturn(employeeRequests);
+        when(leaveRequestService.findViewsByEmployeeId(1L)).thenReturn(views(employeeRequests));
 
         // Act & Assert
         mockMvc.perform(get("/api/leaverequests/employee/1"))
@@ -357,33 +415,24 @@ class LeaveRequestControllerTest {
     @WithMockUser(roles = {"MANAGER"})
     void updateLeaveRequestStatus_WithValidRequest_ReturnsUpdatedRequest() throws Exception {
         // Arrange
-        LeaveRequest updatedRequest = LeaveRequest.builder()
-                .id(1L)
-                .employee(testEmployee1)
-                .leaveType(LeaveType.ANNUAL)
-                .startDate(LocalDate.now().plusDays(1))
-                .endDate(LocalDate.now().plusDays(5))
-                .reason("Vacation")
-                .status(LeaveStatus.APPROVED)
-                .build();
-
-        when(leaveRequestService.findById(1L)).thenReturn(Optional.of(testLeaveRequest1));
-        when(leaveRequestService.save(any(LeaveRequest.class))).thenReturn(updatedRequest);
+        LeaveStatusUpdate update = new LeaveStatusUpdate(1L, LeaveStatus.PENDING, LeaveStatus.APPROVED, 1L);
+        when(leaveRequestService.transitionStatus(1L, LeaveStatus.APPROVED)).thenReturn(Optional.of(update));
 
         // Act & Assert
         mockMvc.perform(put("/api/leaverequests/1/status")
                         .param("status", "APPROVED"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.status").value("APPROVED"));
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.version").value(1));
     }
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void updateLeaveRequestStatus_WithAdminRole_ReturnsUpdatedRequest() throws Exception {
         // Arrange
-        when(leaveRequestService.findById(1L)).thenReturn(Optional.of(testLeaveRequest1));
-        when(leaveRequestService.save(any(LeaveRequest.class))).thenReturn(testLeaveRequest1);
+        LeaveStatusUpdate update = new LeaveStatusUpdate(1L, LeaveStatus.PENDING, LeaveStatus.REJECTED, 1L);
+        when(leaveRequestService.transitionStatus(1L, LeaveStatus.REJECTED)).thenReturn(Optional.of(update));
 
         // Act & Assert
         mockMvc.perform(put("/api/leaverequests/1/status")
@@ -395,7 +444,8 @@ class LeaveRequestControllerTest {
     @WithMockUser(roles = {"MANAGER"})
     void updateLeaveRequestStatus_WithNonexistentRequest_ReturnsNotFound() throws Exception {
         // Arrange
-        when(leaveRequestService.findById(999L)).thenReturn(Optional.empty());
+        when(leaveRequestService.transitionStatus(999L, LeaveStatus.APPROVED)).thenReturn(Optional.empty());
+        when(leaveRequestService.findStatusById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(put("/api/leaverequests/999/status")
@@ -403,6 +453,19 @@ class LeaveRequestControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = {"MANAGER"})
+    void updateLeaveRequestStatus_WithAlreadyDecidedRequest_ReturnsConflict() throws Exception {
+        // Arrange
+        when(leaveRequestService.transitionStatus(1L, LeaveStatus.PENDING)).thenReturn(Optional.empty());
+        when(leaveRequestService.findStatusById(1L)).thenReturn(Optional.of(LeaveStatus.APPROVED));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/leaverequests/1/status")
+                        .param("status", "PENDING"))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @WithMockUser(roles = {"EMPLOYEE"})
     void updateLeaveRequestStatus_WithEmployeeRole_ReturnsForbidden() throws Exception {
@@ -417,7 +480,7 @@ class LeaveRequestControllerTest {
     void deleteOwnPendingLeaveRequest_WithPendingRequest_ReturnsNoContent() throws Exception {
         // Arrange
         when(leaveRequestService.findById(1L)).thenReturn(Optional.of(testLeaveRequest1));
-        doNothing().when(leaveRequestService).deleteById(1L);
+        doNothing().when(leaveRequestService).delete(any(LeaveRequest.class));
 
         // Act & Assert
         mockMvc.perform(delete("/api/leaverequests/1"))
@@ -429,7 +492,7 @@ class LeaveRequestControllerTest {
     void deleteOwnPendingLeaveRequest_WithManagerRole_ReturnsNoContent() throws Exception {
         // Arrange
         when(leaveRequestService.findById(1L)).thenReturn(Optional.of(testLeaveRequest1));
-        doNothing().when(leaveRequestService).deleteById(1L);
+        doNothing().when(leaveRequestService).delete(any(LeaveRequest.class));
 
         // Act & Assert
         mockMvc.perform(delete("/api/leaverequests/1"))
@@ -441,7 +504,7 @@ class LeaveRequestControllerTest {
     void deleteOwnPendingLeaveRequest_WithAdminRole_ReturnsNoContent() throws Exception {
         // Arrange
         when(leaveRequestService.findById(1L)).thenReturn(Optional.of(testLeaveRequest1));
-        doNothing().when(leaveRequestService).deleteById(1L);
+        doNothing().when(leaveRequestService).delete(any(LeaveRequest.class));
 
         // Act & Assert
         mockMvc.perform(delete("/api/leaverequests/1"))
@@ -484,4 +547,16 @@ class LeaveRequestControllerTest {
         mockMvc.perform(delete("/api/leaverequests/1"))
                 .andExpect(status().isForbidden());
     }
+
+    private static List<LeaveRequestView> views(List<LeaveRequest> leaveRequests) {
+        return leaveRequests.stream().map(LeaveRequestControllerTest::view).toList();
+    }
+
+    private static LeaveRequestView view(LeaveRequest leaveRequest) {
+        Employee e = leaveRequest.getEmployee();
+        return new LeaveRequestView(leaveRequest.getId(), leaveRequest.getLeaveType(), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), leaveRequest.getReason(), leaveRequest.getStatus(),
+                leaveRequest.getVersion(), leaveRequest.getChangeSeq(),
+                e.getId(), e.getName(), e.getEmployeeId(), e.getDepartment(), e.getPosition());
+    }
 }
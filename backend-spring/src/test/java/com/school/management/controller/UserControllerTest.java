@@ -3,6 +3,7 @@ package com.school.management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.school.management.entity.Role;
 import com.school.management.entity.User;
+import com.school.management.service.BulkUserProvisioningService;
 import com.school.management.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private BulkUserProvisioningService bulkUserProvisioningService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
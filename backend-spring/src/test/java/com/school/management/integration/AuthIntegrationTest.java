@@ -7,6 +7,7 @@ import com.school.management.payload.AuthRequest;
 import com.school.management.payload.RegisterRequest;
 import com.school.management.repository.RoleRepository;
 import com.school.management.repository.UserRepository;
+import com.school.management.testsupport.MaxQueries;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebMvc
 @ActiveProfiles("test")
+@MaxQueries(5)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Transactional
 public class AuthIntegrationTest {
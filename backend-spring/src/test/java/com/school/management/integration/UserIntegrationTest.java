@@ -7,6 +7,7 @@ import com.school.management.payload.ChangePasswordRequest;
 import com.school.management.repository.RoleRepository;
 import com.school.management.repository.UserRepository;
 import com.school.management.security.JwtUtils;
+import com.school.management.testsupport.MaxQueries;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebMvc
 @ActiveProfiles("test")
+@MaxQueries(4)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Transactional
 public class UserIntegrationTest {
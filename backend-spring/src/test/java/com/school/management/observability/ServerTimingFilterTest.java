@@ -0,0 +1,164 @@
+package com.school.management.observability;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TimedJsonHttpMessageConverter converter = new TimedJsonHttpMessageConverter(objectMapper, 262144);
+
+    @Test
+    void jsonResponse_HeaderCarriesAllPhasesAndBodyIsUnchanged() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(false).doFilter(request("/api/employees"), response, writeJson(Map.of("name", "Jane")));
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.contains("auth;dur="));
+        assertTrue(header.contains("db;dur=2.0;desc=\"SQL (2 statements)\""));
+        assertTrue(header.contains("ser;dur="));
+        assertTrue(header.contains("app;dur="));
+        assertEquals("{\"name\":\"Jane\"}", response.getContentAsString());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void responseWithoutBody_StillGetsHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request("/api/leaverequests/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        assertNotNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void debugRequest_WrapsBodyWithTimingBlock() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/api/employees");
+        request.addHeader(ServerTimingFilter.DEBUG_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(request, response, writeJson(List.of(1, 2)));
+
+        // Assert
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals(2, body.get("data").size());
+        assertEquals(2, body.get("timing").get("dbStatements").asInt());
+        assertTrue(body.get("timing").has("serMs"));
+    }
+
+    @Test
+    void bodyOverBufferLimit_IsStreamedWithoutSer() throws Exception {
+        // Arrange
+        TimedJsonHttpMessageConverter small = new TimedJsonHttpMessageConverter(objectMapper, 16);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> body = List.of("first entry", "second entry", "third entry");
+
+        // Act
+        filter(false).doFilter(request("/api/employees"), response, writeJson(small, body));
+
+        // Assert: the header went out when the buffer overflowed, before ser was known
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertTrue(header.contains("db;dur="));
+        assertFalse(header.contains("ser;dur="));
+        assertTrue(header.contains("ser;desc=\"JSON serialization (streamed)\""));
+        assertEquals(objectMapper.writeValueAsString(body), response.getContentAsString());
+    }
+
+    @Test
+    void debugRequest_OverBufferLimit_StillEndsWithTimingBlock() throws Exception {
+        // Arrange
+        TimedJsonHttpMessageConverter small = new TimedJsonHttpMessageConverter(objectMapper, 16);
+        MockHttpServletRequest request = request("/api/employees");
+        request.addHeader(ServerTimingFilter.DEBUG_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(request, response, writeJson(small, List.of("first entry", "second entry", "third entry")));
+
+        // Assert
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals(3, body.get("data").size());
+        assertTrue(body.get("timing").has("serMs"));
+    }
+
+    @Test
+    void debugHeader_IgnoredUnlessEnabled() throws Exception {
+        MockHttpServletRequest request = request("/api/employees");
+        request.addHeader(ServerTimingFilter.DEBUG_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request, response, writeJson(List.of(1, 2)));
+
+        assertEquals("[1,2]", response.getContentAsString());
+    }
+
+    @Test
+    void allowedCrossOrigin_GetsTimingAllowOrigin() throws Exception {
+        MockHttpServletRequest request = request("/api/employees");
+        request.addHeader("Origin", "http://localhost:3000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request, response, writeJson(Map.of()));
+
+        assertEquals("http://localhost:3000", response.getHeader("Timing-Allow-Origin"));
+    }
+
+    @Test
+    void nonApiPath_IsNotTimed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request("/swagger-ui/index.html"), response, (req, res) -> assertNull(RequestTimings.current()));
+
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    private FilterChain writeJson(Object body) {
+        return writeJson(converter, body);
+    }
+
+    private static FilterChain writeJson(TimedJsonHttpMessageConverter converter, Object body) {
+        return (req, res) -> {
+            RequestTimings.record(RequestTimings.Phase.AUTH, 500_000);
+            RequestTimings.recordStatement(1_000_000);
+            RequestTimings.recordStatement(1_000_000);
+            converter.write(body, MediaType.APPLICATION_JSON, new ServletServerHttpResponse((HttpServletResponse) res));
+        };
+    }
+
+    private static ServerTimingFilter filter(boolean debugEnabled) {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOriginPatterns(List.of("http://localhost:*"));
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new ServerTimingFilter(source, true, debugEnabled);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        return request;
+    }
+}
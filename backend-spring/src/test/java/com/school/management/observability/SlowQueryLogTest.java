@@ -0,0 +1,109 @@
+package com.school.management.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SlowQueryLogTest {
+
+    @Test
+    void sensitiveParameters_FollowInsertColumnsAndComparedColumns() {
+        assertEquals(Set.of(3), SlowQueryLog.sensitiveParameters(
+                "insert into users (email,employee_id,password,username) values (?,?,?,?)"));
+        assertEquals(Set.of(1), SlowQueryLog.sensitiveParameters(
+                "insert into password_reset_tokens (token_hash, user_id, expires_at, created_at) values (?, ?, ?, now())"));
+        assertEquals(Set.of(3), SlowQueryLog.sensitiveParameters(
+                "update users set email=?,employee_id=?,password=?,username=? where id=?"));
+        assertEquals(Set.of(1, 2), SlowQueryLog.sensitiveParameters(
+                "select p1_0.id from password_reset_tokens p1_0 where p1_0.token_hash in (?, ?) and p1_0.user_id=?"));
+        assertEquals(Set.of(), SlowQueryLog.sensitiveParameters(
+                "select u1_0.id from users u1_0 where u1_0.username=?"));
+    }
+
+    @Test
+    void redactedParameters_HideCredentialsAndBcryptHashes() {
+        String hash = "$2a$10$" + "a".repeat(53);
+
+        List<String> values = SlowQueryLog.redactedParameters("update users set password=?, email=? where id=?",
+                Map.of(1, "secret", 2, "jane@school.test", 3, 7L));
+        List<String> selected = SlowQueryLog.redactedParameters("select * from audit where note=? and bytes=?",
+                Map.of(1, hash, 2, new byte[4]));
+
+        assertEquals(List.of(SlowQueryLog.REDACTED, "jane@school.test", "7"), values);
+        assertEquals(List.of(SlowQueryLog.REDACTED, "<4 bytes>"), selected);
+    }
+
+    @Test
+    void record_KeepsOnlyTheMostRecentNewestFirst() {
+        SlowQueryLog log = new SlowQueryLog(true, 0, 2);
+
+        log.record("select 1", Map.of(), 1_000_000);
+        log.record("select 2", Map.of(), 1_000_000);
+        log.record("select 3", Map.of(), 1_000_000);
+
+        assertEquals(List.of("select 3", "select 2"), log.recent().stream().map(SlowQuery::getSql).toList());
+        assertEquals(3, log.capturedCount());
+        assertEquals(2, log.bufferedCount());
+    }
+
+    @Test
+    void isSlow_RespectsThresholdAndEnabledFlag() {
+        assertFalse(new SlowQueryLog(true, 200, 10).isSlow(199_000_000));
+        assertTrue(new SlowQueryLog(true, 200, 10).isSlow(200_000_000));
+        assertFalse(new SlowQueryLog(false, 0, 10).isSlow(1_000_000_000));
+    }
+
+    @Test
+    void dataSource_CapturesSlowStatementWithParametersAndRowCount() throws Exception {
+        // Arrange: threshold 0, so every statement is slow
+        SlowQueryLog log = new SlowQueryLog(true, 0, 10);
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        DataSource timed = (DataSource) new DataSourceTimingPostProcessor(provider(log))
+                .postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Act
+        try (Connection c = timed.getConnection()) {
+            PreparedStatement ps = c.prepareStatement("select * from users where username=? and password=?");
+            ps.setString(1, "jane");
+            ps.setString(2, "secret");
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                // read the rows
+            }
+        }
+
+        // Assert
+        SlowQuery query = log.recent().get(0);
+        assertEquals("select * from users where username=? and password=?", query.getSql());
+        assertEquals(Arrays.asList("jane", SlowQueryLog.REDACTED), query.getParameters());
+        assertEquals(2L, query.getRowCount());
+        // Not issued from a controller or service
+        assertNull(query.getCallSite());
+    }
+
+    private static ObjectProvider<SlowQueryLog> provider(SlowQueryLog log) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("slowQueryLog", log);
+        return beanFactory.getBeanProvider(SlowQueryLog.class);
+    }
+}
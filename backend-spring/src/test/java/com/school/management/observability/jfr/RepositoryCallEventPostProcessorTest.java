@@ -0,0 +1,86 @@
+package com.school.management.observability.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RepositoryCallEventPostProcessorTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rows_CountsWhatTheRepositoryReturned() {
+        assertEquals(0, RepositoryCallEventPostProcessor.rows(null, false));
+        assertEquals(3, RepositoryCallEventPostProcessor.rows(List.of(1, 2, 3), false));
+        assertEquals(2, RepositoryCallEventPostProcessor.rows(new PageImpl<>(List.of(1, 2)), false));
+        assertEquals(0, RepositoryCallEventPostProcessor.rows(Optional.empty(), false));
+        assertEquals(-1, RepositoryCallEventPostProcessor.rows(Stream.of(1), false));
+        assertEquals(7, RepositoryCallEventPostProcessor.rows(7, true));
+        // count() returns a single row however large the number
+        assertEquals(1, RepositoryCallEventPostProcessor.rows(42L, false));
+    }
+
+    @Test
+    void interceptor_RecordsEndpointRoleAndRowCount() throws Throwable {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/5");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(List.class.getMethod("size"));
+        when(invocation.proceed()).thenReturn(List.of("a", "b"));
+
+        Path file = Files.createTempFile("repository-event-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryCallEvent.class);
+            recording.start();
+
+            // Act
+            new RepositoryCallEventPostProcessor.Interceptor("EmployeeRepository").invoke(invocation);
+
+            recording.stop();
+            recording.dump(file);
+
+            // Assert
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.school.management.RepositoryCall"))
+                    .toList();
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals("EmployeeRepository", event.getString("repository"));
+            assertEquals("size", event.getString("method"));
+            assertEquals(2, event.getLong("rowCount"));
+            assertEquals("GET /api/employees/{id}", event.getString("endpoint"));
+            assertEquals("ADMIN", event.getString("userRole"));
+            assertFalse(event.getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
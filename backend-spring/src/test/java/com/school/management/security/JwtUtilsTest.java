@@ -6,10 +6,12 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.security.Key;
 import java.util.Date;
@@ -22,12 +24,16 @@ import static org.junit.jupiter.api.Assertions.*;
 class JwtUtilsTest {
 
     private JwtUtils jwtUtils;
+    private SimpleMeterRegistry meterRegistry;
     private User testUser;
     private final String jwtSecret = "ThisIsASecretKeyForJwtTokenShouldBeLongEnoughToBeSecure";
 
     @BeforeEach
     void setUp() {
-        jwtUtils = new JwtUtils();
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtils = new JwtUtils(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", jwtSecret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000L);
 
         Role adminRole = new Role();
         adminRole.setId(1L);
@@ -287,6 +293,20 @@ class JwtUtilsTest {
         assertEquals("", roles);
     }
 
+    @Test
+    void generateAndValidate_RecordTimersByOutcome() {
+        // Act
+        String token = jwtUtils.generateToken(testUser);
+        jwtUtils.validateToken(token);
+        jwtUtils.getUsernameFromToken(token);
+        jwtUtils.validateToken("invalid.token.here");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("jwt.generate").timer().count());
+        assertEquals(2, meterRegistry.get("jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
     // Helper method to get signing key (same logic as in JwtUtils)
     private Key getSignInKey() {
         byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
@@ -2,19 +2,24 @@ package com.school.management.service;
 
 import com.school.management.entity.Employee;
 import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
 import com.school.management.entity.User;
+import com.school.management.event.EmployeeEvent;
 import com.school.management.payload.RegisterRequest;
 import com.school.management.repository.EmployeeRepository;
-import com.school.management.repository.RoleRepository;
 import com.school.management.repository.UserRepository;
 import com.school.management.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -36,7 +41,7 @@ class AuthServiceTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
 
     @Mock
     private JwtUtils jwtUtils;
@@ -45,7 +50,16 @@ class AuthServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
+
+    @Mock
+    private PasswordResetTokenService passwordResetTokenService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private AuthService authService;
@@ -85,8 +99,8 @@ class AuthServiceTest {
         registerRequest.setUsername("johndoe");
         registerRequest.setPassword("password123");
         registerRequest.setEmail("john.doe@company.com");
-        registerRequest.setRoles(List.of("EMPLOYEE"));
-        registerRequest.setEmployeeId("EMP001");
+        registerRequest.setRoles(Set.of("EMPLOYEE"));
+        registerRequest.setEmployeeId(1L);
         registerRequest.setName("John Doe");
         registerRequest.setDepartment("IT");
         registerRequest.setPosition("Developer");
@@ -113,6 +127,7 @@ class AuthServiceTest {
         verify(userRepository).findByUsername(username);
         verify(passwordEncoder).matches(password, testUser.getPassword());
         verify(jwtUtils).generateToken(testUser);
+        assertEquals(1, meterRegistry.get("auth.bcrypt").tag("operation", "matches").timer().count());
     }
 
     @Test
@@ -156,7 +171,7 @@ class AuthServiceTest {
     void registerNewUser_WithValidData_ReturnsUser() {
         // Arrange
         when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("EMPLOYEE")).thenReturn(Optional.of(employeeRole));
+        when(roleRegistry.reference(RoleName.EMPLOYEE)).thenReturn(employeeRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
         when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -168,12 +183,31 @@ class AuthServiceTest {
         assertNotNull(result);
         assertEquals(testUser.getUsername(), result.getUsername());
         verify(userRepository).findByUsername(registerRequest.getUsername());
-        verify(roleRepository).findByName("EMPLOYEE");
+        verify(roleRegistry).reference(RoleName.EMPLOYEE);
         verify(passwordEncoder).encode(registerRequest.getPassword());
         verify(employeeRepository).save(any(Employee.class));
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void registerNewUser_WithEmployeeData_PublishesEmployeeCreated() {
+        // Arrange
+        when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
+        when(roleRegistry.reference(RoleName.EMPLOYEE)).thenReturn(employeeRole);
+        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        authService.registerNewUser(registerRequest);
+
+        // Assert
+        ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(EmployeeEvent.Type.CREATED, event.getValue().getType());
+        assertEquals(testEmployee.getId(), event.getValue().getEmployeeId());
+    }
+
     @Test
     void registerNewUser_WithExistingUsername_ReturnsNull() {
         // Arrange
@@ -185,7 +219,7 @@ class AuthServiceTest {
         // Assert
         assertNull(result);
         verify(userRepository).findByUsername(registerRequest.getUsername());
-        verify(roleRepository, never()).findByName(anyString());
+        verify(roleRegistry, never()).reference(any());
         verify(employeeRepository, never()).save(any());
         verify(userRepository, never()).save(any());
     }
@@ -196,21 +230,24 @@ class AuthServiceTest {
         String username = "johndoe";
         String currentPassword = "currentPassword";
         String newPassword = "newPassword123";
+        // changePassword replaces the hash on testUser, so keep the one it has to be checked against
+        String originalHash = testUser.getPassword();
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(currentPassword, testUser.getPassword())).thenReturn(true);
+        when(passwordEncoder.matches(currentPassword, originalHash)).thenReturn(true);
         when(passwordEncoder.encode(newPassword)).thenReturn("newHashedPassword");
         when(userRepository.save(testUser)).thenReturn(testUser);
 
         // Act
         boolean result = authService.changePassword(username, currentPassword, newPassword);
 
-        // Assert
+        // Assert: the current password is checked against the old hash before the new one is stored
         assertTrue(result);
         verify(userRepository).findByUsername(username);
-        verify(passwordEncoder).matches(currentPassword, testUser.getPassword());
-        verify(passwordEncoder).encode(newPassword);
-        verify(userRepository).save(testUser);
+        InOrder inOrder = inOrder(passwordEncoder, userRepository);
+        inOrder.verify(passwordEncoder).matches(currentPassword, originalHash);
+        inOrder.verify(passwordEncoder).encode(newPassword);
+        inOrder.verify(userRepository).save(argThat(saved -> "newHashedPassword".equals(saved.getPassword())));
     }
 
     @Test
@@ -274,10 +311,10 @@ class AuthServiceTest {
         adminRole.setId(2L);
         adminRole.setName("ADMIN");
 
-        registerRequest.setRoles(List.of("ADMIN"));
+        registerRequest.setRoles(Set.of("ADMIN"));
 
         when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
+        when(roleRegistry.reference(RoleName.ADMIN)).thenReturn(adminRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
         when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -337,7 +374,8 @@ class AuthServiceTest {
         // Arrange
         String email = "john.doe@company.com";
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(passwordResetTokenService.issue(testUser.getId())).thenReturn("raw-token");
+        when(passwordResetTokenService.getTtl()).thenReturn(java.time.Duration.ofMinutes(60));
 
         // Act
         boolean result = authService.initiatePasswordReset(email);
@@ -345,7 +383,8 @@ class AuthServiceTest {
         // Assert
         assertTrue(result);
         verify(userRepository).findByEmail(email);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).save(any());
+        verify(mailOutboxService).enqueue(eq(email), eq("Password Reset Request"), contains("reset-password?token=raw-token"));
     }
 
     @Test
@@ -374,7 +413,7 @@ class AuthServiceTest {
         // Assert
         assertFalse(result);
         verify(userRepository).findByEmail(email);
-        verify(userRepository, never()).save(any());
+        verify(passwordResetTokenService, never()).issue(any());
     }
 
     @Test
@@ -393,10 +432,8 @@ class AuthServiceTest {
         String token = "valid-reset-token";
         String newPassword = "newPassword123";
 
-        testUser.setResetToken(token);
-        testUser.setResetTokenExpiry(java.time.Instant.now().plusSeconds(3600));
-
-        when(userRepository.findByResetToken(token)).thenReturn(Optional.of(testUser));
+        when(passwordResetTokenService.consume(token)).thenReturn(Optional.of(testUser.getId()));
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode(newPassword)).thenReturn("newHashedPassword");
         when(userRepository.save(testUser)).thenReturn(testUser);
 
@@ -405,11 +442,10 @@ class AuthServiceTest {
 
         // Assert
         assertTrue(result);
-        verify(userRepository).findByResetToken(token);
+        verify(passwordResetTokenService).consume(token);
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(testUser);
-        assertNull(testUser.getResetToken());
-        assertNull(testUser.getResetTokenExpiry());
+        assertEquals("newHashedPassword", testUser.getPassword());
     }
 
     @Test
@@ -418,17 +454,15 @@ class AuthServiceTest {
         String token = "expired-token";
         String newPassword = "newPassword123";
 
-        testUser.setResetToken(token);
-        testUser.setResetTokenExpiry(java.time.Instant.now().minusSeconds(3600));
-
-        when(userRepository.findByResetToken(token)).thenReturn(Optional.of(testUser));
+        // Expiry is checked by the token store, which reports the token as unusable
+        when(passwordResetTokenService.consume(token)).thenReturn(Optional.empty());
 
         // Act
         boolean result = authService.resetPassword(token, newPassword);
 
         // Assert
         assertFalse(result);
-        verify(userRepository).findByResetToken(token);
+        verify(passwordResetTokenService).consume(token);
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any());
     }
@@ -439,14 +473,14 @@ class AuthServiceTest {
         String token = "invalid-token";
         String newPassword = "newPassword123";
 
-        when(userRepository.findByResetToken(token)).thenReturn(Optional.empty());
+        when(passwordResetTokenService.consume(token)).thenReturn(Optional.empty());
 
         // Act
         boolean result = authService.resetPassword(token, newPassword);
 
         // Assert
         assertFalse(result);
-        verify(userRepository).findByResetToken(token);
+        verify(passwordResetTokenService).consume(token);
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any());
     }
@@ -462,7 +496,7 @@ class AuthServiceTest {
 
         // Assert
         assertFalse(result);
-        verify(userRepository, never()).findByResetToken(anyString());
+        verify(passwordResetTokenService, never()).consume(anyString());
     }
 
     @Test
@@ -472,7 +506,7 @@ class AuthServiceTest {
         assertFalse(authService.resetPassword("token", null));
         assertFalse(authService.resetPassword(null, null));
 
-        verify(userRepository, never()).findByResetToken(anyString());
+        verify(passwordResetTokenService, never()).consume(anyString());
     }
 
     @Test
@@ -481,7 +515,7 @@ class AuthServiceTest {
         registerRequest.setRoles(null);
 
         when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("EMPLOYEE")).thenReturn(Optional.of(employeeRole));
+        when(roleRegistry.reference(RoleName.EMPLOYEE)).thenReturn(employeeRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
         when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -491,16 +525,16 @@ class AuthServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(roleRepository).findByName("EMPLOYEE");
+        verify(roleRegistry).reference(RoleName.EMPLOYEE);
     }
 
     @Test
     void registerNewUser_WithEmptyRolesList_AssignsEmployeeRole() {
         // Arrange
-        registerRequest.setRoles(List.of());
+        registerRequest.setRoles(Set.of());
 
         when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("EMPLOYEE")).thenReturn(Optional.of(employeeRole));
+        when(roleRegistry.reference(RoleName.EMPLOYEE)).thenReturn(employeeRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
         when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -510,7 +544,7 @@ class AuthServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(roleRepository).findByName("EMPLOYEE");
+        verify(roleRegistry).reference(RoleName.EMPLOYEE);
     }
 
     @Test
@@ -520,7 +554,7 @@ class AuthServiceTest {
         registerRequest.setEmployeeId(null);
 
         when(userRepository.findByUsername(registerRequest.getUsername())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("EMPLOYEE")).thenReturn(Optional.of(employeeRole));
+        when(roleRegistry.reference(RoleName.EMPLOYEE)).thenReturn(employeeRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
@@ -531,5 +565,6 @@ class AuthServiceTest {
         assertNotNull(result);
         verify(employeeRepository, never()).save(any(Employee.class));
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
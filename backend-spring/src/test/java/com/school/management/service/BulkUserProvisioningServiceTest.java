@@ -0,0 +1,228 @@
+package com.school.management.service;
+
+import com.school.management.entity.Employee;
+import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
+import com.school.management.entity.User;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.payload.BulkRegisterResult;
+import com.school.management.payload.RegisterRequest;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.UserProvisioningRepository;
+import com.school.management.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private UserProvisioningRepository provisioningRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkUserProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        // Chunks of 2, two hashing threads
+        service = new BulkUserProvisioningService(userRepository, employeeRepository, provisioningRepository,
+                roleRegistry, passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, transactionManager, 2, 2, 100);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        lenient().when(roleRegistry.reference(any())).thenAnswer(invocation -> {
+            RoleName name = invocation.getArgument(0);
+            return new Role((long) name.ordinal() + 1, name.name());
+        });
+        AtomicLong ids = new AtomicLong(100);
+        lenient().doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.forEach(employee -> employee.setId(ids.incrementAndGet()));
+            return null;
+        }).when(provisioningRepository).insertEmployees(anyList());
+        lenient().doAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(user -> user.setId(ids.incrementAndGet()));
+            return null;
+        }).when(provisioningRepository).insertUsers(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void register_CreatesUsersAndEmployeesInChunks() {
+        // Arrange
+        List<RegisterRequest> requests = List.of(
+                request("alice", 1L), request("bob", 2L), request("carol", null));
+
+        // Act
+        List<BulkRegisterResult> results = service.register(requests);
+
+        // Assert
+        assertEquals(3, results.size());
+        results.forEach(result -> assertEquals(BulkRegisterResult.Outcome.CREATED, result.getOutcome()));
+        assertNotNull(results.get(0).getEmployeeDbId());
+        assertNull(results.get(2).getEmployeeDbId());
+        // Three users in chunks of two: two transactions, one batch per table each
+        verify(transactionManager, times(2)).commit(any());
+        verify(provisioningRepository, times(2)).insertUsers(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(EmployeeEvent.class));
+
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(provisioningRepository, times(2)).insertUsers(users.capture());
+        User alice = users.getAllValues().get(0).get(0);
+        assertEquals("hashed-secret-alice", alice.getPassword());
+        assertEquals("EMPLOYEE", alice.getRoles().iterator().next().getName());
+    }
+
+    @Test
+    void register_ResolvesEachRoleSetOnce() {
+        // Arrange
+        List<RegisterRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RegisterRequest request = request("teacher" + i, null);
+            request.setRoles(Set.of("MANAGER"));
+            requests.add(request);
+        }
+
+        // Act
+        service.register(requests);
+
+        // Assert
+        verify(roleRegistry, times(1)).reference(RoleName.MANAGER);
+    }
+
+    @Test
+    void register_ReportsRejectedRowsWithoutHashingThem() {
+        // Arrange
+        RegisterRequest unknownRole = request("dave", null);
+        unknownRole.setRoles(Set.of("JANITOR"));
+        RegisterRequest missingDepartment = request("erin", 5L);
+        missingDepartment.setDepartment(null);
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        when(employeeRepository.findExistingEmployeeIds(anyCollection())).thenReturn(List.of("9"));
+
+        List<RegisterRequest> requests = List.of(
+                request("taken", null), request("frank", 9L), request("gina", null), request("gina", null),
+                unknownRole, missingDepartment, request("hank", 10L));
+
+        // Act
+        List<BulkRegisterResult> results = service.register(requests);
+
+        // Assert
+        assertEquals(BulkRegisterResult.Outcome.USERNAME_TAKEN, results.get(0).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.EMPLOYEE_ID_TAKEN, results.get(1).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.CREATED, results.get(2).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.USERNAME_TAKEN, results.get(3).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.UNKNOWN_ROLE, results.get(4).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.INVALID, results.get(5).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.CREATED, results.get(6).getOutcome());
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    void register_AppliesSingleRegistrationConstraintsPerRow() {
+        // Arrange
+        RegisterRequest badEmail = request("ivan", null);
+        badEmail.setEmail("not-an-email");
+        RegisterRequest futureStart = request("jane", 11L);
+        futureStart.setStartDate(LocalDate.now().plusDays(1));
+
+        // Act
+        List<BulkRegisterResult> results = service.register(List.of(badEmail, futureStart, request("kim", 12L)));
+
+        // Assert
+        assertEquals(BulkRegisterResult.Outcome.INVALID, results.get(0).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.INVALID, results.get(1).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.CREATED, results.get(2).getOutcome());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void register_WhenAChunkFails_OnlyThatChunkIsFailed() {
+        // Arrange: the second chunk hits a concurrent registration
+        doAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            if (users.get(0).getUsername().equals("carol")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return null;
+        }).when(provisioningRepository).insertUsers(anyList());
+
+        // Act
+        List<BulkRegisterResult> results = service.register(List.of(
+                request("alice", null), request("bob", null), request("carol", null)));
+
+        // Assert
+        assertEquals(BulkRegisterResult.Outcome.CREATED, results.get(0).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.CREATED, results.get(1).getOutcome());
+        assertEquals(BulkRegisterResult.Outcome.FAILED, results.get(2).getOutcome());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void hashPasswords_KeepsInputOrder() {
+        // Act
+        List<String> hashes = service.hashPasswords(List.of("a", "b", "c", "d", "e"));
+
+        // Assert
+        assertEquals(List.of("hashed-a", "hashed-b", "hashed-c", "hashed-d", "hashed-e"), hashes);
+    }
+
+    private static RegisterRequest request(String username, Long employeeId) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword("secret-" + username);
+        request.setEmail(username + "@school.edu");
+        if (employeeId != null) {
+            request.setEmployeeId(employeeId);
+            request.setName("Name " + username);
+            request.setDepartment("Science");
+            request.setPosition("Teacher");
+            request.setContactInfo("555-0100");
+            request.setStartDate(LocalDate.of(2024, 9, 1));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.school.management.service;
+
+import com.school.management.entity.ChangeEntityType;
+import com.school.management.entity.ChangeTombstone;
+import com.school.management.payload.ChangeFeed;
+import com.school.management.payload.EmployeeView;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.repository.ChangeTombstoneRepository;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private ChangeTombstoneRepository changeTombstoneRepository;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void changesSince_MergesSourcesInSequenceOrder() {
+        // Arrange
+        when(employeeRepository.findChangedSince(eq(10L), any()))
+                .thenReturn(Arrays.asList(employee(1L, 11L), employee(2L, 15L)));
+        when(leaveRequestRepository.findChangedSince(eq(10L), any()))
+                .thenReturn(Collections.singletonList(leaveRequest(7L, 12L)));
+        when(changeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any()))
+                .thenReturn(Collections.singletonList(tombstone(ChangeEntityType.LEAVE_REQUEST, 5L, 14L)));
+
+        // Act
+        ChangeFeed result = changeFeedService.changesSince(10L, 100, null);
+
+        // Assert
+        assertEquals(15L, result.getCursor());
+        assertFalse(result.isHasMore());
+        assertEquals(2, result.getEmployees().size());
+        assertEquals(1, result.getLeaveRequests().size());
+        assertEquals(1, result.getDeleted().size());
+        assertEquals(5L, result.getDeleted().get(0).getId());
+        verify(leaveRequestRepository).findChangedSince(10L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void changesSince_LimitReached_CutsAtLimitAndReportsMore() {
+        // Arrange
+        when(employeeRepository.findChangedSince(eq(0L), any()))
+                .thenReturn(Arrays.asList(employee(1L, 1L), employee(2L, 4L)));
+        when(leaveRequestRepository.findChangedSince(eq(0L), any()))
+                .thenReturn(Arrays.asList(leaveRequest(7L, 2L), leaveRequest(8L, 3L)));
+        when(changeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(0L), any()))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        ChangeFeed result = changeFeedService.changesSince(0L, 2, null);
+
+        // Assert
+        assertEquals(2L, result.getCursor());
+        assertTrue(result.isHasMore());
+        assertEquals(1L, result.getEmployees().get(0).getId());
+        assertEquals(7L, result.getLeaveRequests().get(0).getId());
+    }
+
+    @Test
+    void changesSince_NothingNew_KeepsCursor() {
+        // Arrange
+        when(employeeRepository.findChangedSince(eq(42L), any())).thenReturn(Collections.emptyList());
+        when(leaveRequestRepository.findChangedSince(eq(42L), any())).thenReturn(Collections.emptyList());
+        when(changeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(42L), any())).thenReturn(Collections.emptyList());
+
+        // Act
+        ChangeFeed result = changeFeedService.changesSince(42L, 50, null);
+
+        // Assert
+        assertEquals(42L, result.getCursor());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void changesSince_ForEmployee_UsesFilteredQueries() {
+        // Arrange
+        when(employeeRepository.findChangedSince(eq(0L), any())).thenReturn(Collections.emptyList());
+        when(leaveRequestRepository.findChangedSinceForEmployee(eq(0L), eq(3L), any()))
+                .thenReturn(Collections.singletonList(leaveRequest(9L, 6L)));
+        when(changeTombstoneRepository.findVisibleToEmployeeSince(eq(0L), eq(3L), any())).thenReturn(Collections.emptyList());
+
+        // Act
+        ChangeFeed result = changeFeedService.changesSince(0L, 10, 3L);
+
+        // Assert
+        assertEquals(6L, result.getCursor());
+        assertEquals(1, result.getLeaveRequests().size());
+        verify(leaveRequestRepository, never()).findChangedSince(anyLong(), any());
+        verify(changeTombstoneRepository, never()).findByChangeSeqGreaterThanOrderByChangeSeqAsc(anyLong(), any());
+    }
+
+    private static EmployeeView employee(Long id, Long changeSeq) {
+        return new EmployeeView(id, null, null, null, null, null, null, changeSeq);
+    }
+
+    private static LeaveRequestView leaveRequest(Long id, Long changeSeq) {
+        return new LeaveRequestView(id, null, null, null, null, null, 0L, changeSeq, 1L, null, null, null, null);
+    }
+
+    private static ChangeTombstone tombstone(ChangeEntityType type, Long entityId, Long changeSeq) {
+        return ChangeTombstone.builder().entityType(type).entityId(entityId).changeSeq(changeSeq).build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.school.management.service;
+
+import com.school.management.entity.LeaveStatus;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.payload.ChangeNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeStreamServiceTest {
+
+    private ChangeStreamService changeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        changeStreamService = new ChangeStreamService(4, 60000, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeStreamService.shutdown();
+    }
+
+    @Test
+    void onLeaveRequestEvent_DeliversToManagersAndOwningEmployeeOnly() throws Exception {
+        // Arrange
+        RecordingEmitter manager = new RecordingEmitter(1);
+        RecordingEmitter owner = new RecordingEmitter(1);
+        RecordingEmitter otherEmployee = new RecordingEmitter(1);
+        changeStreamService.register(manager, true, null);
+        changeStreamService.register(owner, false, 7L);
+        changeStreamService.register(otherEmployee, false, 8L);
+
+        // Act
+        changeStreamService.onLeaveRequestEvent(new LeaveRequestEvent(
+                LeaveRequestEvent.Type.STATUS_CHANGED, 1L, 7L, LeaveStatus.PENDING, LeaveStatus.APPROVED));
+
+        // Assert
+        assertTrue(manager.await());
+        assertTrue(owner.await());
+        assertFalse(otherEmployee.await(200));
+        ChangeNotification received = (ChangeNotification) owner.data.get(0);
+        assertEquals("leaveRequest", received.getEntity());
+        assertEquals("STATUS_CHANGED", received.getType());
+        assertEquals(LeaveStatus.APPROVED, received.getStatus());
+    }
+
+    @Test
+    void onEmployeeEvent_DeliversToEverySubscriber() throws Exception {
+        // Arrange
+        RecordingEmitter manager = new RecordingEmitter(1);
+        RecordingEmitter employee = new RecordingEmitter(1);
+        changeStreamService.register(manager, true, null);
+        changeStreamService.register(employee, false, 8L);
+
+        // Act
+        changeStreamService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.UPDATED, 3L));
+
+        // Assert
+        assertTrue(manager.await());
+        assertTrue(employee.await());
+        assertEquals("employee", ((ChangeNotification) employee.data.get(0)).getEntity());
+    }
+
+    @Test
+    void slowSubscriber_OverflowingBuffer_ReceivesResyncInsteadOfBacklog() throws Exception {
+        // Arrange: the first send blocks until released, so everything after it piles up in the buffer
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(1) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        changeStreamService.register(slow, true, null);
+
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            changeStreamService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, id));
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(slow.await());
+        Thread.sleep(100);
+        assertTrue(slow.data.contains("{}"), "expected a resync marker");
+        assertTrue(slow.data.size() < 10);
+    }
+
+    @Test
+    void failingSubscriber_IsDropped() throws Exception {
+        // Arrange
+        CountDownLatch attempted = new CountDownLatch(1);
+        SseEmitter broken = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                attempted.countDown();
+                throw new IOException("Broken pipe");
+            }
+        };
+        changeStreamService.register(broken, true, null);
+
+        // Act
+        changeStreamService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.DELETED, 1L));
+
+        // Assert
+        assertTrue(attempted.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(0, changeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void stuckSubscriber_DoesNotDelayOthers_AndIsDroppedAfterSendTimeout() throws Exception {
+        // Arrange: one client never returns from send
+        CountDownLatch stuckSending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                stuckSending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingEmitter healthy = new RecordingEmitter(2);
+        changeStreamService.register(stuck, true, null);
+        changeStreamService.register(healthy, true, null);
+
+        // Act
+        changeStreamService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, 1L));
+        assertTrue(stuckSending.await(2, TimeUnit.SECONDS));
+        changeStreamService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, 2L));
+
+        // Assert: the healthy client gets both events while the stuck one is still sending
+        assertTrue(healthy.await());
+        Thread.sleep(300);
+        changeStreamService.heartbeat();
+        assertEquals(1, changeStreamService.getSubscriberCount());
+        release.countDown();
+    }
+
+    // Captures the data payload of every event sent to it
+    private static class RecordingEmitter extends SseEmitter {
+        final List<Object> data = new CopyOnWriteArrayList<>();
+        private final CountDownLatch expected;
+
+        RecordingEmitter(int expectedEvents) {
+            this.expected = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(d -> !(d instanceof String s && (s.startsWith("event:") || s.startsWith("data:") || s.startsWith("\n") || s.isBlank())))
+                    .forEach(data::add);
+            expected.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return await(2000);
+        }
+
+        boolean await(long millis) throws InterruptedException {
+            return expected.await(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.school.management.service;
+
+import com.school.management.entity.Employee;
+import com.school.management.entity.LeaveStatus;
+import com.school.management.event.EmployeeEvent;
+import com.school.management.event.LeaveRequestEvent;
+import com.school.management.payload.DashboardSummary;
+import com.school.management.payload.EmployeeLeaveSummary;
+import com.school.management.payload.RegisterRequest;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import com.school.management.repository.UserRepository;
+import com.school.management.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSummaryServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @InjectMocks
+    private DashboardSummaryService dashboardSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.count()).thenReturn(2L);
+        when(leaveRequestRepository.countByEmployeeAndStatus()).thenReturn(Arrays.asList(
+                statusCount(1L, LeaveStatus.PENDING, 2),
+                statusCount(1L, LeaveStatus.APPROVED, 1),
+                statusCount(2L, LeaveStatus.REJECTED, 3)
+        ));
+    }
+
+    @Test
+    void getSummary_FirstCall_ReconcilesFromDatabase() {
+        // Act
+        DashboardSummary result = dashboardSummaryService.getSummary();
+
+        // Assert
+        assertEquals(2, result.getTotalEmployees());
+        assertEquals(6, result.getTotalLeaveRequests());
+        assertEquals(2, result.getPendingLeaveRequests());
+        assertEquals(1, result.getApprovedLeaveRequests());
+        assertEquals(3, result.getRejectedLeaveRequests());
+        verify(leaveRequestRepository).countByEmployeeAndStatus();
+    }
+
+    @Test
+    void getSummary_AfterInitialization_DoesNotQueryAgain() {
+        // Act
+        dashboardSummaryService.getSummary();
+        dashboardSummaryService.getSummary();
+        dashboardSummaryService.getEmployeeSummary(1L);
+
+        // Assert
+        verify(employeeRepository, times(1)).count();
+        verify(leaveRequestRepository, times(1)).countByEmployeeAndStatus();
+    }
+
+    @Test
+    void onLeaveRequestEvent_StatusChange_MovesCounters() {
+        // Arrange
+        dashboardSummaryService.reconcile();
+
+        // Act
+        dashboardSummaryService.onLeaveRequestEvent(new LeaveRequestEvent(
+                LeaveRequestEvent.Type.STATUS_CHANGED, 10L, 1L, LeaveStatus.PENDING, LeaveStatus.APPROVED));
+
+        // Assert
+        DashboardSummary summary = dashboardSummaryService.getSummary();
+        assertEquals(6, summary.getTotalLeaveRequests());
+        assertEquals(1, summary.getPendingLeaveRequests());
+        assertEquals(2, summary.getApprovedLeaveRequests());
+        EmployeeLeaveSummary employee = dashboardSummaryService.getEmployeeSummary(1L);
+        assertEquals(3, employee.getTotalSubmitted());
+        assertEquals(1, employee.getPending());
+        assertEquals(2, employee.getApproved());
+    }
+
+    @Test
+    void onLeaveRequestEvent_CreateAndDelete_AdjustTotals() {
+        // Arrange
+        dashboardSummaryService.reconcile();
+
+        // Act
+        dashboardSummaryService.onLeaveRequestEvent(new LeaveRequestEvent(
+                LeaveRequestEvent.Type.CREATED, 11L, 3L, null, LeaveStatus.PENDING));
+        dashboardSummaryService.onLeaveRequestEvent(new LeaveRequestEvent(
+                LeaveRequestEvent.Type.DELETED, 12L, 2L, LeaveStatus.REJECTED, null));
+
+        // Assert
+        DashboardSummary summary = dashboardSummaryService.getSummary();
+        assertEquals(6, summary.getTotalLeaveRequests());
+        assertEquals(3, summary.getPendingLeaveRequests());
+        assertEquals(2, summary.getRejectedLeaveRequests());
+        assertEquals(1, dashboardSummaryService.getEmployeeSummary(3L).getPending());
+    }
+
+    @Test
+    void onEmployeeEvent_Deleted_DropsEmployeeAndTheirLeaveCounts() {
+        // Arrange
+        dashboardSummaryService.reconcile();
+
+        // Act
+        dashboardSummaryService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.DELETED, 2L));
+        dashboardSummaryService.onEmployeeEvent(new EmployeeEvent(EmployeeEvent.Type.CREATED, 5L));
+
+        // Assert
+        DashboardSummary summary = dashboardSummaryService.getSummary();
+        assertEquals(2, summary.getTotalEmployees());
+        assertEquals(3, summary.getTotalLeaveRequests());
+        assertEquals(0, summary.getRejectedLeaveRequests());
+        assertEquals(0, dashboardSummaryService.getEmployeeSummary(2L).getTotalSubmitted());
+    }
+
+    @Test
+    void registerNewUser_WithEmployeeData_MovesEmployeeCounter() {
+        // Arrange: registration delivers its events straight to this service, as the listener would
+        dashboardSummaryService.reconcile();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("newhire")).thenReturn(Optional.empty());
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(3L);
+            return employee;
+        });
+        AuthService authService = new AuthService(userRepository, employeeRepository, mock(RoleRegistry.class),
+                mock(JwtUtils.class), mock(PasswordEncoder.class), mock(MailOutboxService.class),
+                mock(PasswordResetTokenService.class), new SimpleMeterRegistry(),
+                event -> dashboardSummaryService.onEmployeeEvent((EmployeeEvent) event));
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("newhire");
+        request.setPassword("password123");
+        request.setEmployeeId(3L);
+        request.setName("New Hire");
+
+        // Act
+        authService.registerNewUser(request);
+
+        // Assert
+        assertEquals(3, dashboardSummaryService.getSummary().getTotalEmployees());
+    }
+
+    @Test
+    void reconcile_ReplacesEmployeeCountsInsteadOfClearingThem() {
+        // Arrange
+        dashboardSummaryService.reconcile();
+        EmployeeLeaveSummary before = dashboardSummaryService.getEmployeeSummary(1L);
+        when(leaveRequestRepository.countByEmployeeAndStatus()).thenReturn(Arrays.asList(
+                statusCount(1L, LeaveStatus.PENDING, 4)));
+
+        // Act
+        dashboardSummaryService.reconcile();
+
+        // Assert
+        assertEquals(3, before.getTotalSubmitted());
+        assertEquals(4, dashboardSummaryService.getEmployeeSummary(1L).getPending());
+        assertEquals(0, dashboardSummaryService.getEmployeeSummary(2L).getTotalSubmitted());
+    }
+
+    @Test
+    void getEmployeeSummary_WithUnknownEmployee_ReturnsZeroes() {
+        // Act
+        EmployeeLeaveSummary result = dashboardSummaryService.getEmployeeSummary(999L);
+
+        // Assert
+        assertEquals(999L, result.getEmployeeId());
+        assertEquals(0, result.getTotalSubmitted());
+    }
+
+    private static LeaveRequestRepository.StatusCount statusCount(Long employeeId, LeaveStatus status, long total) {
+        return new LeaveRequestRepository.StatusCount() {
+            public Long getEmployeeId() { return employeeId; }
+            public LeaveStatus getStatus() { return status; }
+            public long getTotal() { return total; }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.school.management.service;
 
 import com.school.management.entity.Employee;
+import com.school.management.payload.EmployeeView;
 import com.school.management.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -23,6 +25,9 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -82,6 +87,21 @@ class EmployeeServiceTest {
         verify(employeeRepository).findAll();
     }
 
+    @Test
+    void findAllViews_ReturnsRepositoryViews() {
+        // Arrange
+        List<EmployeeView> views = List.of(new EmployeeView(1L, "John Doe", "EMP001", "IT", "Developer",
+                "john.doe@company.com", LocalDate.now(), 5L));
+        when(employeeRepository.findAllViews()).thenReturn(views);
+
+        // Act
+        List<EmployeeView> result = employeeService.findAllViews();
+
+        // Assert
+        assertEquals(views, result);
+        verify(employeeRepository, never()).findAll();
+    }
+
     @Test
     void findById_WithExistingEmployee_ReturnsEmployee() {
         // Arrange
@@ -0,0 +1,71 @@
+package com.school.management.service;
+
+import com.school.management.observability.jfr.PasswordHashEvent;
+import com.school.management.payload.FlightRecordingStatus;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private final FlightRecordingService flightRecordingService = new FlightRecordingService(60, 10, "default");
+
+    @AfterEach
+    void tearDown() {
+        flightRecordingService.shutdown();
+    }
+
+    @Test
+    void start_CapsDurationAndRefusesSecondRecording() throws Exception {
+        // Act
+        FlightRecordingStatus status = flightRecordingService.start(3600L);
+
+        // Assert
+        assertEquals("RUNNING", status.getState());
+        assertNotNull(status.getStartedAt());
+        assertEquals(60, status.getMaxDurationSeconds());
+        assertNull(flightRecordingService.start(null));
+    }
+
+    @Test
+    void stop_WithoutRecording_ReturnsNull() {
+        assertNull(flightRecordingService.stop());
+        assertEquals("NONE", flightRecordingService.status().getState());
+        assertDoesNotThrow(() -> assertNull(flightRecordingService.download()));
+    }
+
+    @Test
+    void download_ContainsApplicationEvents() throws Exception {
+        // Arrange
+        flightRecordingService.start(null);
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        event.operation = "matches";
+        event.matched = true;
+        event.finish();
+
+        // Act
+        assertEquals("STOPPED", flightRecordingService.stop().getState());
+        Path file = flightRecordingService.download();
+
+        // Assert
+        assertNotNull(file);
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.school.management.PasswordHash"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("matches", events.get(0).getString("operation"));
+            assertTrue(events.get(0).getBoolean("matched"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
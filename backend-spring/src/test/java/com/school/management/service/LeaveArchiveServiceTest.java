@@ -0,0 +1,100 @@
+package com.school.management.service;
+
+import com.school.management.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveArchiveServiceTest {
+
+    private static final MonthDay SEPTEMBER_1 = MonthDay.of(9, 1);
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @InjectMocks
+    private LeaveArchiveService leaveArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaveArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(leaveArchiveService, "academicYearStart", "--09-01");
+        ReflectionTestUtils.setField(leaveArchiveService, "retainedYears", 1);
+        ReflectionTestUtils.setField(leaveArchiveService, "batchSize", 100);
+        ReflectionTestUtils.setField(leaveArchiveService, "maxBatchesPerRun", 3);
+    }
+
+    @Test
+    void cutoff_DuringAcademicYear_KeepsCurrentAndRetainedYears() {
+        assertEquals(LocalDate.of(2023, 9, 1), LeaveArchiveService.cutoff(LocalDate.of(2024, 10, 15), SEPTEMBER_1, 1));
+        assertEquals(LocalDate.of(2023, 9, 1), LeaveArchiveService.cutoff(LocalDate.of(2025, 3, 1), SEPTEMBER_1, 1));
+        assertEquals(LocalDate.of(2024, 9, 1), LeaveArchiveService.cutoff(LocalDate.of(2024, 9, 1), SEPTEMBER_1, 0));
+    }
+
+    @Test
+    void archiveBefore_StopsWhenBatchIsNotFull() {
+        // Arrange
+        LocalDate cutoff = LocalDate.of(2023, 9, 1);
+        when(leaveRequestRepository.archiveEndedBefore(cutoff, 100)).thenReturn(100, 40);
+
+        // Act
+        int total = leaveArchiveService.archiveBefore(cutoff);
+
+        // Assert
+        assertEquals(140, total);
+        verify(leaveRequestRepository, times(2)).archiveEndedBefore(cutoff, 100);
+    }
+
+    @Test
+    void archiveBefore_StopsAtMaxBatchesPerRun() {
+        // Arrange
+        when(leaveRequestRepository.archiveEndedBefore(any(), anyInt())).thenReturn(100);
+
+        // Act
+        int total = leaveArchiveService.archiveBefore(LocalDate.of(2023, 9, 1));
+
+        // Assert
+        assertEquals(300, total);
+        verify(leaveRequestRepository, times(3)).archiveEndedBefore(any(), anyInt());
+    }
+
+    @Test
+    void archiveClosedYears_NothingMoved_DoesNotReconcile() {
+        // Arrange
+        when(leaveRequestRepository.archiveEndedBefore(any(), anyInt())).thenReturn(0);
+
+        // Act
+        leaveArchiveService.archiveClosedYears();
+
+        // Assert
+        verifyNoInteractions(dashboardSummaryService);
+    }
+
+    @Test
+    void archiveClosedYears_RowsMoved_ReconcilesDashboard() {
+        // Arrange
+        when(leaveRequestRepository.archiveEndedBefore(any(), anyInt())).thenReturn(5);
+
+        // Act
+        leaveArchiveService.archiveClosedYears();
+
+        // Assert
+        verify(dashboardSummaryService).reconcile();
+    }
+}
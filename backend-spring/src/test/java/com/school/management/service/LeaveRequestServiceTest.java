@@ -4,18 +4,27 @@ import com.school.management.entity.Employee;
 import com.school.management.entity.LeaveRequest;
 import com.school.management.entity.LeaveStatus;
 import com.school.management.entity.LeaveType;
-import com.school.management.repository.LeaveRequestRepositoryTest;
+import com.school.management.payload.BulkStatusUpdateResult;
+import com.school.management.payload.LeaveRequestView;
+import com.school.management.payload.LeaveStatusUpdate;
+import com.school.management.payload.StaffingCheck;
+import com.school.management.repository.ArchivedLeaveRequestRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import com.school.management.repository.LeaveRequestRepositoryCustom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +33,19 @@ import static org.mockito.Mockito.*;
 class LeaveRequestServiceTest {
 
     @Mock
-    private LeaveRequestRepositoryTest leaveRequestRepository;
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WorkingDayService workingDayService;
+
+    @Mock
+    private StaffingService staffingService;
 
     @InjectMocks
     private LeaveRequestService leaveRequestService;
@@ -80,7 +101,7 @@ class LeaveRequestServiceTest {
         testLeaveRequest3 = LeaveRequest.builder()
                 .id(3L)
                 .employee(testEmployee2)
-                .leaveType(LeaveType.PERSONAL)
+                .leaveType(LeaveType.OTHER)
                 .startDate(LocalDate.now().plusDays(10))
                 .endDate(LocalDate.now().plusDays(12))
                 .reason("Personal matters")
@@ -88,36 +109,6 @@ class LeaveRequestServiceTest {
                 .build();
     }
 
-    @Test
-    void findAll_ReturnsAllLeaveRequests() {
-        // Arrange
-        List<LeaveRequest> leaveRequests = Arrays.asList(testLeaveRequest1, testLeaveRequest2, testLeaveRequest3);
-        when(leaveRequestRepository.findAll()).thenReturn(leaveRequests);
-
-        // Act
-        List<LeaveRequest> result = leaveRequestService.findAll();
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(3, result.size());
-        assertEquals(leaveRequests, result);
-        verify(leaveRequestRepository).findAll();
-    }
-
-    @Test
-    void findAll_WithNoLeaveRequests_ReturnsEmptyList() {
-        // Arrange
-        when(leaveRequestRepository.findAll()).thenReturn(Arrays.asList());
-
-        // Act
-        List<LeaveRequest> result = leaveRequestService.findAll();
-
-        // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(leaveRequestRepository).findAll();
-    }
-
     @Test
     void findById_WithExistingLeaveRequest_ReturnsLeaveRequest() {
         // Arrange
@@ -148,85 +139,50 @@ class LeaveRequestServiceTest {
     }
 
     @Test
-    void findByEmployee_WithExistingEmployee_ReturnsEmployeeLeaveRequests() {
-        // Arrange
-        List<LeaveRequest> employeeLeaveRequests = Arrays.asList(testLeaveRequest1, testLeaveRequest2);
-        when(leaveRequestRepository.findByEmployee(testEmployee1)).thenReturn(employeeLeaveRequests);
-
-        // Act
-        List<LeaveRequest> result = leaveRequestService.findByEmployee(testEmployee1);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(employeeLeaveRequests, result);
-        verify(leaveRequestRepository).findByEmployee(testEmployee1);
-    }
-
-    @Test
-    void findByEmployee_WithEmployeeWithNoRequests_ReturnsEmptyList() {
-        // Arrange
-        Employee employeeWithNoRequests = Employee.builder()
-                .id(3L)
-                .employeeId("EMP003")
-                .name("Bob Wilson")
-                .build();
-
-        when(leaveRequestRepository.findByEmployee(employeeWithNoRequests)).thenReturn(Arrays.asList());
-
-        // Act
-        List<LeaveRequest> result = leaveRequestService.findByEmployee(employeeWithNoRequests);
-
-        // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(leaveRequestRepository).findByEmployee(employeeWithNoRequests);
-    }
-
-    @Test
-    void findByStatus_WithPendingStatus_ReturnsPendingRequests() {
+    void findViewsByEmployeeId_QueriesByForeignKeyOnly() {
         // Arrange
-        List<LeaveRequest> pendingRequests = Arrays.asList(testLeaveRequest1, testLeaveRequest3);
-        when(leaveRequestRepository.findByStatus(LeaveStatus.PENDING)).thenReturn(pendingRequests);
+        List<LeaveRequestView> views = Arrays.asList(view(testLeaveRequest1), view(testLeaveRequest2));
+        when(leaveRequestRepository.findViewsByEmployeeId(1L)).thenReturn(views);
 
         // Act
-        List<LeaveRequest> result = leaveRequestService.findByStatus(LeaveStatus.PENDING);
+        List<LeaveRequestView> result = leaveRequestService.findViewsByEmployeeId(1L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(pendingRequests, result);
-        verify(leaveRequestRepository).findByStatus(LeaveStatus.PENDING);
+        assertEquals(views, result);
+        verify(leaveRequestRepository).findViewsByEmployeeId(1L);
+        verify(leaveRequestRepository, never()).findByEmployee(any());
     }
 
     @Test
-    void findByStatus_WithApprovedStatus_ReturnsApprovedRequests() {
+    void findHistory_MergesLiveAndArchivedRequestsByStartDate() {
         // Arrange
-        List<LeaveRequest> approvedRequests = Arrays.asList(testLeaveRequest2);
-        when(leaveRequestRepository.findByStatus(LeaveStatus.APPROVED)).thenReturn(approvedRequests);
+        LocalDate from = LocalDate.now().minusYears(3);
+        LocalDate to = LocalDate.now().plusYears(1);
+        LeaveRequestView live = view(testLeaveRequest1);
+        LeaveRequestView archived = view(testLeaveRequest2);
+        archived.setStartDate(LocalDate.now().minusYears(2));
+        when(leaveRequestRepository.findViewsByEmployeeIdInRange(1L, from, to)).thenReturn(Arrays.asList(live));
+        when(archivedLeaveRequestRepository.findViewsByEmployeeIdInRange(1L, from, to)).thenReturn(Arrays.asList(archived));
 
         // Act
-        List<LeaveRequest> result = leaveRequestService.findByStatus(LeaveStatus.APPROVED);
+        List<LeaveRequestView> result = leaveRequestService.findHistory(1L, from, to);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(approvedRequests, result);
-        verify(leaveRequestRepository).findByStatus(LeaveStatus.APPROVED);
+        assertEquals(Arrays.asList(archived, live), result);
     }
 
     @Test
-    void findByStatus_WithRejectedStatus_ReturnsEmptyList() {
+    void findViewsByEmployeeId_FillsWorkingDays() {
         // Arrange
-        when(leaveRequestRepository.findByStatus(LeaveStatus.REJECTED)).thenReturn(Arrays.asList());
+        LeaveRequestView view = view(testLeaveRequest1);
+        when(leaveRequestRepository.findViewsByEmployeeId(1L)).thenReturn(Arrays.asList(view));
+        when(workingDayService.countWorkingDays(view.getStartDate(), view.getEndDate())).thenReturn(4);
 
         // Act
-        List<LeaveRequest> result = leaveRequestService.findByStatus(LeaveStatus.REJECTED);
+        List<LeaveRequestView> result = leaveRequestService.findViewsByEmployeeId(1L);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(leaveRequestRepository).findByStatus(LeaveStatus.REJECTED);
+        assertEquals(4, result.get(0).getWorkingDays());
     }
 
     @Test
@@ -247,7 +203,7 @@ class LeaveRequestServiceTest {
         // Arrange
         LeaveRequest newLeaveRequest = LeaveRequest.builder()
                 .employee(testEmployee2)
-                .leaveType(LeaveType.EMERGENCY)
+                .leaveType(LeaveType.OTHER)
                 .startDate(LocalDate.now().plusDays(1))
                 .endDate(LocalDate.now().plusDays(2))
                 .reason("Emergency")
@@ -257,7 +213,7 @@ class LeaveRequestServiceTest {
         LeaveRequest savedLeaveRequest = LeaveRequest.builder()
                 .id(4L)
                 .employee(testEmployee2)
-                .leaveType(LeaveType.EMERGENCY)
+                .leaveType(LeaveType.OTHER)
                 .startDate(LocalDate.now().plusDays(1))
                 .endDate(LocalDate.now().plusDays(2))
                 .reason("Emergency")
@@ -291,26 +247,140 @@ class LeaveRequestServiceTest {
     }
 
     @Test
-    void deleteById_WithExistingLeaveRequest_CallsRepository() {
+    void deleteById_WithApprovedLeaveRequest_ReleasesDaysAndPublishesEvent() {
         // Arrange
-        Long leaveRequestId = 1L;
+        when(leaveRequestRepository.findById(2L)).thenReturn(Optional.of(testLeaveRequest2));
 
         // Act
-        leaveRequestService.deleteById(leaveRequestId);
+        leaveRequestService.deleteById(2L);
 
         // Assert
-        verify(leaveRequestRepository).deleteById(leaveRequestId);
+        verify(leaveRequestRepository).deleteById(2L);
+        verify(staffingService).releaseApproved(testEmployee1.getDepartment(),
+                testLeaveRequest2.getStartDate(), testLeaveRequest2.getEndDate());
+        verify(eventPublisher).publishEvent(any(Object.class));
     }
 
     @Test
-    void deleteById_WithNonexistentLeaveRequest_CallsRepository() {
+    void deleteById_WithNonexistentLeaveRequest_DoesNothing() {
         // Arrange
         Long leaveRequestId = 999L;
+        when(leaveRequestRepository.findById(leaveRequestId)).thenReturn(Optional.empty());
 
         // Act
         leaveRequestService.deleteById(leaveRequestId);
 
         // Assert
-        verify(leaveRequestRepository).deleteById(leaveRequestId);
+        verify(leaveRequestRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updatePendingStatuses_ReportsOutcomePerId() {
+        // Arrange
+        when(staffingService.reserveApprovals(anyCollection())).thenReturn(new StaffingService.Reservations(Map.of(), Map.of()));
+        when(leaveRequestRepository.updatePendingStatus(anyCollection(), eq(LeaveStatus.APPROVED)))
+                .thenReturn(List.of(new LeaveRequestRepositoryCustom.UpdatedRow(1L, 1L)));
+        when(leaveRequestRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L));
+
+        // Act
+        List<BulkStatusUpdateResult> result = leaveRequestService.updatePendingStatuses(
+                Arrays.asList(1L, 2L, 999L, 1L), LeaveStatus.APPROVED);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(BulkStatusUpdateResult.Outcome.UPDATED, result.get(0).getOutcome());
+        assertEquals(BulkStatusUpdateResult.Outcome.NOT_PENDING, result.get(1).getOutcome());
+        assertEquals(BulkStatusUpdateResult.Outcome.NOT_FOUND, result.get(2).getOutcome());
+        verify(leaveRequestRepository).findExistingIds(List.of(2L, 999L));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updatePendingStatuses_WhenAllUpdated_SkipsExistenceCheck() {
+        // Arrange
+        when(leaveRequestRepository.updatePendingStatus(anyCollection(), eq(LeaveStatus.REJECTED)))
+                .thenReturn(List.of(
+                        new LeaveRequestRepositoryCustom.UpdatedRow(1L, 1L),
+                        new LeaveRequestRepositoryCustom.UpdatedRow(3L, 2L)));
+
+        // Act
+        List<BulkStatusUpdateResult> result = leaveRequestService.updatePendingStatuses(
+                Arrays.asList(1L, 3L), LeaveStatus.REJECTED);
+
+        // Assert
+        assertTrue(result.stream().allMatch(r -> r.getOutcome() == BulkStatusUpdateResult.Outcome.UPDATED));
+        verify(leaveRequestRepository, never()).findExistingIds(anyCollection());
+    }
+    @Test
+    void transitionStatus_FromPending_PublishesEventAndReturnsNewVersion() {
+        // Arrange
+        when(leaveRequestRepository.transitionStatus(1L, Set.of(LeaveStatus.PENDING), LeaveStatus.APPROVED))
+                .thenReturn(Optional.of(new LeaveRequestRepositoryCustom.TransitionedRow(1L, 1L, LeaveStatus.PENDING, 2L)));
+
+        // Act
+        Optional<LeaveStatusUpdate> result = leaveRequestService.transitionStatus(1L, LeaveStatus.APPROVED);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(LeaveStatus.PENDING, result.get().getPreviousStatus());
+        assertEquals(LeaveStatus.APPROVED, result.get().getStatus());
+        assertEquals(2L, result.get().getVersion());
+        verify(eventPublisher).publishEvent(any(Object.class));
+        verify(leaveRequestRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void transitionStatus_WhenGuardFails_ReturnsEmptyWithoutEvent() {
+        // Arrange
+        when(leaveRequestRepository.transitionStatus(1L, Set.of(), LeaveStatus.PENDING)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<LeaveStatusUpdate> result = leaveRequestService.transitionStatus(1L, LeaveStatus.PENDING);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updatePendingStatuses_UnderstaffedIdsAreNotUpdated() {
+        // Arrange
+        StaffingCheck breach = new StaffingCheck(2L, "IT", 3, 2, List.of(new StaffingCheck.BreachDay(LocalDate.now(), 2, 1)));
+        when(staffingService.reserveApprovals(anyCollection())).thenReturn(new StaffingService.Reservations(Map.of(), Map.of(2L, breach)));
+        when(leaveRequestRepository.updatePendingStatus(anyCollection(), eq(LeaveStatus.APPROVED)))
+                .thenReturn(List.of(new LeaveRequestRepositoryCustom.UpdatedRow(1L, 1L)));
+
+        // Act
+        List<BulkStatusUpdateResult> result = leaveRequestService.updatePendingStatuses(
+                Arrays.asList(1L, 2L), LeaveStatus.APPROVED);
+
+        // Assert
+        assertEquals(BulkStatusUpdateResult.Outcome.UPDATED, result.get(0).getOutcome());
+        assertEquals(BulkStatusUpdateResult.Outcome.UNDERSTAFFED, result.get(1).getOutcome());
+        assertEquals(1, result.get(1).getBreaches().size());
+        verify(leaveRequestRepository).updatePendingStatus(Set.of(1L), LeaveStatus.APPROVED);
+    }
+
+    @Test
+    void transitionStatus_ApprovalBreachingStaffing_DoesNotUpdate() {
+        // Arrange
+        StaffingCheck breach = new StaffingCheck(1L, "IT", 3, 2, List.of(new StaffingCheck.BreachDay(LocalDate.now(), 2, 1)));
+        when(staffingService.reserveApproval(1L)).thenThrow(new StaffingLimitExceededException(breach));
+
+        // Act & Assert
+        StaffingLimitExceededException e = assertThrows(StaffingLimitExceededException.class,
+                () -> leaveRequestService.transitionStatus(1L, LeaveStatus.APPROVED));
+        assertEquals("IT", e.getCheck().getDepartment());
+        verify(leaveRequestRepository, never()).transitionStatus(anyLong(), anyCollection(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static LeaveRequestView view(LeaveRequest leaveRequest) {
+        Employee e = leaveRequest.getEmployee();
+        return new LeaveRequestView(leaveRequest.getId(), leaveRequest.getLeaveType(), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), leaveRequest.getReason(), leaveRequest.getStatus(),
+                leaveRequest.getVersion(), leaveRequest.getChangeSeq(),
+                e.getId(), e.getName(), e.getEmployeeId(), e.getDepartment(), e.getPosition());
     }
 }
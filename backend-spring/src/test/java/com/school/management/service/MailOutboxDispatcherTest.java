@@ -0,0 +1,101 @@
+package com.school.management.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.school.management.entity.MailOutboxMessage;
+import com.school.management.entity.MailOutboxStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxDispatcherTest {
+
+    // Local SMTP server on a test port; no real mail leaves the machine
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private MailOutboxService mailOutboxService;
+
+    private JavaMailSenderImpl mailSender;
+    private SimpleMeterRegistry meterRegistry;
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MailOutboxDispatcher(mailOutboxService, mailSender, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "from", "noreply@school.com");
+    }
+
+    @Test
+    void dispatch_DeliversClaimedBatchesUntilOutboxIsDrained() throws Exception {
+        // Arrange
+        when(mailOutboxService.claimBatch(2))
+                .thenReturn(List.of(message(1L, "a@school.com"), message(2L, "b@school.com")))
+                .thenReturn(List.of(message(3L, "c@school.com")));
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("Password Reset Request", received[0].getSubject());
+        verify(mailOutboxService, times(2)).claimBatch(2);
+        verify(mailOutboxService).recordResults(List.of(1L, 2L), Map.of());
+        verify(mailOutboxService).recordResults(List.of(3L), Map.of());
+        assertEquals(3, meterRegistry.get("mail.send").tag("outcome", "sent").counter().count());
+        assertEquals(2, meterRegistry.get("mail.send.batch").timer().count());
+    }
+
+    @Test
+    void deliver_WhenSmtpIsUnreachable_RecordsFailureForWholeBatch() {
+        // Arrange
+        mailSender.setPort(1); // nothing listens here
+
+        // Act
+        dispatcher.deliver(List.of(message(1L, "a@school.com"), message(2L, "b@school.com")));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, String>> failures = ArgumentCaptor.forClass(Map.class);
+        verify(mailOutboxService).recordResults(eq(List.of(1L, 2L)), failures.capture());
+        assertEquals(2, failures.getValue().size());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(2, meterRegistry.get("mail.send").tag("outcome", "failed").counter().count());
+    }
+
+    private static MailOutboxMessage message(Long id, String to) {
+        return MailOutboxMessage.builder()
+                .id(id)
+                .recipient(to)
+                .subject("Password Reset Request")
+                .body("To reset your password, click the link below")
+                .status(MailOutboxStatus.PENDING)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.school.management.service;
+
+import com.school.management.entity.MailOutboxMessage;
+import com.school.management.entity.MailOutboxStatus;
+import com.school.management.repository.MailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxServiceTest {
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @InjectMocks
+    private MailOutboxService mailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(mailOutboxService, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(mailOutboxService, "maxBackoffMs", 3000L);
+        ReflectionTestUtils.setField(mailOutboxService, "claimTimeoutMs", 60000L);
+    }
+
+    @Test
+    void enqueue_SavesPendingMessageDueNow() {
+        // Arrange
+        when(mailOutboxRepository.save(any(MailOutboxMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        MailOutboxMessage result = mailOutboxService.enqueue("a@school.com", "Subject", "Body");
+
+        // Assert
+        assertEquals(MailOutboxStatus.PENDING, result.getStatus());
+        assertEquals(0, result.getAttempts());
+        assertFalse(result.getNextAttemptAt().isAfter(Instant.now()));
+        verify(mailOutboxRepository).save(result);
+    }
+
+    @Test
+    void claimBatch_HidesClaimedMessagesUntilClaimTimeout() {
+        // Arrange
+        MailOutboxMessage message = pending(1L, 0);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(MailOutboxStatus.PENDING), any(Instant.class), any(Pageable.class))).thenReturn(List.of(message));
+
+        // Act
+        List<MailOutboxMessage> result = mailOutboxService.claimBatch(10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plusSeconds(30)));
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(mailOutboxRepository).findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(MailOutboxStatus.PENDING), any(Instant.class), page.capture());
+        assertEquals(10, page.getValue().getPageSize());
+    }
+
+    @Test
+    void recordResults_MarksSentRetriesAndGivesUp() {
+        // Arrange
+        MailOutboxMessage sent = pending(1L, 0);
+        MailOutboxMessage retried = pending(2L, 0);
+        MailOutboxMessage exhausted = pending(3L, 2);
+        when(mailOutboxRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(sent, retried, exhausted));
+
+        // Act
+        mailOutboxService.recordResults(List.of(1L, 2L, 3L), Map.of(2L, "timeout", 3L, "mailbox unavailable"));
+
+        // Assert
+        assertEquals(MailOutboxStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertEquals(MailOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("timeout", retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(Instant.now()));
+        assertEquals(MailOutboxStatus.FAILED, exhausted.getStatus());
+        assertEquals(3, exhausted.getAttempts());
+    }
+
+    @Test
+    void backoff_DoublesAndIsCapped() {
+        assertEquals(Duration.ofMillis(1000), mailOutboxService.backoff(1));
+        assertEquals(Duration.ofMillis(2000), mailOutboxService.backoff(2));
+        assertEquals(Duration.ofMillis(3000), mailOutboxService.backoff(3));
+        assertEquals(Duration.ofMillis(3000), mailOutboxService.backoff(30));
+    }
+
+    private static MailOutboxMessage pending(Long id, int attempts) {
+        return MailOutboxMessage.builder()
+                .id(id)
+                .recipient("user" + id + "@school.com")
+                .subject("Subject")
+                .body("Body")
+                .status(MailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
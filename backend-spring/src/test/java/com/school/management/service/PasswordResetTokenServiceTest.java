@@ -0,0 +1,113 @@
+package com.school.management.service;
+
+import com.school.management.entity.PasswordResetToken;
+import com.school.management.repository.PasswordResetTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordResetTokenServiceTest {
+
+    @Mock
+    private PasswordResetTokenRepository tokenRepository;
+
+    private PasswordResetTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PasswordResetTokenService(tokenRepository, 60, 2);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHashAndReplacesOlderTokens() {
+        // Act
+        String token = service.issue(7L);
+
+        // Assert
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(tokenRepository).deleteByUserId(7L);
+        verify(tokenRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getUserId());
+        assertEquals(PasswordResetTokenService.hash(token), saved.getValue().getTokenHash());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(Instant.now().plusSeconds(59 * 60)));
+    }
+
+    @Test
+    void hash_IsSha256Hex() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                PasswordResetTokenService.hash("abc"));
+    }
+
+    @Test
+    void consume_WithValidToken_DeletesItAndReturnsUser() {
+        // Arrange
+        PasswordResetToken stored = token(3L, 7L, Instant.now().plusSeconds(600));
+        when(tokenRepository.findByTokenHash(PasswordResetTokenService.hash("raw"))).thenReturn(Optional.of(stored));
+        when(tokenRepository.deleteAndCount(3L)).thenReturn(1);
+
+        // Act & Assert
+        assertEquals(Optional.of(7L), service.consume("raw"));
+        verify(tokenRepository).deleteAndCount(3L);
+    }
+
+    @Test
+    void consume_WhenAnotherResetDeletedItFirst_ReturnsEmpty() {
+        // Arrange
+        PasswordResetToken stored = token(3L, 7L, Instant.now().plusSeconds(600));
+        when(tokenRepository.findByTokenHash(any())).thenReturn(Optional.of(stored));
+        when(tokenRepository.deleteAndCount(3L)).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(service.consume("raw").isEmpty());
+    }
+
+    @Test
+    void consume_WithExpiredOrUnknownToken_ReturnsEmpty() {
+        // Arrange
+        PasswordResetToken expired = token(3L, 7L, Instant.now().minusSeconds(1));
+        when(tokenRepository.findByTokenHash(PasswordResetTokenService.hash("old"))).thenReturn(Optional.of(expired));
+        when(tokenRepository.findByTokenHash(PasswordResetTokenService.hash("unknown"))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(service.consume("old").isEmpty());
+        assertTrue(service.consume("unknown").isEmpty());
+        verify(tokenRepository, never()).deleteAndCount(anyLong());
+    }
+
+    @Test
+    void sweepExpired_DeletesInBatchesUntilAShortOne() {
+        // Arrange: batch size is 2
+        when(tokenRepository.deleteExpiredBatch(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        // Act
+        service.sweepExpired();
+
+        // Assert
+        verify(tokenRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(2));
+    }
+
+    private static PasswordResetToken token(Long id, Long userId, Instant expiresAt) {
+        return PasswordResetToken.builder()
+                .id(id)
+                .tokenHash("hash")
+                .userId(userId)
+                .createdAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.school.management.service;
+
+import com.school.management.entity.Role;
+import com.school.management.entity.RoleName;
+import com.school.management.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    @Test
+    void reference_AfterRefresh_NeedsNoQueries() {
+        // Arrange
+        when(roleRepository.findAll()).thenReturn(allRoles());
+        roleRegistry.refresh();
+
+        // Act
+        Role admin = roleRegistry.reference(RoleName.ADMIN);
+        Role employee = roleRegistry.reference(RoleName.EMPLOYEE);
+
+        // Assert
+        assertEquals(1L, admin.getId());
+        assertEquals("ADMIN", admin.getName());
+        assertEquals(3L, employee.getId());
+        assertNotSame(employee, roleRegistry.reference(RoleName.EMPLOYEE));
+        verify(roleRepository, times(1)).findAll();
+        verify(roleRepository, never()).findByName(any());
+    }
+
+    @Test
+    void run_WithMissingRole_FailsStartup() {
+        // Arrange: unknown names are ignored, so EMPLOYEE counts as missing
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ADMIN"), new Role(2L, "MANAGER"), new Role(7L, "SUPERVISOR")));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> roleRegistry.run(null));
+        assertEquals(2L, roleRegistry.idOf(RoleName.MANAGER));
+        assertThrows(IllegalStateException.class, () -> roleRegistry.reference(RoleName.EMPLOYEE));
+        verify(roleRepository, never()).save(any(Role.class));
+    }
+
+    @Test
+    void run_RecordsStartupStep() {
+        // Arrange
+        when(roleRepository.findAll()).thenReturn(allRoles());
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+        roleRegistry.setApplicationStartup(applicationStartup);
+
+        // Act
+        roleRegistry.run(null);
+
+        // Assert
+        StartupStep step = applicationStartup.getBufferedTimeline().getEvents().get(0).getStartupStep();
+        assertEquals("school.roles.load", step.getName());
+        assertEquals("3", step.getTags().iterator().next().getValue());
+    }
+
+    @Test
+    void idOf_BeforeRefresh_LoadsOnce() {
+        // Arrange
+        when(roleRepository.findAll()).thenReturn(allRoles());
+
+        // Act
+        roleRegistry.idOf(RoleName.MANAGER);
+        roleRegistry.idOf(RoleName.ADMIN);
+
+        // Assert
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void parse_IsCaseInsensitiveAndRejectsUnknownNames() {
+        assertEquals(RoleName.MANAGER, RoleName.parse(" manager ").orElseThrow());
+        assertTrue(RoleName.parse("SUPERVISOR").isEmpty());
+        assertTrue(RoleName.parse(null).isEmpty());
+    }
+
+    private static List<Role> allRoles() {
+        return Arrays.asList(new Role(1L, "ADMIN"), new Role(2L, "MANAGER"), new Role(3L, "EMPLOYEE"));
+    }
+}
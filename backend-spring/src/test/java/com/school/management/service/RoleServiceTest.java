@@ -20,6 +20,9 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private RoleRegistry roleRegistry;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -137,6 +140,7 @@ class RoleServiceTest {
         // Assert
         assertEquals(adminRole, result);
         verify(roleRepository).save(adminRole);
+        verify(roleRegistry).refresh();
     }
 
     @Test
@@ -0,0 +1,194 @@
+package com.school.management.service;
+
+import com.school.management.entity.LeaveStatus;
+import com.school.management.payload.StaffingCheck;
+import com.school.management.repository.AcademicTermRepository;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import com.school.management.repository.SchoolHolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StaffingServiceTest {
+
+    // Monday .. Friday of a week in the future, so the reconcile window (current year onwards) covers it
+    private static final LocalDate MONDAY = LocalDate.of(LocalDate.now().getYear() + 1, 3, 1)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    private static final LocalDate FRIDAY = MONDAY.plusDays(4);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private SchoolHolidayRepository schoolHolidayRepository;
+
+    @Mock
+    private AcademicTermRepository academicTermRepository;
+
+    private StaffingService staffingService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(schoolHolidayRepository.findOverlapping(any(), any())).thenReturn(Collections.emptyList());
+        lenient().when(academicTermRepository.findOverlapping(any(), any())).thenReturn(Collections.emptyList());
+        WorkingDayService workingDayService = new WorkingDayService(schoolHolidayRepository, academicTermRepository, "SATURDAY,SUNDAY", 10);
+        staffingService = new StaffingService(employeeRepository, leaveRequestRepository, workingDayService, 0, "IT:2");
+
+        // IT has 3 people, one of whom is already away on Monday and Tuesday
+        when(employeeRepository.countByDepartment()).thenReturn(List.of(departmentCount("IT", 3)));
+        when(leaveRequestRepository.findApprovedEndingOnOrAfter(any()))
+                .thenReturn(List.of(info(10L, "IT", MONDAY, MONDAY.plusDays(1), LeaveStatus.APPROVED)));
+    }
+
+    @Test
+    void reserveApproval_WithinMinimum_ReservesDays() {
+        // Arrange
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", MONDAY.plusDays(2), FRIDAY, LeaveStatus.PENDING)));
+
+        // Act
+        Optional<StaffingService.Reservation> reservation = staffingService.reserveApproval(1L);
+
+        // Assert
+        assertTrue(reservation.isPresent());
+    }
+
+    @Test
+    void reserveApproval_BreachingMinimum_ExplainsDays() {
+        // Arrange
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", MONDAY, FRIDAY, LeaveStatus.PENDING)));
+
+        // Act & Assert
+        StaffingLimitExceededException e = assertThrows(StaffingLimitExceededException.class,
+                () -> staffingService.reserveApproval(1L));
+        StaffingCheck check = e.getCheck();
+        assertEquals(2, check.getMinimumPresent());
+        assertEquals(3, check.getHeadcount());
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(1)),
+                check.getBreaches().stream().map(StaffingCheck.BreachDay::getDate).toList());
+        assertEquals(1, check.getBreaches().get(0).getPresent());
+    }
+
+    @Test
+    void reserveApprovals_SecondApprovalSeesFirstReservation() {
+        // Arrange: two requests for Wednesday; the first leaves exactly the minimum
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection())).thenReturn(List.of(
+                info(1L, "IT", MONDAY.plusDays(2), MONDAY.plusDays(2), LeaveStatus.PENDING),
+                info(2L, "IT", MONDAY.plusDays(2), MONDAY.plusDays(2), LeaveStatus.PENDING)));
+
+        // Act
+        StaffingService.Reservations result = staffingService.reserveApprovals(List.of(1L, 2L));
+
+        // Assert
+        assertTrue(result.reserved().containsKey(1L));
+        assertTrue(result.breached().containsKey(2L));
+    }
+
+    @Test
+    void release_FreesReservedDays() {
+        // Arrange
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", MONDAY.plusDays(2), MONDAY.plusDays(2), LeaveStatus.PENDING)));
+        StaffingService.Reservation first = staffingService.reserveApproval(1L).orElseThrow();
+
+        // Act
+        staffingService.release(first);
+        staffingService.release(first);
+
+        // Assert: the day is free again, and a double release did not go below the original count
+        assertTrue(staffingService.reserveApproval(1L).isPresent());
+    }
+
+    @Test
+    void release_AfterReconcile_LeavesRebuiltCountsAlone() {
+        // Arrange: request 1 is reserved for Wednesday, then a reconcile picks up request 20,
+        // approved elsewhere for the same day, while request 1 never commits
+        LocalDate wednesday = MONDAY.plusDays(2);
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", wednesday, wednesday, LeaveStatus.PENDING)));
+        StaffingService.Reservation first = staffingService.reserveApproval(1L).orElseThrow();
+        when(leaveRequestRepository.findApprovedEndingOnOrAfter(any())).thenReturn(List.of(
+                info(10L, "IT", MONDAY, MONDAY.plusDays(1), LeaveStatus.APPROVED),
+                info(20L, "IT", wednesday, wednesday, LeaveStatus.APPROVED)));
+        staffingService.reconcile();
+
+        // Act
+        staffingService.release(first);
+
+        // Assert: request 20 still counts, so a second absence on Wednesday breaches the minimum
+        assertThrows(StaffingLimitExceededException.class, () -> staffingService.reserveApproval(1L));
+    }
+
+    @Test
+    void reserveApproval_MinimumZeroAndNoHeadcountYet_NeverBreaches() {
+        // Arrange: Art was created after the last reconcile, so its cached headcount is 0
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "Art", MONDAY, FRIDAY, LeaveStatus.PENDING)));
+
+        // Act
+        StaffingService.Reservations result = staffingService.reserveApprovals(List.of(1L));
+
+        // Assert
+        assertTrue(result.breached().isEmpty());
+        assertTrue(result.reserved().isEmpty());
+        assertTrue(staffingService.reserveApproval(1L).isEmpty());
+    }
+
+    @Test
+    void reserveApproval_NotPending_ReturnsEmpty() {
+        // Arrange
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", MONDAY, FRIDAY, LeaveStatus.REJECTED)));
+
+        // Act & Assert
+        assertTrue(staffingService.reserveApproval(1L).isEmpty());
+    }
+
+    @Test
+    void reserveApproval_WeekendOnly_NeverBreaches() {
+        // Arrange
+        when(leaveRequestRepository.findStaffingInfoByIds(anyCollection()))
+                .thenReturn(List.of(info(1L, "IT", MONDAY.minusDays(2), MONDAY.minusDays(1), LeaveStatus.PENDING)));
+
+        // Act & Assert
+        assertTrue(staffingService.reserveApproval(1L).isPresent());
+    }
+
+    private static EmployeeRepository.DepartmentCount departmentCount(String department, long total) {
+        return new EmployeeRepository.DepartmentCount() {
+            public String getDepartment() { return department; }
+            public long getTotal() { return total; }
+        };
+    }
+
+    private static LeaveRequestRepository.StaffingInfo info(Long id, String department, LocalDate start, LocalDate end,
+                                                            LeaveStatus status) {
+        return new LeaveRequestRepository.StaffingInfo() {
+            public Long getId() { return id; }
+            public String getDepartment() { return department; }
+            public LocalDate getStartDate() { return start; }
+            public LocalDate getEndDate() { return end; }
+            public LeaveStatus getStatus() { return status; }
+        };
+    }
+}
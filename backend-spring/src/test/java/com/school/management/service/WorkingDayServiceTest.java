@@ -0,0 +1,145 @@
+package com.school.management.service;
+
+import com.school.management.entity.AcademicTerm;
+import com.school.management.entity.SchoolHoliday;
+import com.school.management.repository.AcademicTermRepository;
+import com.school.management.repository.SchoolHolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingDayServiceTest {
+
+    @Mock
+    private SchoolHolidayRepository schoolHolidayRepository;
+
+    @Mock
+    private AcademicTermRepository academicTermRepository;
+
+    private WorkingDayService workingDayService;
+
+    @BeforeEach
+    void setUp() {
+        // Wide window: the tests below use fixed 2024/2025 dates
+        workingDayService = new WorkingDayService(schoolHolidayRepository, academicTermRepository, "SATURDAY,SUNDAY", 100);
+        lenient().when(schoolHolidayRepository.findOverlapping(any(), any())).thenReturn(Collections.emptyList());
+        lenient().when(academicTermRepository.findOverlapping(any(), any())).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void countWorkingDays_SkipsWeekends() {
+        // Monday 2024-03-04 to Sunday 2024-03-17: two full weeks
+        assertEquals(10, workingDayService.countWorkingDays(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 17)));
+        // Saturday and Sunday only
+        assertEquals(0, workingDayService.countWorkingDays(LocalDate.of(2024, 3, 9), LocalDate.of(2024, 3, 10)));
+    }
+
+    @Test
+    void countWorkingDays_SkipsHolidays() {
+        // Arrange
+        when(schoolHolidayRepository.findOverlapping(any(), any())).thenReturn(Collections.singletonList(
+                new SchoolHoliday(1L, "Spring break", LocalDate.of(2024, 3, 11), LocalDate.of(2024, 3, 13))));
+
+        // Act & Assert
+        assertEquals(7, workingDayService.countWorkingDays(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 17)));
+        assertFalse(workingDayService.isWorkingDay(LocalDate.of(2024, 3, 12)));
+    }
+
+    @Test
+    void countWorkingDays_AcrossYearBoundary_BuildsEachYearOnce() {
+        // Monday 2024-12-30 .. Friday 2025-01-03
+        assertEquals(5, workingDayService.countWorkingDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)));
+        assertEquals(5, workingDayService.countWorkingDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)));
+        verify(schoolHolidayRepository, times(2)).findOverlapping(any(), any());
+    }
+
+    @Test
+    void countWorkingDays_ToBeforeFrom_ReturnsZero() {
+        assertEquals(0, workingDayService.countWorkingDays(LocalDate.of(2024, 3, 8), LocalDate.of(2024, 3, 4)));
+    }
+
+    @Test
+    void countTermDays_OnlyWorkingDaysInsideTerms() {
+        // Arrange
+        when(academicTermRepository.findOverlapping(any(), any())).thenReturn(Collections.singletonList(
+                new AcademicTerm(1L, "Spring", LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 31))));
+
+        // Act & Assert: Wed 6th .. Fri 8th are term days, the weekend is not
+        assertEquals(3, workingDayService.countTermDays(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 10)));
+    }
+
+    @Test
+    void countOverlappingWorkingDays_UsesIntersection() {
+        assertEquals(3, workingDayService.countOverlappingWorkingDays(
+                LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 8),
+                LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 15)));
+        assertEquals(0, workingDayService.countOverlappingWorkingDays(
+                LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 5),
+                LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 15)));
+    }
+
+    @Test
+    void invalidate_RebuildsCalendar() {
+        // Arrange
+        workingDayService.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Act
+        workingDayService.invalidate();
+        workingDayService.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        verify(schoolHolidayRepository, times(2)).findOverlapping(any(), any());
+    }
+
+    @Test
+    void cacheStatistics_CountHitsMissesAndEvictions() {
+        // Two years built, then both served from the cache
+        workingDayService.countWorkingDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3));
+        workingDayService.countWorkingDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3));
+        assertEquals(2, workingDayService.cacheMisses());
+        assertEquals(2, workingDayService.cacheHits());
+        assertEquals(2, workingDayService.cacheSize());
+
+        workingDayService.invalidate();
+        assertEquals(2, workingDayService.cacheEvictions());
+        assertEquals(0, workingDayService.cacheSize());
+    }
+
+    @Test
+    void isWithinWindow_RejectsYearsFarFromNow() {
+        // Arrange
+        WorkingDayService narrow = new WorkingDayService(schoolHolidayRepository, academicTermRepository, "SATURDAY,SUNDAY", 2);
+        LocalDate today = LocalDate.now();
+
+        // Act & Assert
+        assertTrue(narrow.isWithinWindow(today.minusYears(2), today.plusYears(2)));
+        assertFalse(narrow.isWithinWindow(today, today.plusYears(3)));
+        assertFalse(narrow.isWithinWindow(LocalDate.of(1, 1, 1), today));
+    }
+
+    @Test
+    void calendarFor_OutsideWindow_IsNotCached() {
+        // Arrange
+        WorkingDayService narrow = new WorkingDayService(schoolHolidayRepository, academicTermRepository, "SATURDAY,SUNDAY", 2);
+        int thisYear = LocalDate.now().getYear();
+
+        // Act
+        narrow.calendarFor(thisYear);
+        narrow.calendarFor(thisYear - 30);
+        narrow.calendarFor(thisYear - 30);
+
+        // Assert: the distant year is built on every call and never kept
+        assertEquals(1, narrow.cacheSize());
+        assertEquals(3, narrow.cacheMisses());
+    }
+}
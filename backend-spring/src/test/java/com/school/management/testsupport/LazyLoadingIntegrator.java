@@ -0,0 +1,75 @@
+package com.school.management.testsupport;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reports lazy loading to SqlStatementRecorder as "Owner.property": collection
+ * initialization by its role, and proxy initialization by looking up which managed entity
+ * holds the proxy (a to-one proxy does not know its owner).
+ */
+class LazyLoadingIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+            if (!event.getCollection().wasInitialized()) {
+                SqlStatementRecorder.lazyLoad(simpleName(event.getCollection().getRole()), event.getAffectedOwnerIdOrNull());
+            }
+        });
+        registry.prependListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                SqlStatementRecorder.lazyLoad(owner(event.getSession(), event.getEntityClassName(), event.getEntityId()),
+                        event.getEntityId());
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private static String owner(EventSource session, String entityName, Object id) {
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            EntityPersister persister = entry.getValue().getPersister();
+            Type[] types = persister.getPropertyTypes();
+            for (int i = 0; i < types.length; i++) {
+                if (!types[i].isEntityType()) continue;
+                Object value = persister.getValue(entry.getKey(), i);
+                if (value instanceof HibernateProxy proxy) {
+                    LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+                    if (initializer.getEntityName().equals(entityName) && Objects.equals(initializer.getInternalIdentifier(), id)) {
+                        return simpleName(persister.getEntityName()) + "." + persister.getPropertyNames()[i];
+                    }
+                }
+            }
+        }
+        return simpleName(entityName) + " proxy";
+    }
+
+    private static String simpleName(String qualified) {
+        // com.school.management.entity.Employee.leaveRequests -> Employee.leaveRequests
+        String[] parts = qualified.split("\\.");
+        int start = parts.length - 1;
+        while (start > 0 && !Character.isUpperCase(parts[start].charAt(0))) start--;
+        return String.join(".", Arrays.copyOfRange(parts, start, parts.length));
+    }
+}
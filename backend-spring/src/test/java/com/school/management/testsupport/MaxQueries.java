@@ -0,0 +1,46 @@
+package com.school.management.testsupport;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL budget for a test: fails it when any HTTP request it performs (or, with
+ * {@code scope = TRANSACTION}, any transaction the test thread runs) executes more than
+ * {@code value} SQL statements, or when one of the {@link #forbidLazyLoading()} associations
+ * is lazily loaded. Only the test method body is measured, not @BeforeEach fixture setup.
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;MaxQueries(2)
+ * void getAllEmployees_ReturnsList() throws Exception { mockMvc.perform(get("/api/employees")...); }
+ * </pre>
+ *
+ * Works in any Spring test context; the DataSource proxy and Hibernate listeners are added
+ * by SqlBudgetContextCustomizerFactory. On a class, the budget applies to every test method
+ * that does not declare its own.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@ExtendWith(SqlBudgetExtension.class)
+public @interface MaxQueries {
+
+    int value();
+
+    Scope scope() default Scope.REQUEST;
+
+    // Owner.property names; lazy loading anything listed fails the test regardless of the count
+    String[] forbidLazyLoading() default {"Employee.leaveRequests", "LeaveRequest.employee"};
+
+    enum Scope {
+        // Each servlet request: MockMvc performs, or real requests in RANDOM_PORT tests
+        REQUEST,
+        // Each transaction on the test thread, e.g. a @Transactional service method called directly
+        TRANSACTION
+    }
+}
@@ -0,0 +1,69 @@
+package com.school.management.testsupport;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps every DataSource in the test context so executed statements reach SqlStatementRecorder.
+ * The SQL of a prepared statement is remembered from prepareStatement(); a JDBC batch counts
+ * as one statement, as it is one round trip.
+ */
+class RecordingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? connection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return statement(statement, method.getReturnType(), sql);
+            }
+            return result;
+        });
+    }
+
+    private static Object statement(Statement statement, Class<?> type, String preparedSql) {
+        return proxy(type, (p, method, args) -> {
+            if (EXECUTE.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                String batch = method.getName().contains("Batch") ? "[batch] " : "";
+                SqlStatementRecorder.statementExecuted(batch + (sql != null ? sql : "<batch of plain statements>"));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.school.management.testsupport;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import java.util.List;
+
+/**
+ * Registered in META-INF/spring.factories, so every Spring test context records SQL for
+ * {@link MaxQueries} without any setup in the test class. Nothing is recorded outside a
+ * measured test, so contexts shared with unannotated tests behave as before.
+ */
+class SqlBudgetContextCustomizerFactory implements ContextCustomizerFactory {
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass, List<ContextConfigurationAttributes> configAttributes) {
+        return new SqlBudgetContextCustomizer();
+    }
+
+    private static final class SqlBudgetContextCustomizer implements ContextCustomizer {
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+            context.getBeanFactory().addBeanPostProcessor(new RecordingDataSourcePostProcessor());
+            HibernatePropertiesCustomizer lazyLoading = properties -> properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new LazyLoadingIntegrator()));
+            context.getBeanFactory().registerSingleton("sqlBudgetHibernatePropertiesCustomizer", lazyLoading);
+        }
+
+        // All instances are interchangeable, which keeps Spring's test context cache working
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SqlBudgetContextCustomizer;
+        }
+
+        @Override
+        public int hashCode() {
+            return SqlBudgetContextCustomizer.class.hashCode();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.school.management.testsupport;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Enforces {@link MaxQueries}: records SQL while the test method body runs and fails the test
+ * with the offending statements listed, so an N+1 shows up in the build log with its SQL.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context).isPresent()) {
+            SqlStatementRecorder.start();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<MaxQueries> budget = budget(context);
+        if (budget.isEmpty()) return;
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.stop();
+        if (recording == null || context.getExecutionException().isPresent()) return;
+
+        StringBuilder problems = new StringBuilder();
+        List<String> forbidden = Arrays.asList(budget.get().forbidLazyLoading());
+        for (String lazyLoad : recording.lazyLoads()) {
+            if (forbidden.stream().anyMatch(lazyLoad::startsWith)) {
+                problems.append("\nLazy loading of ").append(lazyLoad);
+            }
+        }
+        List<SqlStatementRecorder.Unit> units = budget.get().scope() == MaxQueries.Scope.REQUEST
+                ? recording.requests() : recording.transactions();
+        for (SqlStatementRecorder.Unit unit : units) {
+            List<String> statements = List.copyOf(unit.statements());
+            if (statements.size() > budget.get().value()) {
+                problems.append("\n").append(unit.label()).append(" executed ").append(statements.size())
+                        .append(" SQL statements, budget is ").append(budget.get().value()).append(':');
+                for (int i = 0; i < statements.size(); i++) {
+                    problems.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new AssertionError("SQL budget exceeded in " + context.getDisplayName() + problems);
+        }
+    }
+
+    // The method's own annotation wins over the class's
+    private static Optional<MaxQueries> budget(ExtensionContext context) {
+        return context.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, MaxQueries.class))
+                .or(() -> context.getTestClass().flatMap(type -> AnnotationSupport.findAnnotation(type, MaxQueries.class)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.school.management.testsupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlBudgetExtensionTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ExtensionContext context;
+
+    private final SqlBudgetExtension extension = new SqlBudgetExtension();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SqlStatementRecorder.stop();
+    }
+
+    @Test
+    void requestWithinBudget_Passes() throws Exception {
+        // Arrange
+        measuring("twoQueries");
+
+        // Act
+        extension.beforeTestExecution(context);
+        request("GET", "/api/employees", 2);
+        request("GET", "/api/employees/1", 2);
+
+        // Assert: the budget is per request, not per test
+        assertDoesNotThrow(() -> extension.afterTestExecution(context));
+    }
+
+    @Test
+    void requestOverBudget_FailsWithStatements() throws Exception {
+        // Arrange
+        measuring("twoQueries");
+
+        // Act
+        extension.beforeTestExecution(context);
+        request("GET", "/api/leaverequests", 3);
+
+        // Assert
+        AssertionError error = assertThrows(AssertionError.class, () -> extension.afterTestExecution(context));
+        assertTrue(error.getMessage().contains("GET /api/leaverequests executed 3 SQL statements, budget is 2"));
+        assertTrue(error.getMessage().contains("3. select * from leave_requests"));
+    }
+
+    @Test
+    void forbiddenLazyLoad_FailsEvenWithinBudget() throws Exception {
+        // Arrange
+        measuring("twoQueries");
+
+        // Act
+        extension.beforeTestExecution(context);
+        SqlStatementRecorder.lazyLoad("Employee.leaveRequests", 7L);
+
+        // Assert
+        AssertionError error = assertThrows(AssertionError.class, () -> extension.afterTestExecution(context));
+        assertTrue(error.getMessage().contains("Lazy loading of Employee.leaveRequests (id 7) during the test body"));
+    }
+
+    @Test
+    void transactionScope_CountsStatementsOnTestThread() throws Exception {
+        // Arrange
+        measuring("oneQueryPerTransaction");
+
+        // Act: no transaction is active, so each statement is its own unit
+        extension.beforeTestExecution(context);
+        execute(2);
+
+        // Assert
+        assertDoesNotThrow(() -> extension.afterTestExecution(context));
+    }
+
+    @Test
+    void unannotatedTest_RecordsNothing() throws Exception {
+        // Arrange
+        when(context.getTestMethod()).thenReturn(Optional.of(method("unannotated")));
+        when(context.getTestClass()).thenReturn(Optional.of(Object.class));
+
+        // Act
+        extension.beforeTestExecution(context);
+
+        // Assert
+        assertNull(SqlStatementRecorder.stop());
+    }
+
+    private void request(String method, String uri, int statements) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(method, uri)));
+        try {
+            execute(statements);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private void execute(int statements) throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        DataSource recording = (DataSource) new RecordingDataSourcePostProcessor()
+                .postProcessAfterInitialization(dataSource, "dataSource");
+        try (Connection c = recording.getConnection()) {
+            for (int i = 0; i < statements; i++) {
+                c.prepareStatement("select * from leave_requests").executeQuery();
+            }
+        }
+    }
+
+    private void measuring(String methodName) throws Exception {
+        lenient().when(context.getTestMethod()).thenReturn(Optional.of(method(methodName)));
+        lenient().when(context.getExecutionException()).thenReturn(Optional.empty());
+        lenient().when(context.getDisplayName()).thenReturn(methodName + "()");
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Budgets.class.getDeclaredMethod(name);
+    }
+
+    @SuppressWarnings("unused")
+    static class Budgets {
+
+        @MaxQueries(2)
+        void twoQueries() {
+        }
+
+        @MaxQueries(value = 1, scope = MaxQueries.Scope.TRANSACTION)
+        void oneQueryPerTransaction() {
+        }
+
+        void unannotated() {
+        }
+    }
+}
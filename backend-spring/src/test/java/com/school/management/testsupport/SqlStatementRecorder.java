@@ -0,0 +1,155 @@
+package com.school.management.testsupport;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What the DataSource proxy and the Hibernate listeners saw while a test was being measured,
+ * grouped into units of work: one per servlet request (found through RequestContextHolder,
+ * so requests served on other threads count too) and one per transaction on the test thread.
+ * Statements outside both, such as scheduled jobs, are ignored.
+ */
+public final class SqlStatementRecorder {
+
+    private static volatile Recording recording;
+
+    private SqlStatementRecorder() {
+    }
+
+    static void start() {
+        recording = new Recording(Thread.currentThread());
+    }
+
+    static Recording stop() {
+        Recording finished = recording;
+        recording = null;
+        return finished;
+    }
+
+    static void statementExecuted(String sql) {
+        Recording current = recording;
+        if (current != null) {
+            current.statement(sql);
+        }
+    }
+
+    static void lazyLoad(String association, Object id) {
+        Recording current = recording;
+        if (current != null) {
+            current.lazyLoad(association + " (id " + id + ")");
+        }
+    }
+
+    // A request, or a transaction on the test thread, and the SQL it executed in order
+    record Unit(String label, List<String> statements) {
+    }
+
+    static final class Recording {
+
+        private static final Object TRANSACTION_KEY = new Object();
+        private static final String REQUEST_ATTRIBUTE = SqlStatementRecorder.class.getName() + ".unit";
+
+        private final Thread testThread;
+        private final List<Unit> requests = Collections.synchronizedList(new ArrayList<>());
+        private final List<Unit> transactions = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> lazyLoads = Collections.synchronizedList(new ArrayList<>());
+
+        private Recording(Thread testThread) {
+            this.testThread = testThread;
+        }
+
+        List<Unit> requests() {
+            synchronized (requests) {
+                return new ArrayList<>(requests);
+            }
+        }
+
+        List<Unit> transactions() {
+            synchronized (transactions) {
+                return new ArrayList<>(transactions);
+            }
+        }
+
+        List<String> lazyLoads() {
+            synchronized (lazyLoads) {
+                return new ArrayList<>(lazyLoads);
+            }
+        }
+
+        private void statement(String sql) {
+            String where = where();
+            if (where == null) return;
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                requestUnit(attributes).statements().add(sql);
+            }
+            if (Thread.currentThread() == testThread) {
+                transactionUnit().statements().add(sql);
+            }
+        }
+
+        private void lazyLoad(String description) {
+            String where = where();
+            if (where != null) {
+                lazyLoads.add(description + " during " + where);
+            }
+        }
+
+        // Null when the current thread is doing something the test did not ask for
+        private String where() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) return label(attributes);
+            return Thread.currentThread() == testThread ? "the test body" : null;
+        }
+
+        // Kept as a request attribute: the filters and the DispatcherServlet each bind their own
+        // RequestAttributes, but share the request, and a recycled request starts without attributes
+        private Unit requestUnit(RequestAttributes attributes) {
+            Unit unit = (Unit) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (unit == null) {
+                unit = new Unit(label(attributes), Collections.synchronizedList(new ArrayList<>()));
+                attributes.setAttribute(REQUEST_ATTRIBUTE, unit, RequestAttributes.SCOPE_REQUEST);
+                requests.add(unit);
+            }
+            return unit;
+        }
+
+        // Bound as a transaction resource so every statement of one transaction lands in one unit
+        private Unit transactionUnit() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                Unit single = new Unit("statement outside a transaction", new ArrayList<>());
+                transactions.add(single);
+                return single;
+            }
+            Unit unit = (Unit) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+            if (unit == null) {
+                String name = TransactionSynchronizationManager.getCurrentTransactionName();
+                unit = new Unit("transaction " + (name != null ? name : "#" + (transactions.size() + 1)),
+                        Collections.synchronizedList(new ArrayList<>()));
+                transactions.add(unit);
+                TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, unit);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                    }
+                });
+            }
+            return unit;
+        }
+
+        private static String label(RequestAttributes attributes) {
+            if (attributes instanceof ServletRequestAttributes servlet) {
+                return servlet.getRequest().getMethod() + " " + servlet.getRequest().getRequestURI();
+            }
+            return "request";
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.school.management.benchmarks;
+
+import com.school.management.SchoolManagementApplication;
+import com.school.management.benchmarks.dataset.SchoolDatasetGenerator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The whole backend on a random local port, backed by an embedded PostgreSQL (or the database
+ * behind --jdbc-url), for the harnesses that need real queries rather than mocks.
+ *
+ * Background jobs are pushed out of the way so they do not compete with what is measured, and
+ * JDBC batches are rewritten into multi-row inserts for the dataset generator.
+ */
+public final class EmbeddedBackend implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    /**
+     * @param options --jdbc-url, --db-user and --db-password select an external database; without
+     *                --jdbc-url an embedded PostgreSQL is started (which refuses to run as root).
+     *                --app-profile activates Spring profiles, e.g. virtual-threads.
+     */
+    @SafeVarargs
+    public static EmbeddedBackend start(Map<String, String> options,
+                                        ApplicationContextInitializer<ConfigurableApplicationContext>... initializers)
+            throws Exception {
+        EmbeddedPostgres postgres = null;
+        String url = options.get("jdbc-url");
+        String user = options.getOrDefault("db-user", "postgres");
+        String password = options.getOrDefault("db-password", "postgres");
+        if (url == null) {
+            System.out.println("[BENCH] Starting embedded PostgreSQL");
+            postgres = EmbeddedPostgres.builder().start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        if (!url.contains("reWriteBatchedInserts")) {
+            url += (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        }
+        try {
+            SpringApplicationBuilder application = new SpringApplicationBuilder(SchoolManagementApplication.class)
+                    .properties(properties(url, user, password))
+                    .initializers(initializers);
+            if (options.containsKey("app-profile")) {
+                application.profiles(options.get("app-profile").split(","));
+            }
+            ConfigurableApplicationContext context = application.run();
+            return new EmbeddedBackend(postgres, context);
+        } catch (RuntimeException e) {
+            if (postgres != null) postgres.close();
+            throw e;
+        }
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    public int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // Generates about this many leave requests with SchoolDatasetGenerator, unless there are some already
+    public void seed(long leaveRows) {
+        Long existing = jdbc().queryForObject("SELECT count(*) FROM leave_requests", Long.class);
+        if (existing != null && existing > 0) {
+            System.out.printf("[BENCH] Database already has %,d leave requests; the requested scale is ignored%n", existing);
+            return;
+        }
+        SchoolDatasetGenerator.Summary summary = new SchoolDatasetGenerator(
+                SchoolDatasetGenerator.Spec.forLeaveRows(leaveRows), LocalDate.now()).generate(context.getBean(DataSource.class));
+        System.out.println("[BENCH] Seeded " + summary);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            context.close();
+        } finally {
+            if (postgres != null) postgres.close();
+        }
+    }
+
+    private static Map<String, Object> properties(String url, String user, String password) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.username", user);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.flyway.enabled", "true");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("jwt.secret", "benchmark-secret-benchmark-secret-0123456789");
+        properties.put("jwt.expiration", "3600000");
+        // Only its bean is needed; nothing is sent because the outbox stays empty
+        properties.put("spring.mail.host", "localhost");
+        properties.put("management.health.mail.enabled", "false");
+        // Same meters as production, on the application port so a run can be scraped
+        properties.put("management.endpoints.web.exposure.include", "health,prometheus");
+        // Background jobs would compete with the measured work
+        properties.put("leave.archive.enabled", "false");
+        properties.put("leave.archive.cron", "-");
+        for (String job : List.of("dashboard.summary.reconcile-interval-ms", "mail.outbox.poll-interval-ms",
+                "password-reset.sweep-interval-ms", "staffing.reconcile-interval-ms")) {
+            properties.put(job, "86400000");
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,94 @@
+package com.school.management.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.management.entity.Employee;
+import com.school.management.entity.LeaveRequest;
+import com.school.management.entity.LeaveStatus;
+import com.school.management.entity.LeaveType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the entity lists the list endpoints return. The ObjectMapper comes
+ * from Jackson2ObjectMapperBuilder, which applies the same defaults Spring Boot's does
+ * (JavaTimeModule, ISO dates). Each leave request references one of 50 employees, so shared
+ * employee objects are serialized repeatedly, as with real data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private List<LeaveRequest> leaveRequests;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(employee(i));
+        }
+        List<Employee> owners = employees.subList(0, Math.min(50, rows));
+        leaveRequests = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2024, 9, 2);
+        for (int i = 0; i < rows; i++) {
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setId((long) i + 1);
+            leaveRequest.setLeaveType(LeaveType.values()[i % LeaveType.values().length]);
+            leaveRequest.setStartDate(start.plusDays(i % 300));
+            leaveRequest.setEndDate(start.plusDays(i % 300 + 2));
+            leaveRequest.setReason("Family matters " + i);
+            leaveRequest.setStatus(LeaveStatus.values()[i % LeaveStatus.values().length]);
+            leaveRequest.setVersion(1L);
+            leaveRequest.setChangeSeq((long) i + 1);
+            leaveRequest.setEmployee(owners.get(i % owners.size()));
+            leaveRequests.add(leaveRequest);
+        }
+    }
+
+    @Benchmark
+    public byte[] employees() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] leaveRequests() throws Exception {
+        return objectMapper.writeValueAsBytes(leaveRequests);
+    }
+
+    private static Employee employee(int i) {
+        Employee employee = new Employee();
+        employee.setId((long) i + 1);
+        employee.setName("Employee " + i);
+        employee.setEmployeeId("E" + (10000 + i));
+        employee.setDepartment(i % 3 == 0 ? "Science" : i % 3 == 1 ? "IT" : "Languages");
+        employee.setPosition("Teacher");
+        employee.setContactInfo("employee" + i + "@school.edu");
+        employee.setStartDate(LocalDate.of(2015 + i % 10, 9, 1));
+        employee.setChangeSeq((long) i + 1);
+        return employee;
+    }
+}
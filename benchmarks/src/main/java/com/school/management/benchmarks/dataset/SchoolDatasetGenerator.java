@@ -0,0 +1,499 @@
+package com.school.management.benchmarks.dataset;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Populates a migrated, empty database with realistic schools for load and capacity tests.
+ *
+ * Each school gets its staff spread over departments with a head per department, a leadership
+ * team and support staff. Start dates follow a tenure distribution, and most start at the
+ * beginning of an academic year. Every employee has a user whose roles follow the position.
+ * For the last {@code years} academic years (plus the rest of the current one), the generator
+ * also writes a leave history:
+ *
+ * - Sick leave peaks in winter.
+ * - Annual leave clusters around the holidays. Support staff take more of it than teachers.
+ * - Past requests are mostly approved, and future ones mostly pending.
+ * - Requests start on working days and do not overlap per employee.
+ *
+ * Academic terms and school holidays for the covered years are added when those tables are empty.
+ *
+ * Rows go out as JDBC batches, one transaction per school. Ids come from the identity
+ * sequences up front, like UserProvisioningRepository does. Add reWriteBatchedInserts=true to
+ * the JDBC URL and a million leave requests take well under a minute. The output is the same
+ * for the same spec, seed and date. It is meant for a database nobody else is writing to,
+ * so rows draw change_seq directly instead of waiting for the after-commit stamp.
+ *
+ *   java -cp target/benchmarks.jar com.school.management.benchmarks.dataset.SchoolDatasetGenerator \
+ *       --jdbc-url=jdbc:postgresql://localhost:5432/school_load --migrate --schools=50
+ *
+ * Options: --jdbc-url (required), --db-user=postgres, --db-password=postgres, --migrate (run the
+ * Flyway migrations first), --schools=1, --staff=120 (per school), --years=5, --seed=42,
+ * --password=password (for every generated user), or --leave-rows=N instead of --schools.
+ */
+public final class SchoolDatasetGenerator {
+
+    // Requests actually written per employee per year of history: rate() adds up to about 5.4,
+    // minus later starters, overlaps and requests running past the window (measured)
+    private static final double LEAVE_PER_EMPLOYEE_YEAR = 3.9;
+
+    private static final String[] SCHOOLS = {"Northfield", "Riverside", "St Mary's", "Oakwood", "Hillcrest",
+            "Meadowbank", "Westbrook", "Kingsway", "Ashdown", "Brookfield", "Elmhurst", "Fairview"};
+    private static final String[] FIRST_NAMES = {"Oliver", "Amelia", "George", "Olivia", "Harry", "Isla", "Jack",
+            "Ava", "Noah", "Emily", "Charlie", "Sophie", "Thomas", "Grace", "James", "Mia", "William", "Poppy",
+            "Daniel", "Ella", "Samuel", "Lily", "Joseph", "Evie", "David", "Chloe", "Mohammed", "Aisha", "Priya",
+            "Arjun", "Sarah", "Michael", "Laura", "Peter", "Helen", "Andrew", "Claire", "Mark", "Rachel", "Paul"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Taylor", "Brown", "Williams", "Wilson", "Johnson",
+            "Davies", "Patel", "Robinson", "Wright", "Thompson", "Evans", "Walker", "White", "Roberts", "Green",
+            "Hall", "Wood", "Jackson", "Clarke", "Khan", "Hughes", "Edwards", "Turner", "Hill", "Moore", "Cooper",
+            "Ward", "Morris", "King", "Harris", "Baker", "Lewis", "Martin", "Scott", "Young", "Ali", "Begum", "Shah"};
+
+    // Share of a school's staff per department
+    private static final Department[] DEPARTMENTS = {
+            Department.teaching("Mathematics", 12), Department.teaching("English", 12),
+            Department.teaching("Science", 14), Department.teaching("History", 6),
+            Department.teaching("Geography", 5), Department.teaching("Modern Languages", 7),
+            Department.teaching("Arts", 6), Department.teaching("Music", 3),
+            Department.teaching("Physical Education", 6), Department.teaching("Computing", 5),
+            Department.teaching("Special Educational Needs", 6),
+            new Department("Administration", 10, false, "Office Manager", new String[]{"Administrator", "Receptionist", "Finance Officer"}),
+            new Department("Facilities", 5, false, "Site Manager", new String[]{"Caretaker", "Cleaner", "Technician"}),
+            new Department("Leadership", 3, false, "Headteacher", new String[]{"Deputy Headteacher", "Assistant Headteacher"})};
+
+    private static final String[] LEAVE_TYPES = {"SICK", "ANNUAL", "OTHER", "UNPAID"};
+    // Relative likelihood per month, January first
+    private static final double[][] SEASONALITY = {
+            {1.6, 1.5, 1.2, 0.9, 0.8, 0.7, 0.6, 0.2, 0.9, 1.1, 1.3, 1.5},
+            {0.6, 0.6, 0.7, 1.3, 0.8, 0.9, 1.6, 1.8, 0.4, 0.8, 0.7, 1.4},
+            {1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 0.8, 0.5, 1.0, 1.0, 1.0, 1.2},
+            {0.8, 0.8, 0.9, 1.0, 1.0, 1.1, 1.3, 1.3, 0.9, 0.9, 0.9, 1.1}};
+    private static final String[][] REASONS = {
+            {"Flu", "Stomach bug", "Migraine", "Back pain", "Medical appointment", "Covid"},
+            {"Family holiday", "Wedding", "Moving house", "Extended weekend", "Visiting family abroad"},
+            {"Jury service", "Bereavement", "Training course", "Exam invigilation elsewhere", "Graduation"},
+            {"Career break", "Caring for a relative", "Personal reasons"}};
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (id, name, employee_id, department, position, contact_info, start_date, change_seq) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, nextval('change_seq'))";
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, password, email, employee_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_LEAVE_REQUEST =
+            "INSERT INTO leave_requests (leave_type, start_date, end_date, reason, status, version, change_seq, employee_id) " +
+            "VALUES (?, ?, ?, ?, ?, 0, nextval('change_seq'), ?)";
+
+    private final Spec spec;
+    private final LocalDate today;
+    private final LocalDate windowStart;
+    private final LocalDate windowEnd;
+    private final Set<LocalDate> holidays = new HashSet<>();
+    private final List<Object[]> terms = new ArrayList<>();
+    private final List<Object[]> holidayRows = new ArrayList<>();
+    private final Map<String, Integer> usernameCounts = new HashMap<>();
+
+    /**
+     * @param schools        number of schools; departments are qualified with the school name when more than one
+     * @param staffPerSchool employees (each with a user) per school
+     * @param years          academic years of leave history before the current one
+     * @param seed           random seed; the same spec, seed and date give the same data
+     * @param password       plain-text password of every generated user
+     */
+    public record Spec(int schools, int staffPerSchool, int years, long seed, String password) {
+
+        public static Spec defaults() {
+            return new Spec(1, 120, 5, 42, "password");
+        }
+
+        // Schools of the default size (smaller staff for small targets) for about this many leave requests
+        public static Spec forLeaveRows(long leaveRows) {
+            Spec defaults = defaults();
+            long employees = Math.max(20, Math.round(leaveRows / (LEAVE_PER_EMPLOYEE_YEAR * (defaults.years + 0.5))));
+            int schools = (int) Math.max(1, Math.round(employees / (double) defaults.staffPerSchool));
+            int staff = (int) Math.max(20, employees / schools);
+            return new Spec(schools, staff, defaults.years, defaults.seed, defaults.password);
+        }
+    }
+
+    public record Summary(int schools, long employees, long leaveRequests, long millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d schools, %,d employees and users, %,d leave requests in %.1f s",
+                    schools, employees, leaveRequests, millis / 1000.0);
+        }
+    }
+
+    public SchoolDatasetGenerator(Spec spec, LocalDate today) {
+        this.spec = spec;
+        this.today = today;
+        int currentAcademicYear = today.getMonthValue() >= 9 ? today.getYear() : today.getYear() - 1;
+        this.windowStart = LocalDate.of(currentAcademicYear - spec.years(), 9, 1);
+        this.windowEnd = LocalDate.of(currentAcademicYear + 1, 8, 31);
+        for (int year = currentAcademicYear - spec.years(); year <= currentAcademicYear; year++) {
+            academicYear(year);
+        }
+    }
+
+    public Summary generate(DataSource dataSource) {
+        long started = System.currentTimeMillis();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        Long existing = jdbc.queryForObject("SELECT count(*) FROM employees", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("employees already has " + existing + " rows; the generator expects an empty schema");
+        }
+        Map<String, Long> roleIds = new HashMap<>();
+        jdbc.query("SELECT id, name FROM roles", rs -> {
+            roleIds.put(rs.getString("name"), rs.getLong("id"));
+        });
+        writeCalendar(jdbc);
+
+        // One hash for everybody: BCrypt at cost 10 for a million users would take hours
+        String passwordHash = new BCryptPasswordEncoder().encode(spec.password());
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        long employees = 0;
+        long leaveRequests = 0;
+        int reportEvery = Math.max(1, spec.schools() / 10);
+        for (int school = 1; school <= spec.schools(); school++) {
+            School generated = school(school, random.split());
+            transaction.executeWithoutResult(status -> write(jdbc, generated, passwordHash, roleIds));
+            employees += generated.employees.size();
+            leaveRequests += generated.leaveRequests.size();
+            if (school % reportEvery == 0 || school == spec.schools()) {
+                System.out.printf("[DATASET] %d/%d schools, %,d employees, %,d leave requests%n",
+                        school, spec.schools(), employees, leaveRequests);
+            }
+        }
+        // Fresh statistics, or the planner keeps judging the indexes by empty tables
+        jdbc.execute("ANALYZE");
+        return new Summary(spec.schools(), employees, leaveRequests, System.currentTimeMillis() - started);
+    }
+
+    private void writeCalendar(JdbcTemplate jdbc) {
+        Long rows = jdbc.queryForObject("SELECT (SELECT count(*) FROM academic_terms) + (SELECT count(*) FROM school_holidays)", Long.class);
+        if (rows != null && rows > 0) {
+            System.out.println("[DATASET] Keeping the existing term and holiday calendar");
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO academic_terms (name, start_date, end_date) VALUES (?, ?, ?)", terms);
+        jdbc.batchUpdate("INSERT INTO school_holidays (name, start_date, end_date) VALUES (?, ?, ?)", holidayRows);
+    }
+
+    private void write(JdbcTemplate jdbc, School school, String passwordHash, Map<String, Long> roleIds) {
+        List<Long> employeeIds = allocateIds(jdbc, "employees", school.employees.size());
+        List<Long> userIds = allocateIds(jdbc, "users", school.employees.size());
+        List<Object[]> employees = new ArrayList<>(school.employees.size());
+        List<Object[]> users = new ArrayList<>(school.employees.size());
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < school.employees.size(); i++) {
+            StaffMember staff = school.employees.get(i);
+            staff.id = employeeIds.get(i);
+            employees.add(new Object[]{staff.id, staff.name, staff.code, staff.department, staff.position,
+                    staff.contactInfo, Date.valueOf(staff.startDate)});
+            users.add(new Object[]{userIds.get(i), staff.username, passwordHash, staff.email, staff.id});
+            for (String role : staff.roles) {
+                userRoles.add(new Object[]{userIds.get(i), roleIds.get(role)});
+            }
+        }
+        jdbc.batchUpdate(INSERT_EMPLOYEE, employees);
+        jdbc.batchUpdate(INSERT_USER, users);
+        jdbc.batchUpdate(INSERT_USER_ROLE, userRoles);
+
+        List<Object[]> leaveRequests = new ArrayList<>(school.leaveRequests.size());
+        for (LeaveRow row : school.leaveRequests) {
+            leaveRequests.add(new Object[]{row.type, Date.valueOf(row.start), Date.valueOf(row.end), row.reason,
+                    row.status, row.staff.id});
+        }
+        jdbc.batchUpdate(INSERT_LEAVE_REQUEST, leaveRequests);
+    }
+
+    private static List<Long> allocateIds(JdbcTemplate jdbc, String table, int count) {
+        return jdbc.queryForList("SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)",
+                Long.class, table, count);
+    }
+
+    private School school(int number, SplittableRandom random) {
+        String schoolName = SCHOOLS[(number - 1) % SCHOOLS.length]
+                + (number > SCHOOLS.length ? " " + ((number - 1) / SCHOOLS.length + 1) : "");
+        String domain = schoolName.toLowerCase().replaceAll("[^a-z0-9]+", "") + ".school.test";
+        School school = new School();
+        Set<String> departmentsWithHead = new HashSet<>();
+        int totalWeight = 0;
+        for (Department department : DEPARTMENTS) totalWeight += department.weight;
+
+        for (int i = 0; i < spec.staffPerSchool(); i++) {
+            // Cycle through the departments first so even a small school has every head post
+            Department department = i < DEPARTMENTS.length ? DEPARTMENTS[i] : pick(random, totalWeight);
+            StaffMember staff = new StaffMember();
+            staff.department = spec.schools() > 1 ? department.name + " - " + schoolName : department.name;
+            boolean head = departmentsWithHead.add(department.name);
+            staff.position = head ? department.head : department.positions[random.nextInt(department.positions.length)];
+            staff.roles = roles(department, head);
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            staff.name = first + " " + last;
+            staff.code = String.format("S%03d-%04d", number, i + 1);
+            staff.username = username(first, last);
+            staff.email = staff.username + "@" + domain;
+            staff.contactInfo = String.format("+44 7700 9%05d", random.nextInt(100_000));
+            staff.startDate = startDate(random);
+            school.employees.add(staff);
+            leaveHistory(staff, department.teaching, random, school.leaveRequests);
+        }
+        return school;
+    }
+
+    private static Department pick(SplittableRandom random, int totalWeight) {
+        int target = random.nextInt(totalWeight);
+        for (Department department : DEPARTMENTS) {
+            target -= department.weight;
+            if (target < 0) return department;
+        }
+        return DEPARTMENTS[0];
+    }
+
+    private static List<String> roles(Department department, boolean head) {
+        if (head && department.name.equals("Leadership")) return List.of("EMPLOYEE", "MANAGER", "ADMIN");
+        if (head && department.name.equals("Administration")) return List.of("EMPLOYEE", "ADMIN");
+        if (head || department.name.equals("Leadership")) return List.of("EMPLOYEE", "MANAGER");
+        return List.of("EMPLOYEE");
+    }
+
+    // j.smith, j.smith2, ...: unique across all schools
+    private String username(String first, String last) {
+        String base = (first.charAt(0) + "." + last).toLowerCase();
+        int count = usernameCounts.merge(base, 1, Integer::sum);
+        return count == 1 ? base : base + count;
+    }
+
+    // Tenure is roughly exponential (mean 8 years, at most 35); most people start in September
+    private LocalDate startDate(SplittableRandom random) {
+        int tenure = (int) Math.min(35, -Math.log(1 - random.nextDouble()) * 8);
+        int year = today.getYear() - tenure;
+        double kind = random.nextDouble();
+        LocalDate start;
+        if (kind < 0.75) {
+            start = LocalDate.of(year, 9, 1);
+        } else if (kind < 0.9) {
+            start = LocalDate.of(year, 1, 6);
+        } else {
+            start = LocalDate.of(year, 1, 1).plusDays(random.nextInt(365));
+        }
+        start = nextWorkingDay(start);
+        return start.isAfter(today) ? nextWorkingDay(today.minusDays(30)) : start;
+    }
+
+    private void leaveHistory(StaffMember staff, boolean teaching, SplittableRandom random, List<LeaveRow> out) {
+        LocalDate from = staff.startDate.isAfter(windowStart) ? staff.startDate : windowStart;
+        if (from.isAfter(windowEnd)) return;
+        double years = ChronoUnit.DAYS.between(from, windowEnd) / 365.25;
+        List<LeaveRow> own = new ArrayList<>();
+        for (int type = 0; type < LEAVE_TYPES.length; type++) {
+            int count = poisson(random, rate(type, teaching) * years);
+            for (int i = 0; i < count; i++) {
+                LocalDate start = seasonalDay(type, from, random);
+                if (start == null) continue;
+                LocalDate end = plusWorkingDays(start, duration(type, random) - 1);
+                if (end.isAfter(windowEnd) || overlaps(own, start, end)) continue;
+                LeaveRow row = new LeaveRow(staff, LEAVE_TYPES[type], start, end,
+                        REASONS[type][random.nextInt(REASONS[type].length)], status(type, start, random));
+                own.add(row);
+            }
+        }
+        out.addAll(own);
+    }
+
+    // Requests per employee per year; teachers take most of their time off in the school holidays
+    private static double rate(int type, boolean teaching) {
+        return switch (LEAVE_TYPES[type]) {
+            case "SICK" -> 3.0;
+            case "ANNUAL" -> teaching ? 1.0 : 3.5;
+            case "OTHER" -> 0.8;
+            default -> 0.15;
+        };
+    }
+
+    // Working days
+    private static int duration(int type, SplittableRandom random) {
+        return switch (LEAVE_TYPES[type]) {
+            case "SICK" -> Math.min(10, 1 + (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            case "ANNUAL" -> 1 + random.nextInt(10);
+            case "OTHER" -> 1 + random.nextInt(2);
+            default -> 5 + random.nextInt(16);
+        };
+    }
+
+    private String status(int type, LocalDate start, SplittableRandom random) {
+        double draw = random.nextDouble();
+        if (start.isAfter(today)) {
+            return draw < 0.7 ? "PENDING" : draw < 0.95 ? "APPROVED" : "REJECTED";
+        }
+        if (start.isAfter(today.minusDays(14)) && draw < 0.2) {
+            return "PENDING";
+        }
+        double rejected = LEAVE_TYPES[type].equals("SICK") ? 0.03 : 0.15;
+        return random.nextDouble() < rejected ? "REJECTED" : "APPROVED";
+    }
+
+    // A working day in [from, windowEnd], months weighted by SEASONALITY; null when none was found
+    private LocalDate seasonalDay(int type, LocalDate from, SplittableRandom random) {
+        long span = ChronoUnit.DAYS.between(from, windowEnd) + 1;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            LocalDate day = from.plusDays(random.nextLong(span));
+            if (random.nextDouble() * 1.8 < SEASONALITY[type][day.getMonthValue() - 1]) {
+                LocalDate start = nextWorkingDay(day);
+                return start.isAfter(windowEnd) ? null : start;
+            }
+        }
+        return null;
+    }
+
+    private static boolean overlaps(List<LeaveRow> rows, LocalDate start, LocalDate end) {
+        for (LeaveRow row : rows) {
+            if (!row.start.isAfter(end) && !start.isAfter(row.end)) return true;
+        }
+        return false;
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private LocalDate nextWorkingDay(LocalDate day) {
+        LocalDate next = day;
+        while (next.getDayOfWeek() == DayOfWeek.SATURDAY || next.getDayOfWeek() == DayOfWeek.SUNDAY || holidays.contains(next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    private LocalDate plusWorkingDays(LocalDate start, int days) {
+        LocalDate end = start;
+        for (int i = 0; i < days; i++) {
+            end = nextWorkingDay(end.plusDays(1));
+        }
+        return end;
+    }
+
+    // Terms and holidays of the academic year starting in September of the given year
+    private void academicYear(int year) {
+        int next = year + 1;
+        term("Autumn term " + year, LocalDate.of(year, 9, 3), LocalDate.of(year, 12, 19));
+        term("Spring term " + next, LocalDate.of(next, 1, 6), LocalDate.of(next, 3, 27));
+        term("Summer term " + next, LocalDate.of(next, 4, 13), LocalDate.of(next, 7, 21));
+        holiday("Autumn half term " + year, weekOf(LocalDate.of(year, Month.OCTOBER, 26)));
+        holiday("Christmas holiday " + year, LocalDate.of(year, 12, 20), LocalDate.of(next, 1, 5));
+        holiday("February half term " + next, weekOf(LocalDate.of(next, Month.FEBRUARY, 15)));
+        holiday("Easter holiday " + next, LocalDate.of(next, 3, 28), LocalDate.of(next, 4, 12));
+        holiday("May half term " + next, weekOf(LocalDate.of(next, Month.MAY, 25)));
+        holiday("Summer holiday " + next, LocalDate.of(next, 7, 22), LocalDate.of(next, 9, 2));
+    }
+
+    private void term(String name, LocalDate start, LocalDate end) {
+        terms.add(new Object[]{name, Date.valueOf(start), Date.valueOf(end)});
+    }
+
+    private void holiday(String name, LocalDate[] week) {
+        holiday(name, week[0], week[1]);
+    }
+
+    private void holiday(String name, LocalDate start, LocalDate end) {
+        holidayRows.add(new Object[]{name, Date.valueOf(start), Date.valueOf(end)});
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            holidays.add(day);
+        }
+    }
+
+    // Monday to Friday of the week containing the day
+    private static LocalDate[] weekOf(LocalDate day) {
+        LocalDate monday = day.minusDays(day.getDayOfWeek().getValue() - 1);
+        return new LocalDate[]{monday, monday.plusDays(4)};
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String url = options.get("jdbc-url");
+        if (url == null) {
+            throw new IllegalArgumentException("--jdbc-url is required, e.g. --jdbc-url=jdbc:postgresql://localhost:5432/school_load");
+        }
+        if (!url.contains("reWriteBatchedInserts")) {
+            url += (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        }
+        DataSource dataSource = new DriverManagerDataSource(url, options.getOrDefault("db-user", "postgres"),
+                options.getOrDefault("db-password", "postgres"));
+        if (options.containsKey("migrate")) {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        }
+        Spec defaults = options.containsKey("leave-rows")
+                ? Spec.forLeaveRows(Long.parseLong(options.get("leave-rows")))
+                : Spec.defaults();
+        Spec spec = new Spec(
+                Integer.parseInt(options.getOrDefault("schools", String.valueOf(defaults.schools()))),
+                Integer.parseInt(options.getOrDefault("staff", String.valueOf(defaults.staffPerSchool()))),
+                Integer.parseInt(options.getOrDefault("years", String.valueOf(defaults.years()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))),
+                options.getOrDefault("password", defaults.password()));
+        Summary summary = new SchoolDatasetGenerator(spec, LocalDate.now()).generate(dataSource);
+        System.out.println("[DATASET] Generated " + summary);
+    }
+
+    private record Department(String name, int weight, boolean teaching, String head, String[] positions) {
+
+        static Department teaching(String name, int weight) {
+            return new Department(name, weight, true, "Head of " + name,
+                    new String[]{"Teacher", "Teacher", "Teacher", "Senior Teacher", "Teaching Assistant"});
+        }
+    }
+
+    private static final class School {
+        private final List<StaffMember> employees = new ArrayList<>();
+        private final List<LeaveRow> leaveRequests = new ArrayList<>();
+    }
+
+    private static final class StaffMember {
+        private Long id;
+        private String name;
+        private String code;
+        private String department;
+        private String position;
+        private String contactInfo;
+        private LocalDate startDate;
+        private String username;
+        private String email;
+        private List<String> roles;
+    }
+
+    private record LeaveRow(StaffMember staff, String type, LocalDate start, LocalDate end, String reason, String status) {
+    }
+}
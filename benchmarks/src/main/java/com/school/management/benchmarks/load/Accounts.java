@@ -0,0 +1,69 @@
+package com.school.management.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The generated users, split by what they may do. Staff only have EMPLOYEE; managers have
+ * MANAGER but not ADMIN; admins have ADMIN. All share the generator's password.
+ */
+final class Accounts {
+
+    record Account(String username, Long employeeId) {
+    }
+
+    final List<Account> staff = new ArrayList<>();
+    final List<Account> managers = new ArrayList<>();
+    final List<Account> admins = new ArrayList<>();
+    final String password;
+
+    private Accounts(String password) {
+        this.password = password;
+    }
+
+    static Accounts load(JdbcTemplate jdbc, String password) {
+        Accounts accounts = new Accounts(password);
+        jdbc.query("SELECT u.username, u.employee_id, "
+                + "bool_or(r.name = 'ADMIN') AS admin, bool_or(r.name = 'MANAGER') AS manager "
+                + "FROM users u JOIN user_roles ur ON ur.user_id = u.id JOIN roles r ON r.id = ur.role_id "
+                + "GROUP BY u.id ORDER BY u.id", rs -> {
+            Account account = new Account(rs.getString("username"), (Long) rs.getObject("employee_id"));
+            if (rs.getBoolean("admin")) {
+                accounts.admins.add(account);
+            } else if (rs.getBoolean("manager")) {
+                accounts.managers.add(account);
+            } else {
+                accounts.staff.add(account);
+            }
+        });
+        return accounts;
+    }
+
+    CompletableFuture<JsonNode> login(LoadClient client, Account account) {
+        return client.post("POST /auth/login", "/auth/login", null,
+                Map.of("username", account.username(), "password", password));
+    }
+
+    // Tokens for the first n accounts, logged in a few at a time (BCrypt is expensive)
+    List<String> tokens(LoadClient client, List<Account> accounts, int n) {
+        List<String> tokens = new ArrayList<>();
+        List<Account> chosen = accounts.subList(0, Math.min(n, accounts.size()));
+        for (int from = 0; from < chosen.size(); from += 8) {
+            List<CompletableFuture<JsonNode>> logins = new ArrayList<>();
+            for (Account account : chosen.subList(from, Math.min(from + 8, chosen.size()))) {
+                logins.add(login(client, account));
+            }
+            for (CompletableFuture<JsonNode> login : logins) {
+                JsonNode body = login.join();
+                if (body == null) throw new IllegalStateException("Login failed while preparing the scenario");
+                tokens.add(body.get("token").asText());
+            }
+        }
+        return tokens;
+    }
+}
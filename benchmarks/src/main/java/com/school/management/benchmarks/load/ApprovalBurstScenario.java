@@ -0,0 +1,95 @@
+package com.school.management.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last day of term: every manager opens the pending queue and works through it as fast as
+ * they can. Most decisions are single approvals (one PUT per request). Some managers select
+ * a page of requests and approve it in one bulk call. About one decision in ten is a rejection.
+ * The scenario ends when the selected requests are all decided.
+ */
+final class ApprovalBurstScenario implements Scenario {
+
+    private static final int BULK_SIZE = 20;
+
+    private final int users;
+    private final int approvals;
+    private List<String> tokens;
+
+    ApprovalBurstScenario(int users, int approvals) {
+        this.users = users;
+        this.approvals = approvals;
+    }
+
+    @Override
+    public String name() {
+        return "approvals";
+    }
+
+    @Override
+    public String description() {
+        return users + " managers deciding up to " + approvals + " pending requests; 3 calls in 10 are bulk calls of up to " + BULK_SIZE;
+    }
+
+    @Override
+    public void prepare(LoadClient client, Accounts accounts) {
+        tokens = accounts.tokens(client, accounts.managers, users);
+    }
+
+    @Override
+    public void run(LoadClient client, Accounts accounts) throws Exception {
+        // Everybody opens the queue at once; the first response decides what gets worked on
+        List<CompletableFuture<JsonNode>> queues = new ArrayList<>();
+        for (String token : tokens) {
+            queues.add(client.get("GET /leaverequests?status=PENDING", "/leaverequests?status=PENDING", token));
+        }
+        CompletableFuture.allOf(queues.toArray(new CompletableFuture[0])).join();
+        JsonNode pending = queues.get(0).join();
+        if (pending == null) throw new IllegalStateException("Could not load the pending queue");
+        List<Long> ids = new ArrayList<>();
+        pending.forEach(view -> ids.add(view.get("id").asLong()));
+        Collections.shuffle(ids, new Random(1));
+        ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>(ids.subList(0, Math.min(approvals, ids.size())));
+
+        ExecutorService managers = Executors.newFixedThreadPool(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Random random = new Random(i);
+            managers.execute(() -> {
+                while (!queue.isEmpty()) {
+                    String status = random.nextInt(10) == 0 ? "REJECTED" : "APPROVED";
+                    if (random.nextInt(10) < 3) {
+                        List<Long> page = new ArrayList<>(BULK_SIZE);
+                        Long id;
+                        while (page.size() < BULK_SIZE && (id = queue.poll()) != null) {
+                            page.add(id);
+                        }
+                        if (!page.isEmpty()) {
+                            client.put("PUT /leaverequests/status", "/leaverequests/status", token,
+                                    Map.of("ids", page, "status", status)).join();
+                        }
+                    } else {
+                        Long id = queue.poll();
+                        if (id != null) {
+                            client.put("PUT /leaverequests/{id}/status", "/leaverequests/" + id + "/status?status=" + status,
+                                    token, null).join();
+                        }
+                    }
+                }
+            });
+        }
+        managers.shutdown();
+        managers.awaitTermination(1, TimeUnit.HOURS);
+    }
+}
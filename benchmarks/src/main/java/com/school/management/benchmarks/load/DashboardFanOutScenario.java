@@ -0,0 +1,72 @@
+package com.school.management.benchmarks.load;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Managers keeping the dashboard open: every refresh fans out into the requests behind its
+ * widgets in parallel (summary, pending queue, holidays, profile), then the manager looks at it
+ * for a while. Closed loop: a manager refreshes again only after the whole page has loaded.
+ */
+final class DashboardFanOutScenario implements Scenario {
+
+    private final int users;
+    private final int seconds;
+    private final int thinkMs;
+    private List<String> tokens;
+
+    DashboardFanOutScenario(int users, int seconds, int thinkMs) {
+        this.users = users;
+        this.seconds = seconds;
+        this.thinkMs = thinkMs;
+    }
+
+    @Override
+    public String name() {
+        return "dashboard";
+    }
+
+    @Override
+    public String description() {
+        return users + " managers refreshing a 4-request dashboard for " + seconds + " s, "
+                + thinkMs + " ms average think time";
+    }
+
+    @Override
+    public void prepare(LoadClient client, Accounts accounts) {
+        tokens = accounts.tokens(client, accounts.managers, users);
+    }
+
+    @Override
+    public void run(LoadClient client, Accounts accounts) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService managers = Executors.newFixedThreadPool(tokens.size());
+        for (String token : tokens) {
+            managers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    CompletableFuture.allOf(
+                            client.get("GET /dashboard/summary", "/dashboard/summary", token),
+                            client.get("GET /leaverequests?status=PENDING", "/leaverequests?status=PENDING", token),
+                            client.get("GET /calendar/holidays", "/calendar/holidays", token),
+                            client.get("GET /users/profile", "/users/profile", token)).join();
+                    think();
+                }
+            });
+        }
+        managers.shutdown();
+        managers.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+    }
+
+    private void think() {
+        if (thinkMs <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs / 2, thinkMs * 3L / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.school.management.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies, status codes and bytes for one endpoint (method and path template) in one scenario.
+ * Synchronized because the HTTP client completes requests on several threads.
+ */
+final class EndpointStats {
+
+    // Upper bounds of the histogram buckets in ms; the last bucket is everything slower
+    static final long[] BUCKETS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private long bytes;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    // status 0: the request failed without a response (connection error, timeout)
+    synchronized void record(long nanos, int status, boolean ok, long responseBytes) {
+        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count++] = nanos / 1000;
+        if (!ok) errors++;
+        bytes += responseBytes;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int[] histogram = new int[BUCKETS_MS.length + 1];
+        for (long micros : sorted) {
+            int bucket = 0;
+            while (bucket < BUCKETS_MS.length && micros > BUCKETS_MS[bucket] * 1000) bucket++;
+            histogram[bucket]++;
+        }
+        return new Summary(count, errors, seconds > 0 ? count / seconds : 0, bytes,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                count == 0 ? 0 : sorted[count - 1] / 1000.0, histogram, new LinkedHashMap<>(statuses));
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1)] / 1000.0;
+    }
+
+    record Summary(int count, int errors, double throughput, long bytes, double p50, double p90, double p99,
+                   double max, int[] histogram, Map<Integer, Integer> statuses) {
+    }
+}
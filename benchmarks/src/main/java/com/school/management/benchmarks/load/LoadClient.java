@@ -0,0 +1,101 @@
+package com.school.management.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Asynchronous HTTP client for the scenarios. Every call is recorded under its endpoint
+ * (method and path template, e.g. "PUT /leaverequests/{id}/status") in the current recorder.
+ */
+final class LoadClient implements AutoCloseable {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private volatile Map<String, EndpointStats> recorder = new ConcurrentHashMap<>();
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    // Starts a new set of per-endpoint statistics and returns it
+    Map<String, EndpointStats> record() {
+        Map<String, EndpointStats> fresh = new ConcurrentHashMap<>();
+        recorder = fresh;
+        return fresh;
+    }
+
+    CompletableFuture<JsonNode> get(String endpoint, String path, String token) {
+        return send(endpoint, builder(path, token).GET());
+    }
+
+    CompletableFuture<JsonNode> post(String endpoint, String path, String token, Object body) {
+        return send(endpoint, builder(path, token).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(write(body))));
+    }
+
+    CompletableFuture<JsonNode> put(String endpoint, String path, String token, Object body) {
+        return send(endpoint, builder(path, token).header("Content-Type", "application/json")
+                .PUT(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(write(body))));
+    }
+
+    // Completes with the parsed body of a 2xx response, or null for any other outcome
+    private CompletableFuture<JsonNode> send(String endpoint, HttpRequest.Builder request) {
+        EndpointStats stats = recorder.computeIfAbsent(endpoint, e -> new EndpointStats());
+        long start = System.nanoTime();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, failure) -> {
+                    long nanos = System.nanoTime() - start;
+                    if (failure != null) {
+                        stats.record(nanos, 0, false, 0);
+                        return null;
+                    }
+                    boolean ok = response.statusCode() >= 200 && response.statusCode() < 300;
+                    stats.record(nanos, response.statusCode(), ok, response.body().length);
+                    if (!ok || response.body().length == 0) return null;
+                    try {
+                        return JSON.readTree(response.body());
+                    } catch (Exception e) {
+                        // Plain-text bodies (health, error messages) are not needed by any scenario
+                        return null;
+                    }
+                });
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private static String write(Object body) {
+        try {
+            return JSON.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,185 @@
+package com.school.management.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.school.management.benchmarks.EmbeddedBackend;
+import com.school.management.benchmarks.dataset.SchoolDatasetGenerator;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTTP load test: boots the backend on an embedded PostgreSQL filled by SchoolDatasetGenerator
+ * and drives scripted school traffic at it over loopback. Prints, per scenario and endpoint,
+ * throughput, percentiles and a latency histogram, and compares them with a saved baseline.
+ *
+ *   java -cp target/benchmarks.jar com.school.management.benchmarks.load.LoadTest --save=before.json
+ *   java -cp target/benchmarks.jar com.school.management.benchmarks.load.LoadTest --baseline=before.json
+ *
+ * Options (all optional):
+ *   --scenarios=login-storm,dashboard,approvals,export   which scenarios, in this order
+ *                                 (thread-mode is available but not in the default list)
+ *   --scale=100k                  leave requests to generate (1k, 100k, 1m or a number)
+ *   --logins=1000 --storm-seconds=60                      login-storm
+ *   --dashboard-users=50 --dashboard-seconds=60 --think-ms=1000   dashboard
+ *   --approvers=20 --approvals=2000                       approvals
+ *   --exporters=4 --exports=3                             export
+ *   --mix-users=400 --mix-seconds=60                      thread-mode
+ *   --warmup-seconds=15           dashboard traffic before the first scenario, not reported
+ *   --save=file.json --baseline=file.json
+ *   --app-output                  keep the backend's console output during the scenarios
+ *   --app-profile=virtual-threads Spring profiles for the backend (virtual threads need a Java 21 JVM)
+ *   --jdbc-url=... --db-user=... --db-password=...        use an existing database
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        Map<String, Scenario> available = new LinkedHashMap<>();
+        // Saturates the server on purpose; only run when comparing thread modes
+        Scenario threadMode = new ThreadModeScenario(intOption(options, "mix-users", 400), intOption(options, "mix-seconds", 60));
+        for (Scenario scenario : List.of(
+                new LoginStormScenario(intOption(options, "logins", 1000), intOption(options, "storm-seconds", 60)),
+                new DashboardFanOutScenario(intOption(options, "dashboard-users", 50),
+                        intOption(options, "dashboard-seconds", 60), intOption(options, "think-ms", 1000)),
+                new ApprovalBurstScenario(intOption(options, "approvers", 20), intOption(options, "approvals", 2000)),
+                new MassExportScenario(intOption(options, "exporters", 4), intOption(options, "exports", 3)))) {
+            available.put(scenario.name(), scenario);
+        }
+        String defaultScenarios = String.join(",", available.keySet());
+        available.put(threadMode.name(), threadMode);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : options.getOrDefault("scenarios", defaultScenarios).split(",")) {
+            Scenario scenario = available.get(name.trim());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario " + name + ", expected some of " + available.keySet());
+            }
+            scenarios.add(scenario);
+        }
+        JsonNode baseline = options.containsKey("baseline") ? LoadClient.JSON.readTree(new File(options.get("baseline"))) : null;
+
+        PrintStream console = System.out;
+        try (EmbeddedBackend backend = EmbeddedBackend.start(options)) {
+            backend.seed(scale(options.getOrDefault("scale", "100k")));
+            Accounts accounts = Accounts.load(backend.jdbc(), SchoolDatasetGenerator.Spec.defaults().password());
+            console.printf("[LOAD] %d staff, %d managers, %d admins; backend on port %d%n",
+                    accounts.staff.size(), accounts.managers.size(), accounts.admins.size(), backend.port());
+            if (!options.containsKey("app-output")) {
+                // The backend prints a line per authenticated request; keep the report readable
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            }
+
+            ObjectNode results = LoadClient.JSON.createObjectNode();
+            try (LoadClient client = new LoadClient("http://localhost:" + backend.port() + "/api")) {
+                int warmup = intOption(options, "warmup-seconds", 15);
+                if (warmup > 0) {
+                    console.println("[LOAD] Warming up for " + warmup + " s");
+                    Scenario warmupScenario = new DashboardFanOutScenario(10, warmup, 100);
+                    client.record();
+                    warmupScenario.prepare(client, accounts);
+                    warmupScenario.run(client, accounts);
+                }
+                for (Scenario scenario : scenarios) {
+                    client.record();
+                    scenario.prepare(client, accounts);
+                    Map<String, EndpointStats> stats = client.record();
+                    long start = System.nanoTime();
+                    scenario.run(client, accounts);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    results.set(scenario.name(), report(console, scenario, stats, seconds,
+                            baseline == null ? null : baseline.get(scenario.name())));
+                }
+            }
+            if (options.containsKey("save")) {
+                LoadClient.JSON.writerWithDefaultPrettyPrinter().writeValue(new File(options.get("save")), results);
+                console.println("[LOAD] Results saved to " + options.get("save"));
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static ObjectNode report(PrintStream out, Scenario scenario, Map<String, EndpointStats> stats,
+                                     double seconds, JsonNode baseline) {
+        out.println();
+        out.printf("== %s: %s (%.1f s)%n", scenario.name(), scenario.description(), seconds);
+        ObjectNode saved = LoadClient.JSON.createObjectNode();
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats.Summary s = entry.getValue().summarize(seconds);
+            out.printf("%-40s %7d req %5d err %8.1f req/s   p50 %8.1f  p90 %8.1f  p99 %8.1f  max %8.1f ms  %s%n",
+                    entry.getKey(), s.count(), s.errors(), s.throughput(), s.p50(), s.p90(), s.p99(), s.max(),
+                    bytes(s.bytes() / Math.max(1, s.count())) + "/resp");
+            JsonNode before = baseline == null ? null : baseline.get(entry.getKey());
+            if (before != null) {
+                out.printf("%-40s vs baseline: req/s %s, p50 %s, p99 %s%n", "",
+                        change(before.get("throughput").asDouble(), s.throughput()),
+                        change(before.get("p50").asDouble(), s.p50()),
+                        change(before.get("p99").asDouble(), s.p99()));
+            }
+            if (s.statuses().keySet().stream().anyMatch(status -> status < 200 || status >= 300)) {
+                out.printf("%-40s statuses: %s (0 = no response)%n", "", s.statuses());
+            }
+            histogram(out, s.histogram());
+            ObjectNode endpoint = saved.putObject(entry.getKey());
+            endpoint.put("count", s.count());
+            endpoint.put("errors", s.errors());
+            endpoint.put("throughput", s.throughput());
+            endpoint.put("p50", s.p50());
+            endpoint.put("p90", s.p90());
+            endpoint.put("p99", s.p99());
+            endpoint.put("max", s.max());
+        }
+        return saved;
+    }
+
+    // One bar per non-empty bucket, scaled to the fullest one
+    private static void histogram(PrintStream out, int[] histogram) {
+        int max = 0;
+        for (int count : histogram) max = Math.max(max, count);
+        if (max == 0) return;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) continue;
+            String label = i < EndpointStats.BUCKETS_MS.length
+                    ? "<= " + EndpointStats.BUCKETS_MS[i] + " ms"
+                    : " > " + EndpointStats.BUCKETS_MS[EndpointStats.BUCKETS_MS.length - 1] + " ms";
+            out.printf("      %-12s %-40s %d%n", label, "#".repeat(Math.max(1, histogram[i] * 40 / max)), histogram[i]);
+        }
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) return "n/a";
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes >= 1 << 20) return String.format(Locale.ROOT, "%.1f MB", bytes / (double) (1 << 20));
+        if (bytes >= 1 << 10) return String.format(Locale.ROOT, "%.1f kB", bytes / 1024.0);
+        return bytes + " B";
+    }
+
+    private static long scale(String scale) {
+        String value = scale.toLowerCase(Locale.ROOT);
+        if (value.endsWith("k")) return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000;
+        if (value.endsWith("m")) return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000_000;
+        return Long.parseLong(value);
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.school.management.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 07:45: the whole staff arrives between 07:30 and 08:00 and logs in, most of them around
+ * 07:45. Arrivals follow a triangular distribution over the window (compressed to
+ * {@code seconds}) and do not wait for each other, so a slow login makes the queue grow the
+ * way it does on a real morning. After logging in, each user lands on their dashboard:
+ * profile, own summary and own leave requests, fetched in parallel.
+ */
+final class LoginStormScenario implements Scenario {
+
+    private final int logins;
+    private final int seconds;
+
+    LoginStormScenario(int logins, int seconds) {
+        this.logins = logins;
+        this.seconds = seconds;
+    }
+
+    @Override
+    public String name() {
+        return "login-storm";
+    }
+
+    @Override
+    public String description() {
+        return logins + " staff logins peaking mid-window over " + seconds + " s, each followed by the employee dashboard";
+    }
+
+    @Override
+    public void run(LoadClient client, Accounts accounts) throws Exception {
+        List<Accounts.Account> staff = new ArrayList<>(accounts.staff);
+        Collections.shuffle(staff, new Random(7));
+        staff = staff.subList(0, Math.min(logins, staff.size()));
+
+        Random random = new Random(745);
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        List<CompletableFuture<Void>> sessions = Collections.synchronizedList(new ArrayList<>());
+        try {
+            for (Accounts.Account account : staff) {
+                long at = (long) (triangular(random.nextDouble()) * seconds * 1000);
+                arrivals.schedule(() -> sessions.add(session(client, accounts, account)), at, TimeUnit.MILLISECONDS);
+            }
+            arrivals.shutdown();
+            arrivals.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        } finally {
+            arrivals.shutdownNow();
+        }
+        CompletableFuture.allOf(sessions.toArray(new CompletableFuture[0])).join();
+    }
+
+    private static CompletableFuture<Void> session(LoadClient client, Accounts accounts, Accounts.Account account) {
+        return accounts.login(client, account).thenCompose(login -> {
+            if (login == null) return CompletableFuture.completedFuture(null);
+            String token = login.get("token").asText();
+            JsonNode employeeDbId = login.get("employeeDbId");
+            if (employeeDbId == null || employeeDbId.isNull()) {
+                return client.get("GET /users/profile", "/users/profile", token).thenApply(body -> null);
+            }
+            long employee = employeeDbId.asLong();
+            return CompletableFuture.allOf(
+                    client.get("GET /users/profile", "/users/profile", token),
+                    client.get("GET /dashboard/summary/employee/{id}", "/dashboard/summary/employee/" + employee, token),
+                    client.get("GET /leaverequests/employee/{id}", "/leaverequests/employee/" + employee, token));
+        });
+    }
+
+    // Triangular on [0, 1) with the mode at 0.5: the 07:45 peak
+    private static double triangular(double u) {
+        return u < 0.5 ? Math.sqrt(u / 2) : 1 - Math.sqrt((1 - u) / 2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.school.management.benchmarks.load;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-of-term reporting: admins pull the complete leave request and employee listings (what
+ * the Leave Requests and Employees pages load, and what a spreadsheet export would take) at
+ * the same time, several times each. Measures the largest responses the API produces.
+ */
+final class MassExportScenario implements Scenario {
+
+    private final int users;
+    private final int repetitions;
+    private List<String> tokens;
+
+    MassExportScenario(int users, int repetitions) {
+        this.users = users;
+        this.repetitions = repetitions;
+    }
+
+    @Override
+    public String name() {
+        return "export";
+    }
+
+    @Override
+    public String description() {
+        return users + " admins each pulling all leave requests and all employees " + repetitions + " times";
+    }
+
+    @Override
+    public void prepare(LoadClient client, Accounts accounts) {
+        tokens = accounts.tokens(client, accounts.admins, users);
+    }
+
+    @Override
+    public void run(LoadClient client, Accounts accounts) throws Exception {
+        ExecutorService admins = Executors.newFixedThreadPool(tokens.size());
+        for (String token : tokens) {
+            admins.execute(() -> {
+                for (int i = 0; i < repetitions; i++) {
+                    CompletableFuture.allOf(
+                            client.get("GET /leaverequests", "/leaverequests", token),
+                            client.get("GET /employees", "/employees", token)).join();
+                }
+            });
+        }
+        admins.shutdown();
+        admins.awaitTermination(1, TimeUnit.HOURS);
+    }
+}
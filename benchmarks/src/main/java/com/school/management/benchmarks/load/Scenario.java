@@ -0,0 +1,18 @@
+package com.school.management.benchmarks.load;
+
+/**
+ * One scripted traffic pattern. Runs to completion and issues every request through the
+ * client, which records it; setup requests (logins for tokens) belong in {@link #prepare}.
+ */
+interface Scenario {
+
+    String name();
+
+    // One line for the report, with the effective settings
+    String description();
+
+    default void prepare(LoadClient client, Accounts accounts) {
+    }
+
+    void run(LoadClient client, Accounts accounts) throws Exception;
+}
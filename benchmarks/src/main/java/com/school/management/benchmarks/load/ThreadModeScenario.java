@@ -0,0 +1,86 @@
+package com.school.management.benchmarks.load;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A school morning at fixed concurrency, for comparing the platform-thread and virtual-thread
+ * modes (run once as is and once with --app-profile=virtual-threads). Closed loop without think
+ * time: each user sends its next request as soon as the previous one returns, so the thread
+ * model shows up as throughput and tail latency. The mix is 20% logins (BCrypt, CPU-bound),
+ * 70% employee list reads and 10% leave submissions (both mostly waiting on Postgres).
+ */
+final class ThreadModeScenario implements Scenario {
+
+    // Operation per slot, 2:7:1
+    private static final List<String> MIX = List.of("login", "login",
+            "employees", "employees", "employees", "employees", "employees", "employees", "employees",
+            "leave");
+
+    private final int users;
+    private final int seconds;
+    private List<Accounts.Account> staff;
+    private List<String> tokens;
+
+    ThreadModeScenario(int users, int seconds) {
+        this.users = users;
+        this.seconds = seconds;
+    }
+
+    @Override
+    public String name() {
+        return "thread-mode";
+    }
+
+    @Override
+    public String description() {
+        return users + " staff without think time for " + seconds + " s: 20% login, 70% employee list, 10% leave submission";
+    }
+
+    @Override
+    public void prepare(LoadClient client, Accounts accounts) {
+        staff = accounts.staff.stream().filter(account -> account.employeeId() != null).toList();
+        tokens = accounts.tokens(client, staff, users);
+    }
+
+    @Override
+    public void run(LoadClient client, Accounts accounts) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // More users than logged-in accounts share them round-robin
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            Accounts.Account account = staff.get(i % tokens.size());
+            String token = tokens.get(i % tokens.size());
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    switch (MIX.get(random.nextInt(MIX.size()))) {
+                        case "login" -> accounts.login(client, account).join();
+                        case "employees" -> client.get("GET /employees", "/employees", token).join();
+                        default -> client.post("POST /leaverequests", "/leaverequests", token,
+                                leaveRequest(account, random)).join();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+    }
+
+    // Monday to Wednesday somewhere in the next year; weeks inside school holidays cover no
+    // working day and are rejected with 400, as they would be for a real user
+    private static Map<String, Object> leaveRequest(Accounts.Account account, ThreadLocalRandom random) {
+        LocalDate start = LocalDate.now().plusDays(random.nextInt(7, 365)).with(DayOfWeek.MONDAY);
+        return Map.of("leaveType", "ANNUAL",
+                "startDate", start.toString(),
+                "endDate", start.plusDays(2).toString(),
+                "reason", "load test",
+                "employee", Map.of("id", account.employeeId()));
+    }
+}
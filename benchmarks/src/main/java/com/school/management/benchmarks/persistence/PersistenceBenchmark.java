@@ -0,0 +1,259 @@
+package com.school.management.benchmarks.persistence;
+
+import com.school.management.benchmarks.EmbeddedBackend;
+import com.school.management.entity.Employee;
+import com.school.management.entity.LeaveRequest;
+import com.school.management.entity.LeaveStatus;
+import com.school.management.repository.EmployeeRepository;
+import com.school.management.repository.LeaveRequestRepository;
+import com.school.management.repository.UserRepository;
+import com.school.management.service.ChangeFeedService;
+import com.school.management.service.DashboardSummaryService;
+import com.school.management.service.EmployeeService;
+import com.school.management.service.LeaveRequestService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the repositories and services against PostgreSQL filled by SchoolDatasetGenerator and
+ * reports latency percentiles, rows and SQL statements per operation. Statements per operation
+ * is the number to watch: an N+1 shows up as a count that grows with the rows returned, and
+ * the EXPLAIN section flags sequential scans on leave_requests for the filtered reads.
+ *
+ *   java -cp target/benchmarks.jar com.school.management.benchmarks.persistence.PersistenceBenchmark --scale=100k
+ *
+ * Options (all optional):
+ *   --scale=1k|100k|1m or a row count (about that many leave requests; default 100k)
+ *   --iterations=200 --warmup=50            for single-row and per-employee operations
+ *   --list-iterations=5 --list-warmup=1      for operations that return a whole table or status
+ *   --only=regex                             run only the matching operations
+ *   --jdbc-url=... --db-user=... --db-password=...
+ *                                            an existing empty (or previously seeded) database
+ *                                            instead of the embedded PostgreSQL
+ *
+ * Entity results are consumed inside a read-only transaction the way Jackson serializes them
+ * in a request with open-in-view: every lazy association the JSON contains is touched.
+ */
+public final class PersistenceBenchmark {
+
+    private static final Map<String, Integer> SCALES = Map.of("1k", 1_000, "100k", 100_000, "1m", 1_000_000);
+
+    private PersistenceBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String scale = options.getOrDefault("scale", "100k").toLowerCase(Locale.ROOT);
+        int leaveRows = SCALES.containsKey(scale) ? SCALES.get(scale) : Integer.parseInt(scale);
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        int listIterations = Integer.parseInt(options.getOrDefault("list-iterations", "5"));
+        int listWarmup = Integer.parseInt(options.getOrDefault("list-warmup", "1"));
+        Pattern only = Pattern.compile(options.getOrDefault("only", ".*"));
+
+        StatementCounter counter = new StatementCounter();
+        try (EmbeddedBackend backend = EmbeddedBackend.start(options, ctx -> ctx.getBeanFactory().addBeanPostProcessor(counter))) {
+            backend.seed(leaveRows);
+            JdbcTemplate jdbc = backend.jdbc();
+            List<Operation> operations = operations(backend.context(), new Fixture(jdbc), iterations, warmup, listIterations, listWarmup);
+            counter.measure(Thread.currentThread());
+            System.out.printf("%-42s %6s %10s %9s %9s %9s %9s %11s%n",
+                    "operation", "n", "rows/op", "p50 ms", "p95 ms", "p99 ms", "max ms", "stmts/op");
+            for (Operation operation : operations) {
+                if (only.matcher(operation.name).find()) {
+                    operation.run(counter).print(operation.name);
+                }
+            }
+            counter.measure(null);
+            explain(jdbc);
+        }
+    }
+
+    private static List<Operation> operations(ConfigurableApplicationContext context, Fixture fixture,
+                                              int iterations, int warmup, int listIterations, int listWarmup) {
+        EmployeeRepository employees = context.getBean(EmployeeRepository.class);
+        LeaveRequestRepository leaveRequests = context.getBean(LeaveRequestRepository.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        LeaveRequestService leaveRequestService = context.getBean(LeaveRequestService.class);
+        ChangeFeedService changeFeed = context.getBean(ChangeFeedService.class);
+        DashboardSummaryService dashboard = context.getBean(DashboardSummaryService.class);
+        TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new Operation("EmployeeRepository.findById", iterations, warmup,
+                () -> employees.findById(fixture.employee()).isPresent() ? 1 : 0));
+        operations.add(new Operation("EmployeeRepository.findByEmployeeId", iterations, warmup,
+                () -> employees.findByEmployeeId(fixture.employeeCode()).isPresent() ? 1 : 0));
+        operations.add(new Operation("EmployeeService.findAll", listIterations, listWarmup,
+                () -> readOnly.execute(status -> serializeEmployees(employeeService.findAll()))));
+        operations.add(new Operation("EmployeeService.findAllViews", listIterations, listWarmup,
+                () -> employeeService.findAllViews().size()));
+        operations.add(new Operation("UserRepository.findByUsername", iterations, warmup,
+                () -> users.findByUsername(fixture.username()).map(u -> u.getRoles().size()).orElse(0)));
+        operations.add(new Operation("UserRepository.findByEmail", iterations, warmup,
+                () -> users.findByEmail(fixture.email()).map(u -> u.getRoles().size()).orElse(0)));
+        operations.add(new Operation("LeaveRequestRepository.findByEmployee", iterations, warmup,
+                () -> readOnly.execute(status -> serializeLeaveRequests(
+                        leaveRequests.findByEmployee(employees.getReferenceById(fixture.employee()))))));
+        operations.add(new Operation("LeaveRequestRepository.findByStatus", listIterations, listWarmup,
+                () -> readOnly.execute(status -> serializeLeaveRequests(leaveRequests.findByStatus(LeaveStatus.PENDING)))));
+        operations.add(new Operation("LeaveRequestRepository.findAll", listIterations, listWarmup,
+                () -> readOnly.execute(status -> serializeLeaveRequests(leaveRequests.findAll()))));
+        operations.add(new Operation("LeaveRequestService.findViewsByEmployeeId", iterations, warmup,
+                () -> leaveRequestService.findViewsByEmployeeId(fixture.employee()).size()));
+        operations.add(new Operation("LeaveRequestService.findHistory", iterations, warmup,
+                () -> leaveRequestService.findHistory(fixture.employee(), LocalDate.now().minusYears(1), LocalDate.now()).size()));
+        operations.add(new Operation("LeaveRequestService.findViewsByStatus", listIterations, listWarmup,
+                () -> leaveRequestService.findViewsByStatus(LeaveStatus.PENDING).size()));
+        operations.add(new Operation("LeaveRequestService.findAllViews", listIterations, listWarmup,
+                () -> leaveRequestService.findAllViews().size()));
+        operations.add(new Operation("ChangeFeedService.changesSince", iterations, warmup,
+                () -> changeFeed.changesSince(fixture.changeSeq(), 500, null).getLeaveRequests().size()));
+        operations.add(new Operation("DashboardSummaryService.reconcile", listIterations, listWarmup,
+                () -> {
+                    dashboard.reconcile();
+                    return 1;
+                }));
+        return operations;
+    }
+
+    // What Jackson reads from an Employee: its leave requests are part of the JSON
+    private static int serializeEmployees(List<Employee> employees) {
+        int rows = employees.size();
+        for (Employee employee : employees) {
+            rows += employee.getLeaveRequests().size();
+        }
+        return rows;
+    }
+
+    // What Jackson reads from a LeaveRequest: the employee is part of the JSON
+    private static int serializeLeaveRequests(List<LeaveRequest> leaveRequests) {
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            leaveRequest.getEmployee().getName();
+        }
+        return leaveRequests.size();
+    }
+
+    // Hand-written equivalents of the derived queries, for the planner's view of them
+    private static void explain(JdbcTemplate jdbc) {
+        Long employeeId = jdbc.queryForObject("SELECT min(id) FROM employees", Long.class);
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("findByEmployee", "SELECT * FROM leave_requests WHERE employee_id = " + employeeId);
+        queries.put("findByStatus", "SELECT * FROM leave_requests WHERE status = 'PENDING'");
+        queries.put("findViewsByEmployeeIdInRange", "SELECT * FROM leave_requests WHERE employee_id = " + employeeId
+                + " AND end_date >= CURRENT_DATE - 365 AND start_date <= CURRENT_DATE ORDER BY start_date");
+        queries.put("findChangedSince", "SELECT * FROM leave_requests WHERE change_seq > 0 ORDER BY change_seq LIMIT 501");
+        System.out.println();
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            List<String> plan = jdbc.queryForList("EXPLAIN " + query.getValue(), String.class);
+            boolean seqScan = plan.stream().anyMatch(line -> line.contains("Seq Scan on leave_requests"));
+            System.out.println("[EXPLAIN] " + query.getKey() + (seqScan ? "  <-- sequential scan on leave_requests" : ""));
+            plan.forEach(line -> System.out.println("    " + line));
+        }
+    }
+
+    // Random but repeatable parameters drawn from the seeded data
+    private static final class Fixture {
+        private final Random random = new Random(42);
+        private final List<Map<String, Object>> employees;
+        private final long maxChangeSeq;
+
+        Fixture(JdbcTemplate jdbc) {
+            employees = jdbc.queryForList("SELECT e.id, e.employee_id, u.username, u.email "
+                    + "FROM employees e JOIN users u ON u.employee_id = e.id ORDER BY e.id");
+            Long seq = jdbc.queryForObject("SELECT coalesce(max(change_seq), 0) FROM leave_requests", Long.class);
+            maxChangeSeq = seq == null ? 0 : seq;
+        }
+
+        long employee() {
+            return ((Number) any().get("id")).longValue();
+        }
+
+        String employeeCode() {
+            return (String) any().get("employee_id");
+        }
+
+        String username() {
+            return (String) any().get("username");
+        }
+
+        String email() {
+            return (String) any().get("email");
+        }
+
+        private Map<String, Object> any() {
+            return employees.get(random.nextInt(employees.size()));
+        }
+
+        // A cursor in the last 10% of the feed, like a client that synced recently
+        long changeSeq() {
+            return maxChangeSeq - (long) (random.nextDouble() * Math.max(1, maxChangeSeq / 10));
+        }
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int iterations;
+        private final int warmup;
+        private final IntSupplier body;
+
+        Operation(String name, int iterations, int warmup, IntSupplier body) {
+            this.name = name;
+            this.iterations = iterations;
+            this.warmup = warmup;
+            this.body = body;
+        }
+
+        Result run(StatementCounter counter) {
+            for (int i = 0; i < warmup; i++) {
+                body.getAsInt();
+            }
+            long[] nanos = new long[iterations];
+            long rows = 0;
+            counter.takeCount();
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                rows += body.getAsInt();
+                nanos[i] = System.nanoTime() - start;
+            }
+            return new Result(nanos, rows, counter.takeCount());
+        }
+    }
+
+    private record Result(long[] nanos, long rows, long statements) {
+
+        void print(String name) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            int n = sorted.length;
+            System.out.printf("%-42s %6d %10.1f %9.2f %9.2f %9.2f %9.2f %11.1f%n", name, n,
+                    rows / (double) n, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    n == 0 ? 0 : sorted[n - 1] / 1e6, statements / (double) Math.max(1, n));
+        }
+
+        private static double percentile(long[] sorted, int p) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.school.management.benchmarks.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps the application's DataSource and counts the SQL statements executed by one thread.
+ *
+ * Only the thread passed to {@link #measure(Thread)} is counted, so a scheduled job that runs
+ * during a measurement does not inflate the numbers. A JDBC batch counts as one statement.
+ */
+class StatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private volatile Thread measured;
+    private long count;
+
+    void measure(Thread thread) {
+        measured = thread;
+    }
+
+    // Only called by the measured thread, which is also the only one that increments
+    long takeCount() {
+        long taken = count;
+        count = 0;
+        return taken;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? connection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(connection, method, args);
+            // prepareStatement, prepareCall and createStatement all declare the interface they return
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return statement(statement, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    private Object statement(Statement statement, Class<?> type) {
+        return proxy(type, (p, method, args) -> {
+            if (EXECUTE.contains(method.getName()) && Thread.currentThread() == measured) {
+                count++;
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
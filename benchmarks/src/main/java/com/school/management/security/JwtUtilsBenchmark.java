@@ -0,0 +1,72 @@
+package com.school.management.security;
+
+import com.school.management.entity.Role;
+import com.school.management.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtils as used on every authenticated request (parse + validate) and on every login (generate)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = jwtUtils();
+        user = user();
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtUtils.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+
+    // Fixed secret so runs are comparable; 256 bits as HS256 requires
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+        return jwtUtils;
+    }
+
+    static User user() {
+        return User.builder()
+                .id(1L)
+                .username("jane.doe")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .roles(Set.of(new Role(3L, "EMPLOYEE")))
+                .build();
+    }
+}
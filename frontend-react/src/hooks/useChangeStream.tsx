@@ -0,0 +1,105 @@
+import { useEffect, useRef } from 'react';
+import api from '../api/axios';
+import { useAuth } from '../contexts/AuthContext';
+
+export interface ChangeNotification {
+  entity: 'leaveRequest' | 'employee';
+  type: 'CREATED' | 'STATUS_CHANGED' | 'UPDATED' | 'DELETED';
+  id: number;
+  employeeId: number | null;
+  previousStatus: 'PENDING' | 'APPROVED' | 'REJECTED' | null;
+  status: 'PENDING' | 'APPROVED' | 'REJECTED' | null;
+}
+
+interface ChangeStreamHandlers {
+  onChange: (change: ChangeNotification) => void;
+  // Called when the server dropped events for us (buffer overflow) or after a reconnect
+  onResync?: () => void;
+}
+
+const MAX_RETRY_DELAY = 30000;
+
+/**
+ * Subscribes to /api/events/stream while a user is logged in.
+ * Uses fetch instead of EventSource so the JWT can travel in the Authorization header.
+ */
+export default function useChangeStream({ onChange, onResync }: ChangeStreamHandlers) {
+  const { user } = useAuth();
+  const handlersRef = useRef({ onChange, onResync });
+  handlersRef.current = { onChange, onResync };
+
+  useEffect(() => {
+    if (!user) return;
+
+    const controller = new AbortController();
+    let retryDelay = 1000;
+    let retryTimer: ReturnType<typeof setTimeout> | null = null;
+    let connectedBefore = false;
+
+    const dispatch = (block: string) => {
+      let eventName = 'message';
+      const data: string[] = [];
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) eventName = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5));
+      }
+      if (eventName === 'resync') {
+        handlersRef.current.onResync?.();
+      } else if (eventName === 'change' && data.length) {
+        try {
+          handlersRef.current.onChange(JSON.parse(data.join('\n')));
+        } catch (e) {
+          console.error('Invalid change event:', e);
+        }
+      }
+    };
+
+    const connect = async () => {
+      const token = localStorage.getItem('token');
+      if (!token) return;
+      try {
+        const res = await fetch(`${api.defaults.baseURL}/events/stream`, {
+          headers: {
+            Accept: 'text/event-stream',
+            Authorization: token.startsWith('Bearer ') ? token : `Bearer ${token}`,
+          },
+          signal: controller.signal,
+        });
+        if (!res.ok || !res.body) throw new Error(`Stream request failed: ${res.status}`);
+
+        // Anything that happened while we were disconnected was missed
+        if (connectedBefore) handlersRef.current.onResync?.();
+        connectedBefore = true;
+        retryDelay = 1000;
+
+        const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        while (true) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value.replace(/\r\n/g, '\n');
+          let boundary = buffer.indexOf('\n\n');
+          while (boundary !== -1) {
+            dispatch(buffer.slice(0, boundary));
+            buffer = buffer.slice(boundary + 2);
+            boundary = buffer.indexOf('\n\n');
+          }
+        }
+      } catch (e: any) {
+        if (controller.signal.aborted) return;
+        console.error('Change stream error:', e);
+      }
+      if (controller.signal.aborted) return;
+      // Server timeout or network drop: reconnect with backoff
+      retryTimer = setTimeout(connect, retryDelay);
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+    };
+
+    connect();
+
+    return () => {
+      controller.abort();
+      if (retryTimer) clearTimeout(retryTimer);
+    };
+  }, [user]);
+}
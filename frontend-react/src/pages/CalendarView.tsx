@@ -29,6 +29,7 @@ import isSameOrAfter from 'dayjs/plugin/isSameOrAfter';
 import isSameOrBefore from 'dayjs/plugin/isSameOrBefore';
 import api from '../api/axios';
 import { AuthContext } from '../contexts/AuthContext';
+import useChangeStream, { ChangeNotification } from '../hooks/useChangeStream';
 
 dayjs.extend(isSameOrAfter);
 dayjs.extend(isSameOrBefore);
@@ -115,8 +116,8 @@ export default function CalendarView() {
   const [loading, setLoading] = useState(true);
 
   // Fetch leave requests
-  const fetchLeaveRequests = async () => {
-    setLoading(true);
+  const fetchLeaveRequests = async (showLoading = true) => {
+    if (showLoading) setLoading(true);
     try {
       let res;
       if (isAdmin || isManager) {
@@ -137,6 +138,23 @@ export default function CalendarView() {
     fetchLeaveRequests();
   }, [user, isAdmin, isManager]);
 
+  // Keep the calendar current from pushed changes instead of polling
+  const applyChange = (change: ChangeNotification) => {
+    if (change.entity === 'employee') {
+      if (change.type !== 'CREATED') fetchLeaveRequests(false);
+      return;
+    }
+    if (change.type === 'DELETED') {
+      setLeaveRequests(reqs => reqs.filter(lr => lr.id !== change.id));
+    } else if (change.type === 'STATUS_CHANGED' && change.status) {
+      setLeaveRequests(reqs => reqs.map(lr => lr.id === change.id ? { ...lr, status: change.status! } : lr));
+    } else if (change.type === 'CREATED') {
+      fetchLeaveRequests(false);
+    }
+  };
+
+  useChangeStream({ onChange: applyChange, onResync: () => fetchLeaveRequests(false) });
+
   // Navigation functions
   const goToPrevious = () => {
     setCurrentDate(prev =>
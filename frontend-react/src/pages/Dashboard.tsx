@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from "react";
+import React, { useCallback, useEffect, useState } from "react";
 import {
   Container, Typography, Grid, Card, CardContent, Button, Box,
   AppBar, Toolbar, IconButton, Menu, MenuItem, Paper, Divider,
@@ -17,6 +17,7 @@ import {
 } from 'recharts';
 import api from "../api/axios";
 import NavigationBar from "../components/NavigationBar";
+import useChangeStream, { ChangeNotification } from "../hooks/useChangeStream";
 
 // Colors for the charts
 const COLORS = ['#0088FE', '#00C49F', '#FFBB28', '#FF8042'];
@@ -41,7 +42,6 @@ export default function Dashboard() {
     rejected: 0,
   });
 
-  const [recentActivity, setRecentActivity] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [anchorEl, setAnchorEl] = useState<null | HTMLElement>(null);
@@ -60,62 +60,74 @@ export default function Dashboard() {
     navigate("/login");
   };
 
-  useEffect(() => {
-    const fetchData = async () => {
-      setLoading(true);
-      setError(null);
-      try {
-        if (isAdmin || isManager) {
-          // Employees
-          const empRes = await api.get("/employees");
-          const totalEmployees = Array.isArray(empRes.data) ? empRes.data.length : 0;
-
-          // Leave requests
-          const leaveRes = await api.get("/leaverequests");
-          const leaveRequests = Array.isArray(leaveRes.data) ? leaveRes.data : [];
-          const totalLeaveRequests = leaveRequests.length;
-          const pendingLeaveRequests = leaveRequests.filter((lr: any) => lr.status === "PENDING").length;
-          const approvedLeaveRequests = leaveRequests.filter((lr: any) => lr.status === "APPROVED").length;
-          const rejectedLeaveRequests = leaveRequests.filter((lr: any) => lr.status === "REJECTED").length;
-
-          setAdminManagerMetrics({
-            totalEmployees,
-            totalLeaveRequests,
-            pendingLeaveRequests,
-            approvedLeaveRequests,
-            rejectedLeaveRequests
-          });
-
-          // Set recent activity
-          setRecentActivity(leaveRequests.slice(0, 5));
-
-        } else if (isEmployee && user?.employeeId) {
-          // Use employeeId property
-          const employeeId = user.employeeId;
-          const res = await api.get(`/leaverequests/employee/${employeeId}`);
-          const leaveRequests = Array.isArray(res.data) ? res.data : [];
-
-          setEmployeeMetrics({
-            totalSubmitted: leaveRequests.length,
-            pending: leaveRequests.filter((lr: any) => lr.status === "PENDING").length,
-            approved: leaveRequests.filter((lr: any) => lr.status === "APPROVED").length,
-            rejected: leaveRequests.filter((lr: any) => lr.status === "REJECTED").length,
-          });
-
-          // Set recent activity for employee
-          setRecentActivity(leaveRequests.slice(0, 5));
-        }
-      } catch (err: any) {
-        console.error("Dashboard fetch error:", err);
-        setError("Failed to fetch metrics");
-        enqueueSnackbar('Failed to load dashboard data', { variant: 'error' });
-      } finally {
-        setLoading(false);
+  const fetchData = useCallback(async (showLoading = true) => {
+    if (showLoading) setLoading(true);
+    setError(null);
+    try {
+      if (isAdmin || isManager) {
+        // Counts are maintained server-side, so a single small request is enough
+        const res = await api.get("/dashboard/summary");
+        setAdminManagerMetrics({
+          totalEmployees: res.data?.totalEmployees ?? 0,
+          totalLeaveRequests: res.data?.totalLeaveRequests ?? 0,
+          pendingLeaveRequests: res.data?.pendingLeaveRequests ?? 0,
+          approvedLeaveRequests: res.data?.approvedLeaveRequests ?? 0,
+          rejectedLeaveRequests: res.data?.rejectedLeaveRequests ?? 0
+        });
+      } else if (isEmployee && user?.employeeId) {
+        // Use employeeId property
+        const employeeId = user.employeeId;
+        const res = await api.get(`/dashboard/summary/employee/${employeeId}`);
+        setEmployeeMetrics({
+          totalSubmitted: res.data?.totalSubmitted ?? 0,
+          pending: res.data?.pending ?? 0,
+          approved: res.data?.approved ?? 0,
+          rejected: res.data?.rejected ?? 0,
+        });
       }
-    };
+    } catch (err: any) {
+      console.error("Dashboard fetch error:", err);
+      setError("Failed to fetch metrics");
+      enqueueSnackbar('Failed to load dashboard data', { variant: 'error' });
+    } finally {
+      setLoading(false);
+    }
+  }, [user, isAdmin, isManager, isEmployee, enqueueSnackbar]);
 
+  useEffect(() => {
     if (user?.role) fetchData();
-  }, [user, isAdmin, isManager, isEmployee, enqueueSnackbar]);
+  }, [user, fetchData]);
+
+  // Apply pushed changes to the counters locally instead of refetching
+  const applyChange = useCallback((change: ChangeNotification) => {
+    const statusKey = { PENDING: 'pending', APPROVED: 'approved', REJECTED: 'rejected' } as const;
+    if (change.entity === 'employee') {
+      if (change.type === 'CREATED') setAdminManagerMetrics(m => ({ ...m, totalEmployees: m.totalEmployees + 1 }));
+      // Deleting an employee also removes their leave requests, so recount
+      if (change.type === 'DELETED') fetchData(false);
+      return;
+    }
+    const delta = change.type === 'CREATED' ? 1 : change.type === 'DELETED' ? -1 : 0;
+    const from = change.previousStatus ? statusKey[change.previousStatus] : null;
+    const to = change.status ? statusKey[change.status] : null;
+
+    setAdminManagerMetrics(m => {
+      const next = { ...m, totalLeaveRequests: m.totalLeaveRequests + delta };
+      if (from) next[`${from}LeaveRequests`] -= 1;
+      if (to) next[`${to}LeaveRequests`] += 1;
+      return next;
+    });
+    if (change.employeeId === user?.employeeId) {
+      setEmployeeMetrics(m => {
+        const next = { ...m, totalSubmitted: m.totalSubmitted + delta };
+        if (from) next[from] -= 1;
+        if (to) next[to] += 1;
+        return next;
+      });
+    }
+  }, [fetchData, user]);
+
+  useChangeStream({ onChange: applyChange, onResync: () => fetchData(false) });
 
   // Generate chart data for admin/manager
   const getAdminLeaveStatusData = () => [
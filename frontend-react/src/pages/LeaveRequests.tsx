@@ -14,6 +14,7 @@ import ConfirmationDialog from "../components/ConfirmationDialog";
 import SortableTable, { Column } from "../components/SortableTable";
 import TableFilters, { FilterOption, FilterValues } from "../components/TableFilters";
 import { exportToCSV, exportToPDF } from "../utils/exportData";
+import useChangeStream, { ChangeNotification } from "../hooks/useChangeStream";
 
 interface Employee { id: number; name: string; }
 interface LeaveRequest {
@@ -24,6 +25,7 @@ interface LeaveRequest {
   reason: string;
   status: "PENDING" | "APPROVED" | "REJECTED";
   employee: Employee;
+  workingDays?: number;
 }
 
 // Update leave types to match backend
@@ -110,6 +112,12 @@ export default function LeaveRequests() {
       sortable: true,
       format: (value) => dayjs(value).format('YYYY-MM-DD'),
     },
+    {
+      id: 'workingDays',
+      label: 'Working Days',
+      sortable: true,
+      format: (value) => value ?? '',
+    },
     {
       id: 'reason',
       label: 'Reason',
@@ -229,8 +237,8 @@ export default function LeaveRequests() {
     console.log("Auth token exists:", !!localStorage.getItem('token'));
   }, [user, isAdmin, isManager, isEmployee]);
 
-  const fetchLeaveReqs = async () => {
-    setLoading(true);
+  const fetchLeaveReqs = async (showLoading = true) => {
+    if (showLoading) setLoading(true);
     try {
       let res;
       // First check using the isAdmin and isManager properties directly
@@ -263,6 +271,23 @@ export default function LeaveRequests() {
     }
   };
 
+  // Patch the list from pushed changes; only unknown new requests need a refetch
+  const applyChange = (change: ChangeNotification) => {
+    if (change.entity === "employee") {
+      if (change.type !== "CREATED") fetchLeaveReqs(false);
+      return;
+    }
+    if (change.type === "DELETED") {
+      setLeaveReqs(reqs => reqs.filter(lr => lr.id !== change.id));
+    } else if (change.type === "STATUS_CHANGED" && change.status) {
+      setLeaveReqs(reqs => reqs.map(lr => lr.id === change.id ? { ...lr, status: change.status! } : lr));
+    } else if (change.type === "CREATED" && !leaveReqs.some(lr => lr.id === change.id)) {
+      fetchLeaveReqs(false);
+    }
+  };
+
+  useChangeStream({ onChange: applyChange, onResync: () => fetchLeaveReqs(false) });
+
   useEffect(() => {
     console.log("Running main useEffect with roles:", { isAdmin, isManager, isEmployee });
     fetchLeaveReqs();
@@ -376,7 +401,7 @@ export default function LeaveRequests() {
       console.log("Response received:", response);
       setSnack({ msg: "Request submitted successfully", type: "success" });
       handleClose();
-      fetchLeaveReqs();
+      setLeaveReqs(reqs => reqs.some(lr => lr.id === response.data.id) ? reqs : [...reqs, response.data]);
     } catch (e: any) {
       console.error("Submission error:", e);
       let errorMessage = "Failed to submit leave request. Please try again.";
@@ -430,7 +455,7 @@ export default function LeaveRequests() {
     try {
       await api.delete(`/leaverequests/${id}`);
       setSnack({ msg: "Leave request deleted successfully", type: "success" });
-      fetchLeaveReqs();
+      setLeaveReqs(reqs => reqs.filter(lr => lr.id !== id));
     } catch {
       setSnack({ msg: "Delete failed", type: "error" });
     }
@@ -448,9 +473,18 @@ export default function LeaveRequests() {
         msg: status === "APPROVED" ? "Leave request approved successfully" : "Leave request rejected successfully",
         type: "success"
       });
-      fetchLeaveReqs();
-    } catch {
-      setSnack({ msg: "Failed to update status", type: "error" });
+      setLeaveReqs(reqs => reqs.map(lr => lr.id === id ? { ...lr, status } : lr));
+    } catch (err: any) {
+      const breaches: { date: string }[] | undefined = err?.response?.data?.breaches;
+      if (err?.response?.status === 409 && breaches?.length) {
+        const { department, minimumPresent } = err.response.data;
+        setSnack({
+          msg: `${department} would have fewer than ${minimumPresent} staff on ${breaches.map(b => b.date).join(", ")}`,
+          type: "error"
+        });
+      } else {
+        setSnack({ msg: "Failed to update status", type: "error" });
+      }
     }
     setApproving(null);
   };